@@ -1,16 +1,19 @@
 package controllers
 
 import (
+	"errors"
 	"fmt"
 	"log"
+	"github.com/couchbase/gocb/v2"
 	"github.com/gin-gonic/gin"
 	"net/http"
+	"sync/atomic"
 
 	"delivery-api/database"
 	"delivery-api/models"
 )
 
-var lastDeliveryId = 100
+var lastDeliveryId int64 = 100
 
 func StartDelivery(c *gin.Context) {
 	var request models.DeliveryRequest
@@ -31,8 +34,14 @@ func StartDelivery(c *gin.Context) {
 
 	deliveryDomain := request.ToDomain()
 
-	lastDeliveryId++
-	deliveryDomain.ID = fmt.Sprintf("delivery::%d", lastDeliveryId)
+	deliveryId := int(atomic.AddInt64(&lastDeliveryId, 1))
+	// order_api'nin ürettiği sipariş ID'leri tekil olduğu için belge anahtarı sipariş ID'sinden türetilir;
+	// aynı sipariş için tekrar gönderilen istek ikinci bir teslimat oluşturmaz
+	if request.OrderId != "" {
+		deliveryDomain.ID = fmt.Sprintf("delivery::%s", request.OrderId)
+	} else {
+		deliveryDomain.ID = fmt.Sprintf("delivery::%d", deliveryId)
+	}
 
 	if !deliveryDomain.CanAssign() {
 		log.Printf("Teslimat atama için uygun durumda değil: %s", deliveryDomain.ID)
@@ -53,6 +62,15 @@ func StartDelivery(c *gin.Context) {
 
 	entity := models.DomainToEntity(deliveryDomain)
 	_, err = database.Collection.Insert(entity.ID, entity, nil)
+	if errors.Is(err, gocb.ErrDocumentExists) {
+		log.Printf("Teslimat zaten mevcut, sipariş ID: %s, teslimat ID: %s", deliveryDomain.OrderID, deliveryDomain.ID)
+		deliveryResponse := models.DeliveryResponse{
+			Success: true,
+			Message: "Teslimat zaten oluşturulmuş",
+		}
+		c.JSON(http.StatusOK, models.SuccessResponseWithMessage(deliveryResponse, "Teslimat zaten oluşturulmuş"))
+		return
+	}
 	if err != nil {
 		log.Printf("Teslimat kaydedilemedi, teslimat ID: %s, hata: %v", deliveryDomain.ID, err)
 		response := models.ErrorResponseWithCode("Teslimat kaydedilemedi", "DATABASE_ERROR")
@@ -60,11 +78,11 @@ func StartDelivery(c *gin.Context) {
 		return
 	}
 
-	log.Printf("Teslimat başarıyla oluşturuldu, teslimat ID: %d", lastDeliveryId)
+	log.Printf("Teslimat başarıyla oluşturuldu, teslimat ID: %d", deliveryId)
 
 	deliveryResponse := models.DeliveryResponse{
 		Success:    true,
-		DeliveryId: lastDeliveryId,
+		DeliveryId: deliveryId,
 		Message:    "Teslimat başarıyla oluşturuldu ve hazırlanıyor",
 	}
 
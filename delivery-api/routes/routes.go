@@ -13,9 +13,10 @@ func SetupRouter() *gin.Engine {
 	config := cors.DefaultConfig()
 	config.AllowOrigins = []string{"http://localhost:3000", "http://localhost:8080", "http://localhost:8081", "http://localhost:8082"}
 	config.AllowMethods = []string{"GET", "POST", "PUT", "DELETE", "OPTIONS"}
-	config.AllowHeaders = []string{"Origin", "Content-Length", "Content-Type", "Authorization"}
+	config.AllowHeaders = []string{"Origin", "Content-Length", "Content-Type", "Authorization", "traceparent", "tracestate"}
 	config.MaxAge = 12 * time.Hour
 	r.Use(cors.New(config))
+	r.Use(TraceContext())
 
 	r.GET("/", func(c *gin.Context) {
 		c.JSON(200, gin.H{
@@ -0,0 +1,39 @@
+package routes
+
+import (
+	"log"
+	"strings"
+	"time"
+
+	"github.com/gin-gonic/gin"
+)
+
+// TraceContext, order_api'nin gönderdiği W3C traceparent başlığından trace ID'yi okur ve istek sonunda bu ID ile
+// bir log satırı yazar; delivery-api logları böylece order_api ve restaurant-api izleriyle eşleştirilebilir.
+func TraceContext() gin.HandlerFunc {
+	return func(c *gin.Context) {
+		traceID := parseTraceID(c.GetHeader("traceparent"))
+		if traceID == "" {
+			c.Next()
+			return
+		}
+		c.Set("traceId", traceID)
+		start := time.Now()
+		c.Next()
+		log.Printf("traceId=%s %s %s %d %s", traceID, c.Request.Method, c.Request.URL.Path, c.Writer.Status(), time.Since(start))
+	}
+}
+
+// traceparent biçimi: sürüm-traceid-parentid-bayraklar, ör. 00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01
+func parseTraceID(header string) string {
+	parts := strings.Split(header, "-")
+	if len(parts) != 4 || len(parts[1]) != 32 || parts[1] == strings.Repeat("0", 32) {
+		return ""
+	}
+	for _, r := range parts[1] {
+		if !strings.ContainsRune("0123456789abcdef", r) {
+			return ""
+		}
+	}
+	return parts[1]
+}
@@ -0,0 +1,31 @@
+package com.example.orderapi.config;
+
+import com.example.orderapi.service.Deadline;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
+/**
+ * Bağlantı ve okuma zaman aşımlarını her çağrıda thread'e bağlı bütçenin kalanıyla sınırlar. Yapılandırılan
+ * zaman aşımları üst sınır olarak kalır.
+ */
+public class DeadlineAwareRequestFactory extends SimpleClientHttpRequestFactory {
+
+    @Override
+    protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+        super.prepareConnection(connection, httpMethod);
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return;
+        }
+        int remaining = (int) Math.min(Integer.MAX_VALUE, Math.max(1, deadline.remainingMillis()));
+        connection.setConnectTimeout(clamp(connection.getConnectTimeout(), remaining));
+        connection.setReadTimeout(clamp(connection.getReadTimeout(), remaining));
+    }
+
+    // 0 sınırsız demektir
+    private static int clamp(int configured, int remaining) {
+        return configured == 0 ? remaining : Math.min(configured, remaining);
+    }
+}
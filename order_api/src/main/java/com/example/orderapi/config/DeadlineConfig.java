@@ -0,0 +1,45 @@
+package com.example.orderapi.config;
+
+import com.example.orderapi.service.Deadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+public class DeadlineConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final Duration budget;
+
+    public DeadlineConfig(MeterRegistry meterRegistry,
+                          @Value("${order.deadline.budget:3s}") Duration budget) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Eşzamanlılık sınırından önce çalışır; süresi dolmuş istek sınırdan yer almaz
+        registry.addInterceptor(new DeadlineInterceptor(budget, expiredCounter("inbound")))
+                .addPathPatterns("/api/orders")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Bean
+    public DeadlinePropagationInterceptor deadlinePropagationInterceptor() {
+        return new DeadlinePropagationInterceptor(expiredCounter("before-call"), expiredCounter("during-call"));
+    }
+
+    private Counter expiredCounter(String stage) {
+        return Counter.builder("order.deadline.expired")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+}
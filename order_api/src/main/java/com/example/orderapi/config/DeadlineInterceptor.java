@@ -0,0 +1,64 @@
+package com.example.orderapi.config;
+
+import com.example.orderapi.exception.DeadlineExceededException;
+import com.example.orderapi.service.Deadline;
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Sipariş oluşturma isteklerine zaman bütçesi verir. İstemci {@link Deadline#HEADER} gönderdiyse bütçe bu değerle
+ * (en fazla yapılandırılan bütçe kadar) sınırlanır; süresi dolmuş istekler işe başlanmadan 504 ile reddedilir.
+ */
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+    private static final String SCOPE_ATTRIBUTE = DeadlineInterceptor.class.getName() + ".scope";
+
+    private final Duration budget;
+    private final Counter expired;
+
+    public DeadlineInterceptor(Duration budget, Counter expired) {
+        this.budget = budget;
+        this.expired = expired;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        Duration requestBudget = budget;
+        String header = request.getHeader(Deadline.HEADER);
+        if (header != null) {
+            long remaining = parse(header);
+            if (remaining <= 0) {
+                expired.increment();
+                throw new DeadlineExceededException("Request deadline already passed");
+            }
+            requestBudget = Duration.ofMillis(Math.min(remaining, budget.toMillis()));
+        }
+        request.setAttribute(SCOPE_ATTRIBUTE, Deadline.after(requestBudget).bind());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object scope = request.getAttribute(SCOPE_ATTRIBUTE);
+        if (scope != null) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            ((Deadline.Scope) scope).close();
+        }
+    }
+
+    private static long parse(String header) {
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + Deadline.HEADER + " header: " + header, e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.orderapi.config;
+
+import com.example.orderapi.exception.DeadlineExceededException;
+import com.example.orderapi.service.Deadline;
+import io.micrometer.core.instrument.Counter;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Thread'e bağlı bütçenin kalanını downstream isteğe {@link Deadline#HEADER} olarak ekler. Bütçe dolmuşsa istek hiç
+ * gönderilmez; çağrı bütçe kısıtlı zaman aşımıyla kesilirse hata {@link DeadlineExceededException} olarak döner.
+ */
+public class DeadlinePropagationInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Counter expiredBeforeCall;
+    private final Counter expiredDuringCall;
+
+    public DeadlinePropagationInterceptor(Counter expiredBeforeCall, Counter expiredDuringCall) {
+        this.expiredBeforeCall = expiredBeforeCall;
+        this.expiredDuringCall = expiredDuringCall;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return execution.execute(request, body);
+        }
+
+        long remaining = deadline.remainingMillis();
+        if (remaining <= 0) {
+            expiredBeforeCall.increment();
+            throw new DeadlineExceededException("Deadline passed before calling " + request.getURI().getPath());
+        }
+        request.getHeaders().set(Deadline.HEADER, Long.toString(remaining));
+        try {
+            return execution.execute(request, body);
+        } catch (IOException e) {
+            if (deadline.isExpired()) {
+                expiredDuringCall.increment();
+                throw new DeadlineExceededException("Deadline passed while calling " + request.getURI().getPath(), e);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.orderapi.config;
+
+import com.example.orderapi.profiling.DownstreamCallEvent;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Her downstream çağrı için {@link DownstreamCallEvent} kaydeder. Zincirin sonuna eklenmelidir; böylece süre
+ * yalnızca ağ çağrısını kapsar ve gövde boyutu sıkıştırılmış hâliyle kaydedilir.
+ */
+public class DownstreamCallEventInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        DownstreamCallEvent event = DownstreamCallEvent.start();
+        int status = 0;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = response.getStatusCode().value();
+            return response;
+        } finally {
+            event.finish(request, body.length, status);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.orderapi.config;
+
+import co.elastic.clients.transport.instrumentation.OpenTelemetryForElasticsearch;
+import co.elastic.clients.transport.rest_client.RestClientOptions;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import io.opentelemetry.api.OpenTelemetry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchCustomConversions;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Configuration
+public class ElasticsearchConfig {
+
+    // Tutarlar (BigDecimal) dokümana sayı olarak yazılır; scaled_float alanı bunları kuruş cinsinden long indeksler.
+    // Okurken JSON'dan gelen sayı en kısa ondalık gösterimiyle BigDecimal'e çevrilir, ikili kayan nokta hatası taşınmaz.
+    @Bean
+    public ElasticsearchCustomConversions elasticsearchCustomConversions() {
+        return new ElasticsearchCustomConversions(List.of(
+                new BigDecimalToDoubleConverter(),
+                new DoubleToBigDecimalConverter(),
+                new IntegerToBigDecimalConverter(),
+                new LongToBigDecimalConverter()));
+    }
+
+    // Boot'un oluşturduğu transport, her Elasticsearch isteği için span açan OpenTelemetry enstrümantasyonuyla
+    // yeniden kurulur; span'ler o anki izin (trace) altına düşer. İstek gövdeleri span'e yazılmaz.
+    @Bean
+    static BeanPostProcessor elasticsearchTracingPostProcessor(ObjectProvider<OpenTelemetry> openTelemetry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RestClientTransport transport
+                        && transport.options() instanceof RestClientOptions options) {
+                    OpenTelemetry otel = openTelemetry.getIfAvailable();
+                    if (otel != null) {
+                        return new RestClientTransport(transport.restClient(), transport.jsonpMapper(), options,
+                                new OpenTelemetryForElasticsearch(otel, false));
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    @WritingConverter
+    static class BigDecimalToDoubleConverter implements Converter<BigDecimal, Double> {
+        @Override
+        public Double convert(BigDecimal source) {
+            return source.doubleValue();
+        }
+    }
+
+    @ReadingConverter
+    static class DoubleToBigDecimalConverter implements Converter<Double, BigDecimal> {
+        @Override
+        public BigDecimal convert(Double source) {
+            return BigDecimal.valueOf(source);
+        }
+    }
+
+    @ReadingConverter
+    static class IntegerToBigDecimalConverter implements Converter<Integer, BigDecimal> {
+        @Override
+        public BigDecimal convert(Integer source) {
+            return BigDecimal.valueOf(source);
+        }
+    }
+
+    @ReadingConverter
+    static class LongToBigDecimalConverter implements Converter<Long, BigDecimal> {
+        @Override
+        public BigDecimal convert(Long source) {
+            return BigDecimal.valueOf(source);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.orderapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class PayloadFormatConfig {
+
+    // Varsayılan Smile converter'ının yerine geçer; JSON ile aynı Jackson ayarlarını kullanır.
+    // JSON converter'ından sonra sıralandığı için Accept belirtilmeyen isteklerde JSON döner.
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper smileMapper = builder.createXmlMapper(false)
+                .factory(new SmileFactory())
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper);
+    }
+}
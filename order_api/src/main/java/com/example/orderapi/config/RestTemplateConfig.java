@@ -3,18 +3,37 @@ package com.example.orderapi.config;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public RestTemplate restTemplate(RestTemplateBuilder builder, DeadlinePropagationInterceptor deadlineInterceptor) {
+        return downstream(builder, deadlineInterceptor).build();
+    }
+
+    /**
+     * Downstream servisler için ortak ayarlar; kendi {@link RestTemplate}'ini kuran istemciler de bunu kullanır.
+     * Sabit zaman aşımları üst sınırdır; istek bütçesi varsa her çağrıda kalan süreye indirilir.
+     * {@code extraInterceptors} bütçe başlığından sonra, {@link DownstreamCallEventInterceptor}'dan önce çalışır.
+     */
+    public static RestTemplateBuilder downstream(RestTemplateBuilder builder,
+                                                 DeadlinePropagationInterceptor deadlineInterceptor,
+                                                 ClientHttpRequestInterceptor... extraInterceptors) {
+        List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
+        interceptors.add(deadlineInterceptor);
+        interceptors.addAll(List.of(extraInterceptors));
+        interceptors.add(new DownstreamCallEventInterceptor());
         return builder
+                .requestFactory(DeadlineAwareRequestFactory::new)
                 .setConnectTimeout(Duration.ofSeconds(5))
                 .setReadTimeout(Duration.ofSeconds(5))
-                .build();
+                .additionalInterceptors(interceptors);
     }
 }
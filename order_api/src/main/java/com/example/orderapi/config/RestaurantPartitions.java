@@ -0,0 +1,59 @@
+package com.example.orderapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Stok sahipliğinin restaurant-api instance'ları arasında bölünmesi. Her partition ardışık bir ürün ID aralığının
+ * ({@code partition-range-size} kadar) sahibidir; son partition aralığın ötesindeki ID'leri de alır. Partition listesi
+ * verilmezse tek partition {@code restaurant.api.url} olur. Eşleme restaurant-api'deki {@code StockPartition} ile aynı
+ * olmalıdır, aksi halde restaurant-api isteği 421 ile reddeder.
+ */
+@Component
+public class RestaurantPartitions {
+
+    private final List<String> urls;
+    private final int rangeSize;
+
+    public RestaurantPartitions(@Value("${restaurant.api.url}") String restaurantApiUrl,
+                                @Value("${restaurant.api.partitions:}") List<String> partitions,
+                                @Value("${restaurant.api.partition-range-size:1000000}") int rangeSize) {
+        if (rangeSize <= 0) {
+            throw new IllegalArgumentException("Partition range size must be positive");
+        }
+        List<String> configured = partitions == null ? List.of()
+                : partitions.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        this.urls = configured.isEmpty() ? List.of(restaurantApiUrl) : configured;
+        this.rangeSize = rangeSize;
+    }
+
+    public List<String> urls() {
+        return urls;
+    }
+
+    public int size() {
+        return urls.size();
+    }
+
+    public int indexOf(int productId) {
+        return Math.min(Math.max(productId - 1, 0) / rangeSize, urls.size() - 1);
+    }
+
+    /**
+     * Kalemleri sahip partition'ın adresine göre gruplar; kalem sırası partition içinde korunur.
+     */
+    public <T> Map<String, List<T>> split(List<T> items, ToIntFunction<T> productId) {
+        Map<String, List<T>> byPartition = new LinkedHashMap<>();
+        for (T item : items) {
+            String url = urls.get(indexOf(productId.applyAsInt(item)));
+            byPartition.computeIfAbsent(url, ignored -> new ArrayList<>()).add(item);
+        }
+        return byPartition;
+    }
+}
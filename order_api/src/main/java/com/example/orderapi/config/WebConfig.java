@@ -0,0 +1,29 @@
+package com.example.orderapi.config;
+
+import com.example.orderapi.service.AdaptiveConcurrencyLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "order.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final long retryAfterSeconds;
+
+    public WebConfig(AdaptiveConcurrencyLimiter limiter,
+                     @Value("${order.concurrency-limit.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.limiter = limiter;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Yalnızca sipariş oluşturma sınırlanır; okuma, SSE ve actuator istekleri sınırdan etkilenmez
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(limiter, retryAfterSeconds))
+                .addPathPatterns("/api/orders");
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.orderapi.controller;
+
+import com.example.orderapi.kitchen.KitchenService;
+import com.example.orderapi.kitchen.PreparationBatch;
+import com.example.orderapi.model.response.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/kitchen")
+public class KitchenController {
+
+    private static final Logger logger = LoggerFactory.getLogger(KitchenController.class);
+    private final KitchenService kitchenService;
+
+    public KitchenController(KitchenService kitchenService) {
+        this.kitchenService = kitchenService;
+    }
+
+    @GetMapping("/batches")
+    public ResponseEntity<ApiResponse<List<PreparationBatch>>> getActiveBatches() {
+        logger.debug("Hazırlanan partiler istendi");
+        return ResponseEntity.ok(ApiResponse.success(kitchenService.activeBatches()));
+    }
+
+    @PostMapping("/batches/{batchId}/complete")
+    public ResponseEntity<ApiResponse<List<String>>> completeBatch(@PathVariable String batchId) {
+        logger.info("Hazırlık partisi tamamlandı bildirimi alındı: {}", batchId);
+        return ResponseEntity.ok(ApiResponse.success(kitchenService.complete(batchId)));
+    }
+}
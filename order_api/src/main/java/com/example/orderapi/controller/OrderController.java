@@ -1,14 +1,28 @@
 package com.example.orderapi.controller;
 
 import com.example.orderapi.model.order.Order;
+import com.example.orderapi.model.request.BulkOrderStatusChangeRequest;
 import com.example.orderapi.model.request.OrderRequest;
+import com.example.orderapi.model.request.OrderSearchRequest;
+import com.example.orderapi.model.request.OrderStatusChangeRequest;
 import com.example.orderapi.model.response.ApiResponse;
+import com.example.orderapi.model.response.BulkOrderStatusChangeResponse;
+import com.example.orderapi.model.response.OrderSearchResponse;
+import com.example.orderapi.service.OrderBulkStatusService;
+import com.example.orderapi.service.OrderEventStreamService;
+import com.example.orderapi.service.OrderSearchService;
 import com.example.orderapi.service.OrderService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,14 +31,31 @@ public class OrderController {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
     private final OrderService orderService;
+    private final OrderEventStreamService eventStreamService;
+    private final OrderSearchService searchService;
+    private final OrderBulkStatusService bulkStatusService;
+    private final boolean asyncAcceptance;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderEventStreamService eventStreamService,
+                           OrderSearchService searchService, OrderBulkStatusService bulkStatusService,
+                           @Value("${order.async.enabled:false}") boolean asyncAcceptance) {
         this.orderService = orderService;
+        this.eventStreamService = eventStreamService;
+        this.searchService = searchService;
+        this.bulkStatusService = bulkStatusService;
+        this.asyncAcceptance = asyncAcceptance;
     }
 
     @PostMapping
     public ResponseEntity<ApiResponse<String>> placeOrder(@RequestBody OrderRequest request) {
         logger.info("Yeni sipariş isteği alındı: {}", request);
+
+        if (asyncAcceptance) {
+            String orderId = orderService.acceptOrder(request);
+            logger.info("Sipariş kabul edildi, arka planda işlenecek: {}", orderId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(orderId));
+        }
+
         String result = orderService.placeOrder(request);
         logger.info("Sipariş başarıyla işlendi");
 
@@ -41,4 +72,70 @@ public class OrderController {
         ApiResponse<List<Order>> response = ApiResponse.success(orders);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<Order>> getOrder(@PathVariable String id) {
+        logger.debug("Sipariş istendi: {}", id);
+        return ResponseEntity.ok(ApiResponse.success(orderService.getOrder(id)));
+    }
+
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<ApiResponse<Order>> changeStatus(@PathVariable String id,
+                                                           @RequestBody OrderStatusChangeRequest request) {
+        logger.info("Sipariş durum değişikliği istendi: {} -> {}", id, request.getStatus());
+        return ResponseEntity.ok(ApiResponse.success(orderService.changeStatus(id, request.getStatus())));
+    }
+
+    @PatchMapping("/status")
+    public ResponseEntity<ApiResponse<BulkOrderStatusChangeResponse>> changeStatusInBulk(
+            @RequestBody BulkOrderStatusChangeRequest request) {
+        logger.info("Toplu sipariş durum değişikliği istendi: {}", request);
+        BulkOrderStatusChangeResponse result = bulkStatusService.changeStatus(request);
+        logger.info("Toplu durum değişikliği: {} siparişten {} tanesi güncellendi", result.getMatched(),
+                result.getUpdated());
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<OrderSearchResponse>> searchOrders(
+            @RequestParam(required = false) String address,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) Integer customerId,
+            @RequestParam(required = false) Integer productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        OrderSearchRequest request = OrderSearchRequest.builder()
+                .address(address)
+                .statuses(status)
+                .customerId(customerId)
+                .productId(productId)
+                .from(from)
+                .to(to)
+                .fields(fields)
+                .size(size)
+                .cursor(cursor)
+                .build();
+        logger.debug("Sipariş araması istendi: {}", request);
+
+        OrderSearchResponse result = searchService.search(request);
+        logger.info("Sipariş araması {} / {} kayıt döndürdü", result.getOrders().size(), result.getTotal());
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEvents(@PathVariable String id,
+                                        @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        logger.debug("Sipariş durum akışı istendi: {}, Last-Event-ID: {}", id, lastEventId);
+        return eventStreamService.subscribeToOrder(id, lastEventId);
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCustomerEvents(@RequestParam int customerId,
+                                           @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        logger.debug("Müşteri sipariş akışı istendi: {}, Last-Event-ID: {}", customerId, lastEventId);
+        return eventStreamService.subscribeToCustomer(customerId, lastEventId);
+    }
 }
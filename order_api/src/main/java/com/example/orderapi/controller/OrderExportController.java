@@ -0,0 +1,44 @@
+package com.example.orderapi.controller;
+
+import com.example.orderapi.model.request.OrderExportRequest;
+import com.example.orderapi.model.response.ApiResponse;
+import com.example.orderapi.model.response.OrderExportStatus;
+import com.example.orderapi.service.OrderExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/orders/exports")
+public class OrderExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExportController.class);
+    private final OrderExportService exportService;
+
+    public OrderExportController(OrderExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<OrderExportStatus>> startExport(
+            @RequestBody(required = false) OrderExportRequest request) {
+        logger.info("Sipariş dışa aktarma isteği alındı: {}", request);
+        OrderExportStatus status = exportService.start(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(status));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<OrderExportStatus>> getExportStatus(@PathVariable String jobId) {
+        logger.debug("Dışa aktarma durumu istendi: {}", jobId);
+        return ResponseEntity.ok(ApiResponse.success(exportService.status(jobId)));
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<ApiResponse<OrderExportStatus>> resumeExport(@PathVariable String jobId) {
+        logger.info("Dışa aktarma işine devam isteği alındı: {}", jobId);
+        OrderExportStatus status = exportService.resume(jobId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(status));
+    }
+}
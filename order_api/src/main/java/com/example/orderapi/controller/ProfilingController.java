@@ -0,0 +1,56 @@
+package com.example.orderapi.controller;
+
+import com.example.orderapi.model.response.ApiResponse;
+import com.example.orderapi.model.response.ProfilingStatus;
+import com.example.orderapi.service.ProfilingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/admin/profiling")
+@ConditionalOnProperty(name = "order.profiling.enabled", havingValue = "true")
+public class ProfilingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilingController.class);
+    private final ProfilingService profilingService;
+
+    public ProfilingController(ProfilingService profilingService) {
+        this.profilingService = profilingService;
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<ApiResponse<ProfilingStatus>> start(
+            @RequestParam(defaultValue = "60") long durationSeconds) {
+        logger.info("JFR kaydı başlatma isteği alındı: {} sn", durationSeconds);
+        ProfilingStatus status = profilingService.start(Duration.ofSeconds(durationSeconds));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(status));
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<ProfilingStatus>> status() {
+        return ResponseEntity.ok(ApiResponse.success(profilingService.status()));
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<Resource> stop() {
+        logger.info("JFR kaydı durdurma isteği alındı");
+        Path file = profilingService.stop();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.orderapi.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Para tutarları için yardımcılar. Tutarlar domain'de kuruş cinsinden (2 ondalık basamak) {@code long} olarak tutulur;
+ * aritmetik taşmada {@link ArithmeticException} fırlatır. Ondalık gösterime yalnızca JSON ve Elasticsearch
+ * sınırında çevrilir.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    public static long ofMajor(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toMajor(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long multiply(long minor, int quantity) {
+        return Math.multiplyExact(minor, (long) quantity);
+    }
+}
@@ -3,12 +3,15 @@ package com.example.orderapi.domain;
 import com.example.orderapi.model.enums.OrderStatus;
 import com.example.orderapi.model.order.Order;
 import com.example.orderapi.model.order.OrderItem;
+import com.example.orderapi.model.request.DeliveryRequest;
+import com.example.orderapi.model.request.StockRequest;
 import lombok.Builder;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Data
 @Builder
@@ -17,24 +20,74 @@ public class OrderDomain {
     private Integer customerId;
     private String address;
     private List<OrderItemDomain> items;
-    private Double totalAmount;
+    // Kuruş cinsinden
+    private long totalAmount;
     private OrderStatus status;
     private LocalDateTime orderDate;
     private LocalDateTime confirmedDate;
     private LocalDateTime deliveredDate;
+    // Stok restaurant-api'de düşüldüyse iptalde geri eklenir
+    private boolean stockReduced;
 
     public boolean canConfirm() {
         return status == OrderStatus.PENDING;
     }
 
     public boolean canCancel() {
-        return status == OrderStatus.PENDING || status == OrderStatus.CONFIRMED;
+        return status == OrderStatus.PENDING || status == OrderStatus.CONFIRMED || status == OrderStatus.PREPARING;
     }
 
     public boolean canDeliver() {
+        return status == OrderStatus.CONFIRMED || status == OrderStatus.OUT_FOR_DELIVERY;
+    }
+
+    public boolean canStartPreparing() {
         return status == OrderStatus.CONFIRMED;
     }
 
+    public boolean canMarkReadyForDelivery() {
+        return status == OrderStatus.PREPARING;
+    }
+
+    public boolean canDispatch() {
+        return status == OrderStatus.READY_FOR_DELIVERY;
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return switch (target) {
+            case CONFIRMED -> canConfirm();
+            case CANCELLED -> canCancel();
+            case PREPARING -> canStartPreparing();
+            case READY_FOR_DELIVERY -> canMarkReadyForDelivery();
+            case OUT_FOR_DELIVERY -> canDispatch();
+            case DELIVERED -> canDeliver();
+            case PENDING -> false;
+        };
+    }
+
+    /**
+     * Dışarıdan (PATCH) istenebilecek geçişler. Onay, hazırlık ve teslimata hazır olma işleyicinin yan etkileriyle
+     * (stok düşme, teslimat oluşturma) birlikte yapılır; bu durumlara dışarıdan geçilemez.
+     */
+    public boolean canBeMovedManuallyTo(OrderStatus target) {
+        return switch (target) {
+            case CONFIRMED, PREPARING, READY_FOR_DELIVERY -> false;
+            default -> canTransitionTo(target);
+        };
+    }
+
+    public void transitionTo(OrderStatus target) {
+        switch (target) {
+            case CONFIRMED -> confirm();
+            case CANCELLED -> cancel();
+            case PREPARING -> startPreparing();
+            case READY_FOR_DELIVERY -> markReadyForDelivery();
+            case OUT_FOR_DELIVERY -> dispatch();
+            case DELIVERED -> deliver();
+            case PENDING -> throw new IllegalStateException("Sipariş bekleme durumuna geri alınamaz");
+        }
+    }
+
     public void confirm() {
         if (!canConfirm()) {
             throw new IllegalStateException("Sipariş onay için uygun durumda değil");
@@ -50,6 +103,27 @@ public class OrderDomain {
         this.status = OrderStatus.CANCELLED;
     }
 
+    public void startPreparing() {
+        if (!canStartPreparing()) {
+            throw new IllegalStateException("Sipariş hazırlanmaya uygun durumda değil");
+        }
+        this.status = OrderStatus.PREPARING;
+    }
+
+    public void markReadyForDelivery() {
+        if (!canMarkReadyForDelivery()) {
+            throw new IllegalStateException("Sipariş teslimata hazır duruma geçmeye uygun değil");
+        }
+        this.status = OrderStatus.READY_FOR_DELIVERY;
+    }
+
+    public void dispatch() {
+        if (!canDispatch()) {
+            throw new IllegalStateException("Sipariş yola çıkmaya uygun durumda değil");
+        }
+        this.status = OrderStatus.OUT_FOR_DELIVERY;
+    }
+
     public void deliver() {
         if (!canDeliver()) {
             throw new IllegalStateException("Sipariş teslimat için uygun durumda değil");
@@ -58,10 +132,12 @@ public class OrderDomain {
         this.deliveredDate = LocalDateTime.now();
     }
 
-    public Double calculateTotalAmount() {
-        return items.stream()
-                .mapToDouble(item -> item.getPrice() * item.getQuantity())
-                .sum();
+    public long calculateTotalAmount() {
+        long total = 0;
+        for (int i = 0; i < items.size(); i++) {
+            total = Money.add(total, items.get(i).getSubTotal());
+        }
+        return total;
     }
 
     public boolean isValidForDelivery() {
@@ -71,50 +147,74 @@ public class OrderDomain {
     }
 
     public int getTotalItemCount() {
-        return items.stream()
-                .mapToInt(OrderItemDomain::getQuantity)
-                .sum();
+        int count = 0;
+        for (int i = 0; i < items.size(); i++) {
+            count += items.get(i).getQuantity();
+        }
+        return count;
+    }
+
+    // Aşağıdaki dönüşümler kalemleri tek geçişte, boyutu önceden bilinen listelere kopyalar
+
+    public List<StockRequest.StockItemDto> toStockItems() {
+        List<StockRequest.StockItemDto> stockItems = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            OrderItemDomain item = items.get(i);
+            stockItems.add(new StockRequest.StockItemDto(item.getProductId(), item.getQuantity()));
+        }
+        return stockItems;
+    }
+
+    public DeliveryRequest toDeliveryRequest(String orderId) {
+        List<DeliveryRequest.DeliveryItemDto> deliveryItems = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            OrderItemDomain item = items.get(i);
+            deliveryItems.add(new DeliveryRequest.DeliveryItemDto(
+                    item.getProductId(), item.getProductName(), item.getQuantity()));
+        }
+        return new DeliveryRequest(orderId, customerId, address, deliveryItems, LocalDateTime.now().toString());
     }
 
     public Order toEntity() {
-        List<OrderItem> entityItems = items.stream()
-                .map(domainItem -> OrderItem.builder()
-                        .productId(domainItem.getProductId())
-                        .productName(domainItem.getProductName())
-                        .quantity(domainItem.getQuantity())
-                        .price(domainItem.getPrice())
-                        .build())
-                .collect(Collectors.toList());
+        List<OrderItem> entityItems = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            OrderItemDomain item = items.get(i);
+            entityItems.add(new OrderItem(item.getProductId(), item.getProductName(), item.getQuantity(),
+                    Money.toMajor(item.getPrice())));
+        }
 
         return Order.builder()
                 .id(id != null ? id.toString() : null)
                 .customerId(customerId)
                 .address(address)
                 .items(entityItems)
-                .totalAmount(totalAmount)
+                .totalAmount(Money.toMajor(totalAmount))
                 .status(status)
                 .orderDate(orderDate != null ? orderDate.toString() : null)
+                .stockReduced(stockReduced)
                 .build();
     }
 
     public static OrderDomain fromEntity(Order entity) {
-        List<OrderItemDomain> domainItems = entity.getItems().stream()
-                .map(entityItem -> OrderItemDomain.builder()
-                        .productId(entityItem.getProductId())
-                        .productName(entityItem.getProductName())
-                        .quantity(entityItem.getQuantity())
-                        .price(entityItem.getPrice())
-                        .build())
-                .collect(Collectors.toList());
+        List<OrderItem> entityItems = entity.getItems();
+        List<OrderItemDomain> domainItems = new ArrayList<>(entityItems.size());
+        for (OrderItem entityItem : entityItems) {
+            domainItems.add(new OrderItemDomain(
+                    entityItem.getProductId(),
+                    entityItem.getProductName(),
+                    entityItem.getQuantity() != null ? entityItem.getQuantity() : 0,
+                    entityItem.getPrice() != null ? Money.ofMajor(entityItem.getPrice()) : 0));
+        }
 
         return OrderDomain.builder()
                 .id(entity.getId() != null ? Long.parseLong(entity.getId()) : null)
                 .customerId(entity.getCustomerId())
                 .address(entity.getAddress())
-                .items(domainItems)
-                .totalAmount(entity.getTotalAmount())
+                .items(Collections.unmodifiableList(domainItems))
+                .totalAmount(entity.getTotalAmount() != null ? Money.ofMajor(entity.getTotalAmount()) : 0)
                 .status(entity.getStatus())
                 .orderDate(entity.getOrderDate() != null ? LocalDateTime.parse(entity.getOrderDate()) : null)
+                .stockReduced(entity.isStockReduced())
                 .build();
     }
 }
@@ -1,25 +1,25 @@
 package com.example.orderapi.domain;
 
-import lombok.Builder;
-import lombok.Data;
+import lombok.Value;
 
-@Data
-@Builder
+/**
+ * Sipariş kalemi. Değiştirilemez; miktar ve fiyat kutulanmamış primitive alanlarda, fiyat kuruş cinsinden tutulur.
+ */
+@Value
 public class OrderItemDomain {
-    private Long id;
-    private Integer productId;
-    private String productName;
-    private Integer quantity;
-    private Double price;
+    int productId;
+    String productName;
+    int quantity;
+    long price;
 
-    public Double getSubTotal() {
-        return price * quantity;
+    public long getSubTotal() {
+        return Money.multiply(price, quantity);
     }
 
     public boolean isValid() {
-        return productId != null && productId > 0 &&
+        return productId > 0 &&
                 productName != null && !productName.trim().isEmpty() &&
-                quantity != null && quantity > 0 &&
-                price != null && price > 0;
+                quantity > 0 &&
+                price > 0;
     }
 }
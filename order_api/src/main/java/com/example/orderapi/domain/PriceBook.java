@@ -0,0 +1,106 @@
+package com.example.orderapi.domain;
+
+import com.example.orderapi.model.response.PriceListResponse;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ürün ID'sine göre fiyat ve ad tablosu. Değiştirilemez; ID'ler sıralı bir int dizisinde, fiyat (kuruş) ve adlar
+ * paralel dizilerde tutulur ve ikili arama ile okunur. Güncellemeler yeni bir örnek üretir.
+ */
+public final class PriceBook {
+
+    public static final PriceBook EMPTY = new PriceBook(0, new int[0], new long[0], new String[0]);
+
+    private final long version;
+    private final int[] productIds;
+    private final long[] prices;
+    private final String[] names;
+
+    private PriceBook(long version, int[] productIds, long[] prices, String[] names) {
+        this.version = version;
+        this.productIds = productIds;
+        this.prices = prices;
+        this.names = names;
+    }
+
+    public static PriceBook of(long version, List<PriceListResponse.ProductPrice> products) {
+        return EMPTY.withUpdates(version, products);
+    }
+
+    /**
+     * Mevcut kayıtlarla güncellemeleri birleştirir; aynı ID için güncellemedeki değer geçerlidir.
+     */
+    public PriceBook withUpdates(long newVersion, List<PriceListResponse.ProductPrice> updates) {
+        PriceListResponse.ProductPrice[] sorted = updates.toArray(new PriceListResponse.ProductPrice[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(PriceListResponse.ProductPrice::getId));
+
+        int capacity = productIds.length + sorted.length;
+        int[] mergedIds = new int[capacity];
+        long[] mergedPrices = new long[capacity];
+        String[] mergedNames = new String[capacity];
+
+        int i = 0;
+        int u = 0;
+        int size = 0;
+        while (i < productIds.length || u < sorted.length) {
+            boolean takeUpdate = i == productIds.length
+                    || (u < sorted.length && sorted[u].getId() <= productIds[i]);
+            if (takeUpdate) {
+                PriceListResponse.ProductPrice update = sorted[u++];
+                if (i < productIds.length && productIds[i] == update.getId()) {
+                    i++;
+                }
+                if (size > 0 && mergedIds[size - 1] == update.getId()) {
+                    size--;
+                }
+                mergedIds[size] = update.getId();
+                mergedPrices[size] = Money.ofMajor(update.getPrice());
+                mergedNames[size] = update.getName();
+            } else {
+                mergedIds[size] = productIds[i];
+                mergedPrices[size] = prices[i];
+                mergedNames[size] = names[i];
+                i++;
+            }
+            size++;
+        }
+
+        return new PriceBook(Math.max(version, newVersion),
+                Arrays.copyOf(mergedIds, size),
+                Arrays.copyOf(mergedPrices, size),
+                Arrays.copyOf(mergedNames, size));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return productIds.length;
+    }
+
+    /**
+     * @return ürünün indeksi, yoksa negatif değer
+     */
+    public int indexOf(int productId) {
+        return Arrays.binarySearch(productIds, productId);
+    }
+
+    public boolean contains(int productId) {
+        return indexOf(productId) >= 0;
+    }
+
+    /**
+     * @return birim fiyat, kuruş cinsinden
+     */
+    public long priceAt(int index) {
+        return prices[index];
+    }
+
+    public String nameAt(int index) {
+        return names[index];
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.orderapi.event;
+
+import com.example.orderapi.model.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+    private final String orderId;
+    private final int customerId;
+    private final OrderStatus status;
+    private final LocalDateTime occurredAt;
+}
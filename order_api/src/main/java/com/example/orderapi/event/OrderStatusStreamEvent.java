@@ -0,0 +1,24 @@
+package com.example.orderapi.event;
+
+import com.example.orderapi.model.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class OrderStatusStreamEvent {
+    private final long eventId;
+    private final String orderId;
+    private final int customerId;
+    private final OrderStatus status;
+    private final LocalDateTime occurredAt;
+
+    public static OrderStatusStreamEvent of(long eventId, OrderStatusChangedEvent event) {
+        return new OrderStatusStreamEvent(eventId, event.getOrderId(), event.getCustomerId(),
+                event.getStatus(), event.getOccurredAt());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.orderapi.exception;
+
+public class ExportJobNotFoundException extends RuntimeException {
+    public ExportJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -4,10 +4,12 @@ import com.example.orderapi.model.response.ApiResponse;
 import com.example.orderapi.model.enums.ErrorCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.context.request.WebRequest;
 
 @RestControllerAdvice
@@ -25,6 +27,109 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(OrderNotFoundException.class)
+    public ResponseEntity<ApiResponse<Object>> handleOrderNotFoundException(
+            OrderNotFoundException ex, WebRequest request) {
+
+        logger.warn("Sipariş bulunamadı: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error(ErrorCode.ORDER_NOT_FOUND);
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidOrderStatusException.class)
+    public ResponseEntity<ApiResponse<Object>> handleInvalidOrderStatusException(
+            InvalidOrderStatusException ex, WebRequest request) {
+
+        logger.warn("Geçersiz sipariş durum geçişi: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error(ErrorCode.INVALID_ORDER_STATUS, ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(OrderVersionConflictException.class)
+    public ResponseEntity<ApiResponse<Object>> handleOrderVersionConflictException(
+            OrderVersionConflictException ex, WebRequest request) {
+
+        logger.warn("Sipariş eşzamanlı güncellendi: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error(ErrorCode.ORDER_CONFLICT);
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ExportJobNotFoundException.class)
+    public ResponseEntity<ApiResponse<Object>> handleExportJobNotFoundException(
+            ExportJobNotFoundException ex, WebRequest request) {
+
+        logger.warn("Dışa aktarma işi bulunamadı: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error(ErrorCode.EXPORT_JOB_NOT_FOUND);
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(KitchenBatchNotFoundException.class)
+    public ResponseEntity<ApiResponse<Object>> handleKitchenBatchNotFoundException(
+            KitchenBatchNotFoundException ex, WebRequest request) {
+
+        logger.warn("Hazırlık partisi bulunamadı: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error(ErrorCode.KITCHEN_BATCH_NOT_FOUND);
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponse<Object>> handleServiceOverloadedException(
+            ServiceOverloadedException ex, WebRequest request) {
+
+        logger.warn("İstek reddedildi, servis yoğun: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error(ErrorCode.SERVICE_OVERLOADED);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ApiResponse<Object>> handleDeadlineExceededException(
+            DeadlineExceededException ex, WebRequest request) {
+
+        logger.warn("İstek süresi doldu: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error(ErrorCode.DEADLINE_EXCEEDED);
+        return new ResponseEntity<>(response, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    @ExceptionHandler(ProfilingStateException.class)
+    public ResponseEntity<ApiResponse<Object>> handleProfilingStateException(
+            ProfilingStateException ex, WebRequest request) {
+
+        logger.warn("Profil kaydı isteği reddedildi: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error(ErrorCode.PROFILING_CONFLICT, ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidSearchRequestException.class)
+    public ResponseEntity<ApiResponse<Object>> handleInvalidSearchRequestException(
+            InvalidSearchRequestException ex, WebRequest request) {
+
+        logger.warn("Geçersiz arama isteği: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error(ErrorCode.VALIDATION_ERROR, ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiResponse<Object>> handleMethodArgumentTypeMismatchException(
+            MethodArgumentTypeMismatchException ex, WebRequest request) {
+
+        logger.warn("Geçersiz parametre değeri - {}: {}", ex.getName(), ex.getValue());
+
+        ApiResponse<Object> response = ApiResponse.error(ErrorCode.VALIDATION_ERROR,
+                "Geçersiz parametre değeri: " + ex.getName());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiResponse<Object>> handleIllegalArgumentException(
             IllegalArgumentException ex, WebRequest request) {
@@ -0,0 +1,7 @@
+package com.example.orderapi.exception;
+
+public class InvalidOrderStatusException extends RuntimeException {
+    public InvalidOrderStatusException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.orderapi.exception;
+
+public class KitchenBatchNotFoundException extends RuntimeException {
+    public KitchenBatchNotFoundException(String message) {
+        super(message);
+    }
+}
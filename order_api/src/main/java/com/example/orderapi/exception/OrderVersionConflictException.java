@@ -0,0 +1,11 @@
+package com.example.orderapi.exception;
+
+public class OrderVersionConflictException extends RuntimeException {
+    public OrderVersionConflictException(String message) {
+        super(message);
+    }
+
+    public OrderVersionConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.orderapi.exception;
+
+public class ProfilingStateException extends RuntimeException {
+    public ProfilingStateException(String message) {
+        super(message);
+    }
+}
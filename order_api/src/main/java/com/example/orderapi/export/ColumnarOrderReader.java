@@ -0,0 +1,137 @@
+package com.example.orderapi.export;
+
+import com.example.orderapi.domain.Money;
+import com.example.orderapi.model.enums.OrderStatus;
+import com.example.orderapi.model.order.Order;
+import com.example.orderapi.model.order.OrderItem;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * {@link ColumnarOrderWriter} ile yazılmış dosyaları satır grubu satır grubu okur.
+ */
+public class ColumnarOrderReader implements Closeable {
+
+    private final DataInputStream in;
+    private final int version;
+    private final List<String> columns;
+
+    public ColumnarOrderReader(Path file) throws IOException {
+        // GZIPInputStream art arda eklenmiş gzip üyelerini tek akış olarak okur
+        this.in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 64 * 1024), 64 * 1024));
+        if (in.readInt() != ColumnarOrderWriter.MAGIC) {
+            throw new IOException("Not an order export file: " + file);
+        }
+        this.version = in.readInt();
+        if (version < 1 || version > ColumnarOrderWriter.VERSION) {
+            throw new IOException("Unsupported order export version " + version + ": " + file);
+        }
+        int columnCount = in.readInt();
+        this.columns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            columns.add(in.readUTF());
+        }
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Dosyadaki tüm siparişleri sırayla verir; bellekte aynı anda yalnızca bir satır grubu tutulur.
+     *
+     * @return okunan sipariş sayısı
+     */
+    public long forEach(Consumer<Order> consumer) throws IOException {
+        long total = 0;
+        while (true) {
+            int rows;
+            try {
+                rows = in.readInt();
+            } catch (EOFException e) {
+                return total;
+            }
+            int items = in.readInt();
+
+            String[] ids = new String[rows];
+            int[] customerIds = new int[rows];
+            String[] addresses = new String[rows];
+            String[] statuses = new String[rows];
+            BigDecimal[] totalAmounts = new BigDecimal[rows];
+            int[] deliveryIds = new int[rows];
+            String[] orderDates = new String[rows];
+            int[] itemCounts = new int[rows];
+            for (int i = 0; i < rows; i++) ids[i] = readNullableUTF();
+            for (int i = 0; i < rows; i++) customerIds[i] = in.readInt();
+            for (int i = 0; i < rows; i++) addresses[i] = readNullableUTF();
+            for (int i = 0; i < rows; i++) statuses[i] = readNullableUTF();
+            for (int i = 0; i < rows; i++) totalAmounts[i] = readAmount();
+            for (int i = 0; i < rows; i++) deliveryIds[i] = in.readInt();
+            for (int i = 0; i < rows; i++) orderDates[i] = readNullableUTF();
+            for (int i = 0; i < rows; i++) itemCounts[i] = in.readInt();
+
+            int[] productIds = new int[items];
+            String[] productNames = new String[items];
+            int[] quantities = new int[items];
+            BigDecimal[] prices = new BigDecimal[items];
+            for (int i = 0; i < items; i++) productIds[i] = in.readInt();
+            for (int i = 0; i < items; i++) productNames[i] = readNullableUTF();
+            for (int i = 0; i < items; i++) quantities[i] = in.readInt();
+            for (int i = 0; i < items; i++) prices[i] = readAmount();
+
+            int item = 0;
+            for (int row = 0; row < rows; row++) {
+                List<OrderItem> orderItems = new ArrayList<>(itemCounts[row]);
+                for (int i = 0; i < itemCounts[row]; i++, item++) {
+                    orderItems.add(OrderItem.builder()
+                            .productId(productIds[item])
+                            .productName(productNames[item])
+                            .quantity(quantities[item])
+                            .price(prices[item])
+                            .build());
+                }
+                consumer.accept(Order.builder()
+                        .id(ids[row])
+                        .customerId(customerIds[row])
+                        .address(addresses[row])
+                        .status(statuses[row] != null ? OrderStatus.valueOf(statuses[row]) : null)
+                        .totalAmount(totalAmounts[row])
+                        .deliveryId(deliveryIds[row])
+                        .orderDate(orderDates[row])
+                        .items(orderItems)
+                        .build());
+            }
+            total += rows;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private BigDecimal readAmount() throws IOException {
+        if (version == 1) {
+            double value = in.readDouble();
+            return Double.isNaN(value) ? null : BigDecimal.valueOf(value);
+        }
+        long minor = in.readLong();
+        return minor == ColumnarOrderWriter.NULL_AMOUNT ? null : Money.toMajor(minor);
+    }
+
+    private String readNullableUTF() throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.orderapi.export;
+
+import com.example.orderapi.domain.Money;
+import com.example.orderapi.model.order.Order;
+import com.example.orderapi.model.order.OrderItem;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Siparişleri sütun yönelimli, gzip sıkıştırılmış bir dosyaya yazar.
+ * <p>
+ * Dosya art arda eklenmiş gzip üyelerinden oluşur: ilk üye başlık, sonraki her üye bir satır grubudur.
+ * Satır grubunda her sütun ayrı bir blok olarak yazılır; bu sayede benzer değerler yan yana gelir ve daha iyi
+ * sıkışır. Her satır grubu kendi başına tamamlanmış bir gzip üyesi olduğundan dosya, son tamamlanan grubun sonuna
+ * kadar kesilip kaldığı yerden devam ettirilebilir. Bellek kullanımı satır grubu boyutuyla sınırlıdır.
+ */
+public class ColumnarOrderWriter implements Closeable {
+
+    static final int MAGIC = 0x4F524443; // "ORDC"
+    // 2: tutarlar kuruş cinsinden long yazılır (1: double)
+    static final int VERSION = 2;
+    static final long NULL_AMOUNT = Long.MIN_VALUE;
+    static final String[] COLUMNS = {
+            "id", "customerId", "address", "status", "totalAmount", "deliveryId", "orderDate",
+            "items.count", "items.productId", "items.productName", "items.quantity", "items.price"
+    };
+
+    private final FileChannel channel;
+    private final int rowGroupSize;
+
+    private final String[] ids;
+    private final int[] customerIds;
+    private final String[] addresses;
+    private final String[] statuses;
+    private final long[] totalAmounts;
+    private final int[] deliveryIds;
+    private final String[] orderDates;
+    private final int[] itemCounts;
+
+    private int[] itemProductIds = new int[64];
+    private String[] itemProductNames = new String[64];
+    private int[] itemQuantities = new int[64];
+    private long[] itemPrices = new long[64];
+
+    private int rows;
+    private int items;
+    private long rowsWritten;
+    private long completedLength;
+
+    /**
+     * @param resumeOffset 0 ise yeni dosya başlatılır; aksi halde dosya bu konuma kesilir ve yazım oradan sürer
+     */
+    public ColumnarOrderWriter(Path file, int rowGroupSize, long resumeOffset) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.rowGroupSize = rowGroupSize;
+        this.ids = new String[rowGroupSize];
+        this.customerIds = new int[rowGroupSize];
+        this.addresses = new String[rowGroupSize];
+        this.statuses = new String[rowGroupSize];
+        this.totalAmounts = new long[rowGroupSize];
+        this.deliveryIds = new int[rowGroupSize];
+        this.orderDates = new String[rowGroupSize];
+        this.itemCounts = new int[rowGroupSize];
+
+        channel.truncate(resumeOffset);
+        channel.position(resumeOffset);
+        if (resumeOffset == 0) {
+            writeHeader();
+        }
+        this.completedLength = channel.position();
+    }
+
+    /**
+     * Siparişi tampona ekler; satır grubu dolduysa diske yazar ve true döner.
+     */
+    public boolean write(Order order) throws IOException {
+        ids[rows] = order.getId();
+        customerIds[rows] = order.getCustomerId();
+        addresses[rows] = order.getAddress();
+        statuses[rows] = order.getStatus() != null ? order.getStatus().name() : null;
+        totalAmounts[rows] = order.getTotalAmount() != null ? Money.ofMajor(order.getTotalAmount()) : NULL_AMOUNT;
+        deliveryIds[rows] = order.getDeliveryId();
+        orderDates[rows] = order.getOrderDate();
+
+        int count = order.getItems() != null ? order.getItems().size() : 0;
+        itemCounts[rows] = count;
+        ensureItemCapacity(items + count);
+        for (int i = 0; i < count; i++) {
+            OrderItem item = order.getItems().get(i);
+            itemProductIds[items] = item.getProductId();
+            itemProductNames[items] = item.getProductName();
+            itemQuantities[items] = item.getQuantity() != null ? item.getQuantity() : 0;
+            itemPrices[items] = item.getPrice() != null ? Money.ofMajor(item.getPrice()) : NULL_AMOUNT;
+            items++;
+        }
+
+        rows++;
+        if (rows == rowGroupSize) {
+            flush();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Tampondaki satırları bir satır grubu olarak yazar ve diske zorlar.
+     *
+     * @return dosyanın tamamlanmış kısmının uzunluğu; devam noktası olarak kullanılabilir
+     */
+    public long flush() throws IOException {
+        if (rows > 0) {
+            try (DataOutputStream out = memberStream()) {
+                out.writeInt(rows);
+                out.writeInt(items);
+                for (int i = 0; i < rows; i++) writeNullableUTF(out, ids[i]);
+                for (int i = 0; i < rows; i++) out.writeInt(customerIds[i]);
+                for (int i = 0; i < rows; i++) writeNullableUTF(out, addresses[i]);
+                for (int i = 0; i < rows; i++) writeNullableUTF(out, statuses[i]);
+                for (int i = 0; i < rows; i++) out.writeLong(totalAmounts[i]);
+                for (int i = 0; i < rows; i++) out.writeInt(deliveryIds[i]);
+                for (int i = 0; i < rows; i++) writeNullableUTF(out, orderDates[i]);
+                for (int i = 0; i < rows; i++) out.writeInt(itemCounts[i]);
+                for (int i = 0; i < items; i++) out.writeInt(itemProductIds[i]);
+                for (int i = 0; i < items; i++) writeNullableUTF(out, itemProductNames[i]);
+                for (int i = 0; i < items; i++) out.writeInt(itemQuantities[i]);
+                for (int i = 0; i < items; i++) out.writeLong(itemPrices[i]);
+            }
+            rowsWritten += rows;
+            Arrays.fill(ids, 0, rows, null);
+            Arrays.fill(addresses, 0, rows, null);
+            Arrays.fill(orderDates, 0, rows, null);
+            Arrays.fill(itemProductNames, 0, items, null);
+            rows = 0;
+            items = 0;
+        }
+        channel.force(false);
+        completedLength = channel.position();
+        return completedLength;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Diske yazılıp zorlanmış son satır grubunun bittiği konum.
+     */
+    public long getCompletedLength() {
+        return completedLength;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Tampondaki satırları yazmadan dosyayı kapatır; devam edilecek konum {@link #getCompletedLength()} olarak kalır.
+     */
+    public void abort() throws IOException {
+        channel.close();
+    }
+
+    private void writeHeader() throws IOException {
+        try (DataOutputStream out = memberStream()) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(COLUMNS.length);
+            for (String column : COLUMNS) {
+                out.writeUTF(column);
+            }
+        }
+    }
+
+    // Her çağrı ayrı bir gzip üyesi açar; stream kapatıldığında üye tamamlanır ama kanal açık kalır
+    private DataOutputStream memberStream() throws IOException {
+        OutputStream target = new FilterOutputStream(Channels.newOutputStream(channel)) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        return new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(target, 64 * 1024), 64 * 1024));
+    }
+
+    private void ensureItemCapacity(int required) {
+        if (required <= itemProductIds.length) {
+            return;
+        }
+        int capacity = Math.max(required, itemProductIds.length * 2);
+        itemProductIds = Arrays.copyOf(itemProductIds, capacity);
+        itemProductNames = Arrays.copyOf(itemProductNames, capacity);
+        itemQuantities = Arrays.copyOf(itemQuantities, capacity);
+        itemPrices = Arrays.copyOf(itemPrices, capacity);
+    }
+
+    private static void writeNullableUTF(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.orderapi.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dışa aktarma işinin en son diske yazılmış satır grubundan sonraki durumu.
+ * Her satır grubu yazıldıktan sonra güncellenir; iş bu noktadan devam ettirilebilir.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportCheckpoint {
+
+    private String jobId;
+
+    // yyyy-MM, iki uç dahil; null ise sınırsız
+    private String fromMonth;
+
+    private String toMonth;
+
+    // Yazımı süren ay dosyası ve tamamlanmış kısmının uzunluğu
+    private String currentMonth;
+
+    private long fileOffset;
+
+    // Son yazılan siparişin tarihi ve bu tarihe sahip, zaten yazılmış sipariş ID'leri
+    private String lastOrderDate;
+
+    @Builder.Default
+    private List<String> lastOrderIds = new ArrayList<>();
+
+    private long exported;
+
+    private long total;
+
+    @Builder.Default
+    private List<String> completedFiles = new ArrayList<>();
+
+    private boolean completed;
+}
@@ -0,0 +1,322 @@
+package com.example.orderapi.kitchen;
+
+import com.example.orderapi.model.request.StockRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Mutfak hazırlık planlayıcısı. Onaylanan siparişlerin kalemleri ürün başına, siparişin hazır olması gereken zamana
+ * (deadline) göre sıralı öncelik kuyruklarında bekler. Bir istasyon boşaldığında bekleyen kalemler productId'ye göre
+ * tek bir hazırlık partisinde (batch) toplanır, böylece aynı ürün her sipariş için ayrı ayrı hazırlanmaz.
+ * <p>
+ * Bir ürünün partisi en fazla {@code batchWindow} kadar daha fazla kalem toplamak için bekletilir; parti dolduğunda
+ * ({@code maxBatchUnits}) veya içindeki bir siparişin deadline'ı geldiğinde beklemeden başlatılır. Başlatılabilir
+ * partiler arasından en acil kalemi içeren seçilir. Bir siparişin tüm kalemlerinin partileri tamamlandığında sipariş
+ * hazırdır.
+ * <p>
+ * Saat dışarıdan verilir; uygulamada {@link KitchenService} gerçek saatle, simülasyonda sanal saatle çalıştırır.
+ */
+public class KitchenScheduler {
+
+    private static final Comparator<PendingUnits> BY_URGENCY = Comparator
+            .comparingLong((PendingUnits units) -> units.order.deadline)
+            .thenComparingLong(units -> units.sequence);
+
+    private final int stations;
+    private final int maxBatchUnits;
+    private final long batchWindowMillis;
+    private final LongSupplier clock;
+
+    private final Map<Integer, PriorityQueue<PendingUnits>> pending = new HashMap<>();
+    private final Map<String, KitchenOrder> orders = new HashMap<>();
+    private final Map<String, Batch> active = new LinkedHashMap<>();
+    private long sequence;
+    private int pendingUnits;
+
+    private final Timer waitTimer;
+    private final Timer completionTimer;
+    private final DistributionSummary batchUnits;
+
+    public KitchenScheduler(int stations, int maxBatchUnits, Duration batchWindow, MeterRegistry meterRegistry,
+                            LongSupplier clock) {
+        if (stations <= 0 || maxBatchUnits <= 0) {
+            throw new IllegalArgumentException("Kitchen stations and batch size must be positive");
+        }
+        this.stations = stations;
+        this.maxBatchUnits = maxBatchUnits;
+        this.batchWindowMillis = batchWindow.toMillis();
+        this.clock = clock;
+
+        Gauge.builder("order.kitchen.queue.depth", this, KitchenScheduler::orderCount)
+                .description("Mutfakta olup henüz hazır olmayan sipariş sayısı")
+                .register(meterRegistry);
+        Gauge.builder("order.kitchen.queue.units", this, KitchenScheduler::pendingUnits)
+                .description("Bir partiye alınmayı bekleyen ürün adedi")
+                .register(meterRegistry);
+        Gauge.builder("order.kitchen.batches.active", this, KitchenScheduler::activeBatchCount)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("order.kitchen.wait")
+                .description("Kalemin kuyruğa girişinden partisinin başlamasına kadar geçen süre")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.completionTimer = Timer.builder("order.kitchen.completion")
+                .description("Siparişin mutfağa girişinden tüm kalemlerinin hazır olmasına kadar geçen süre")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.batchUnits = DistributionSummary.builder("order.kitchen.batch.units")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Siparişi mutfak kuyruğuna alır. Aynı ürünün kalemleri tek kayıtta birleştirilir.
+     *
+     * @param deadline siparişin hazır olması gereken zaman; öncelik buna göre belirlenir
+     */
+    public synchronized void submit(String orderId, List<StockRequest.StockItemDto> items, long deadline) {
+        if (orders.containsKey(orderId)) {
+            throw new IllegalStateException("Order " + orderId + " is already in the kitchen");
+        }
+        long now = clock.getAsLong();
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        for (StockRequest.StockItemDto item : items) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        int units = quantities.values().stream().mapToInt(Integer::intValue).sum();
+        if (units <= 0) {
+            throw new IllegalArgumentException("Order " + orderId + " has nothing to prepare");
+        }
+
+        KitchenOrder order = new KitchenOrder(orderId, deadline, now, units);
+        orders.put(orderId, order);
+        quantities.forEach((productId, quantity) -> pending
+                .computeIfAbsent(productId, ignored -> new PriorityQueue<>(BY_URGENCY))
+                .add(new PendingUnits(order, quantity, now, sequence++)));
+        pendingUnits += units;
+    }
+
+    /**
+     * Boş istasyonlara başlatılabilir partileri atar.
+     *
+     * @return yeni başlatılan partiler
+     */
+    public synchronized List<PreparationBatch> dispatch() {
+        long now = clock.getAsLong();
+        List<PreparationBatch> started = new ArrayList<>();
+        while (active.size() < stations) {
+            Integer productId = mostUrgentReadyProduct(now);
+            if (productId == null) {
+                break;
+            }
+            started.add(start(productId, now));
+        }
+        return started;
+    }
+
+    /**
+     * Partiyi tamamlandı olarak işaretler.
+     *
+     * @return bu partiyle tüm kalemleri tamamlanan siparişler; parti bilinmiyorsa null
+     */
+    public synchronized List<String> complete(String batchId) {
+        Batch batch = active.remove(batchId);
+        if (batch == null) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        List<String> ready = new ArrayList<>();
+        for (Allocation allocation : batch.allocations) {
+            KitchenOrder order = allocation.order;
+            order.remainingUnits -= allocation.quantity;
+            if (order.remainingUnits == 0 && !order.cancelled) {
+                orders.remove(order.id);
+                completionTimer.record(now - order.submittedAt, TimeUnit.MILLISECONDS);
+                ready.add(order.id);
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * Siparişi mutfaktan çeker: bekleyen kalemleri kuyruktan çıkarılır, başlamış partilerdeki payı tamamlandığında
+     * sipariş hazır sayılmaz.
+     *
+     * @return sipariş mutfaktaysa true
+     */
+    public synchronized boolean cancel(String orderId) {
+        KitchenOrder order = orders.remove(orderId);
+        if (order == null) {
+            return false;
+        }
+        order.cancelled = true;
+        pending.values().removeIf(queue -> {
+            queue.removeIf(waiting -> {
+                if (waiting.order != order) {
+                    return false;
+                }
+                pendingUnits -= waiting.quantity;
+                return true;
+            });
+            return queue.isEmpty();
+        });
+        return true;
+    }
+
+    /**
+     * @return boş istasyona bir sonraki partinin atanabileceği en erken zaman; bekleyen kalem yoksa ya da tüm
+     * istasyonlar doluysa (atama bir parti tamamlanınca yapılır) {@link Long#MAX_VALUE}
+     */
+    public synchronized long nextDispatchAt() {
+        if (active.size() >= stations) {
+            return Long.MAX_VALUE;
+        }
+        long next = Long.MAX_VALUE;
+        for (PriorityQueue<PendingUnits> queue : pending.values()) {
+            next = Math.min(next, readyAt(queue));
+        }
+        return next;
+    }
+
+    public synchronized List<PreparationBatch> activeBatches() {
+        return active.values().stream().map(Batch::view).toList();
+    }
+
+    public synchronized int orderCount() {
+        return orders.size();
+    }
+
+    public synchronized int pendingUnits() {
+        return pendingUnits;
+    }
+
+    public synchronized int activeBatchCount() {
+        return active.size();
+    }
+
+    // Ürün sayısı kadar tarama yapılır; bekleyen ürün çeşidi kalem sayısına göre küçüktür
+    private Integer mostUrgentReadyProduct(long now) {
+        Integer selected = null;
+        PendingUnits selectedHead = null;
+        for (Map.Entry<Integer, PriorityQueue<PendingUnits>> entry : pending.entrySet()) {
+            PriorityQueue<PendingUnits> queue = entry.getValue();
+            if (readyAt(queue) > now) {
+                continue;
+            }
+            PendingUnits head = queue.peek();
+            if (selectedHead == null || BY_URGENCY.compare(head, selectedHead) < 0) {
+                selected = entry.getKey();
+                selectedHead = head;
+            }
+        }
+        return selected;
+    }
+
+    private long readyAt(PriorityQueue<PendingUnits> queue) {
+        int units = 0;
+        long oldest = Long.MAX_VALUE;
+        for (PendingUnits waiting : queue) {
+            units += waiting.quantity;
+            oldest = Math.min(oldest, waiting.enqueuedAt);
+        }
+        if (units >= maxBatchUnits) {
+            return Long.MIN_VALUE;
+        }
+        return Math.min(queue.peek().order.deadline, oldest + batchWindowMillis);
+    }
+
+    private PreparationBatch start(int productId, long now) {
+        PriorityQueue<PendingUnits> queue = pending.get(productId);
+        Batch batch = new Batch(UUID.randomUUID().toString(), productId, now);
+        int capacity = maxBatchUnits;
+        while (capacity > 0 && !queue.isEmpty()) {
+            PendingUnits head = queue.peek();
+            int taken = Math.min(capacity, head.quantity);
+            // Partiye sığmayan kısım aynı öncelikle kuyrukta kalır
+            head.quantity -= taken;
+            if (head.quantity == 0) {
+                queue.poll();
+            }
+            capacity -= taken;
+            batch.add(head.order, taken);
+            waitTimer.record(now - head.enqueuedAt, TimeUnit.MILLISECONDS);
+        }
+        if (queue.isEmpty()) {
+            pending.remove(productId);
+        }
+        pendingUnits -= batch.quantity;
+        batchUnits.record(batch.quantity);
+        active.put(batch.id, batch);
+        return batch.view();
+    }
+
+    private static final class KitchenOrder {
+        private final String id;
+        private final long deadline;
+        private final long submittedAt;
+        private int remainingUnits;
+        private boolean cancelled;
+
+        private KitchenOrder(String id, long deadline, long submittedAt, int remainingUnits) {
+            this.id = id;
+            this.deadline = deadline;
+            this.submittedAt = submittedAt;
+            this.remainingUnits = remainingUnits;
+        }
+    }
+
+    private static final class PendingUnits {
+        private final KitchenOrder order;
+        private final long enqueuedAt;
+        private final long sequence;
+        private int quantity;
+
+        private PendingUnits(KitchenOrder order, int quantity, long enqueuedAt, long sequence) {
+            this.order = order;
+            this.quantity = quantity;
+            this.enqueuedAt = enqueuedAt;
+            this.sequence = sequence;
+        }
+    }
+
+    private record Allocation(KitchenOrder order, int quantity) {
+    }
+
+    private static final class Batch {
+        private final String id;
+        private final int productId;
+        private final long startedAt;
+        private final List<Allocation> allocations = new ArrayList<>();
+        private int quantity;
+
+        private Batch(String id, int productId, long startedAt) {
+            this.id = id;
+            this.productId = productId;
+            this.startedAt = startedAt;
+        }
+
+        void add(KitchenOrder order, int units) {
+            allocations.add(new Allocation(order, units));
+            quantity += units;
+        }
+
+        PreparationBatch view() {
+            return new PreparationBatch(id, productId, quantity,
+                    allocations.stream().map(allocation -> allocation.order().id).distinct().toList(),
+                    Instant.ofEpochMilli(startedAt));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.orderapi.kitchen;
+
+import com.example.orderapi.exception.KitchenBatchNotFoundException;
+import com.example.orderapi.model.request.StockRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link KitchenScheduler}'ı uygulamaya bağlar. Parti ataması tek bir dispatcher thread'inde yapılır: sipariş
+ * geldiğinde, parti tamamlandığında ve bekletilen bir partinin süresi dolduğunda tetiklenir. Partiler mutfak
+ * tarafından {@link #complete} ile kapatılır; tüm kalemleri tamamlanan siparişin callback'i çağrılır. İptal edilen
+ * sipariş {@link #cancel} ile mutfaktan çekilir.
+ * Kuyruk bellekte tutulur; yeniden başlatmada hazırlanmakta olan siparişler PREPARING durumunda kalır.
+ */
+@Component
+public class KitchenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KitchenService.class);
+
+    private final boolean enabled;
+    private final Duration targetTime;
+    private final KitchenScheduler scheduler;
+    private final Map<String, Runnable> onReady = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kitchen-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Yalnızca dispatcher thread'inde değişir
+    private ScheduledFuture<?> wakeUp;
+    private long wakeUpAt = Long.MAX_VALUE;
+
+    public KitchenService(MeterRegistry meterRegistry,
+                          @Value("${order.kitchen.enabled:false}") boolean enabled,
+                          @Value("${order.kitchen.stations:4}") int stations,
+                          @Value("${order.kitchen.max-batch-units:20}") int maxBatchUnits,
+                          @Value("${order.kitchen.batch-window:30s}") Duration batchWindow,
+                          @Value("${order.kitchen.target-time:15m}") Duration targetTime) {
+        this.enabled = enabled;
+        this.targetTime = targetTime;
+        this.scheduler = new KitchenScheduler(stations, maxBatchUnits, batchWindow, meterRegistry,
+                System::currentTimeMillis);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Siparişi hazırlık kuyruğuna alır. Öncelik, siparişin verildiği andan itibaren {@code target-time} sonrasıdır;
+     * kuyrukta uzun bekleyen siparişler böylece öne geçer.
+     *
+     * @param whenReady tüm kalemler hazır olduğunda, partiyi tamamlayan thread'de çağrılır
+     */
+    public void submit(String orderId, List<StockRequest.StockItemDto> items, Instant orderedAt, Runnable whenReady) {
+        onReady.put(orderId, whenReady);
+        try {
+            scheduler.submit(orderId, items, orderedAt.plus(targetTime).toEpochMilli());
+        } catch (RuntimeException e) {
+            onReady.remove(orderId);
+            throw e;
+        }
+        logger.debug("Order {} queued for preparation", orderId);
+        dispatcher.execute(this::dispatch);
+    }
+
+    public List<PreparationBatch> activeBatches() {
+        return scheduler.activeBatches();
+    }
+
+    /**
+     * @return bu partiyle hazır olan sipariş ID'leri
+     */
+    public List<String> complete(String batchId) {
+        List<String> ready = scheduler.complete(batchId);
+        if (ready == null) {
+            throw new KitchenBatchNotFoundException("Hazırlık partisi bulunamadı: " + batchId);
+        }
+        dispatcher.execute(this::dispatch);
+        for (String orderId : ready) {
+            Runnable callback = onReady.remove(orderId);
+            if (callback != null) {
+                callback.run();
+            }
+        }
+        logger.debug("Batch {} completed, {} orders ready", batchId, ready.size());
+        return ready;
+    }
+
+    /**
+     * İptal edilen siparişi mutfaktan çeker; hazır olduğunda callback'i çağrılmaz.
+     */
+    public void cancel(String orderId) {
+        onReady.remove(orderId);
+        if (scheduler.cancel(orderId)) {
+            logger.info("Order {} withdrawn from the kitchen", orderId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        if (scheduler.orderCount() > 0) {
+            logger.warn("Kitchen stopped with {} orders in preparation", scheduler.orderCount());
+        }
+    }
+
+    private void dispatch() {
+        try {
+            for (PreparationBatch batch : scheduler.dispatch()) {
+                logger.info("Preparation batch {} started: product {} x{} for {} orders", batch.id(),
+                        batch.productId(), batch.quantity(), batch.orderIds().size());
+            }
+            scheduleWakeUp(scheduler.nextDispatchAt());
+        } catch (RuntimeException e) {
+            logger.error("Kitchen dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Bekletilen en yakın partinin süresi dolduğunda yeniden atama yapılır
+    private void scheduleWakeUp(long dispatchAt) {
+        if (dispatchAt == Long.MAX_VALUE || dispatchAt == wakeUpAt) {
+            return;
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        wakeUpAt = dispatchAt;
+        wakeUp = dispatcher.schedule(() -> {
+            wakeUpAt = Long.MAX_VALUE;
+            dispatch();
+        }, Math.max(0, dispatchAt - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+}
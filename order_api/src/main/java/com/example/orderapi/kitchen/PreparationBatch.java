@@ -0,0 +1,10 @@
+package com.example.orderapi.kitchen;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Mutfakta hazırlanan tek bir parti: aynı üründen, bir veya daha fazla siparişe ait {@code quantity} adet.
+ */
+public record PreparationBatch(String id, int productId, int quantity, List<String> orderIds, Instant startedAt) {
+}
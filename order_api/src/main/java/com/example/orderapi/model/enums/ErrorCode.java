@@ -10,6 +10,12 @@ public enum ErrorCode {
     INVALID_ORDER_STATUS("INVALID_ORDER_STATUS", "Geçersiz sipariş durumu"),
     UNAUTHORIZED("UNAUTHORIZED", "Yetkisiz erişim"),
     FORBIDDEN("FORBIDDEN", "Erişim yasak"),
+    EXPORT_JOB_NOT_FOUND("EXPORT_JOB_NOT_FOUND", "Dışa aktarma işi bulunamadı"),
+    KITCHEN_BATCH_NOT_FOUND("KITCHEN_BATCH_NOT_FOUND", "Hazırlık partisi bulunamadı"),
+    SERVICE_OVERLOADED("SERVICE_OVERLOADED", "Servis yoğun, lütfen daha sonra tekrar deneyin"),
+    DEADLINE_EXCEEDED("DEADLINE_EXCEEDED", "İstek süresi doldu"),
+    ORDER_CONFLICT("ORDER_CONFLICT", "Sipariş eşzamanlı olarak güncellendi, lütfen tekrar deneyin"),
+    PROFILING_CONFLICT("PROFILING_CONFLICT", "Profil kaydı bu işlem için uygun durumda değil"),
     INTERNAL_SERVER_ERROR("INTERNAL_SERVER_ERROR", "Sunucu hatası");
 
     private final String code;
@@ -0,0 +1,27 @@
+package com.example.orderapi.model.enums;
+
+import org.springframework.http.MediaType;
+
+public enum PayloadFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(new MediaType("application", "x-jackson-smile"));
+
+    private final MediaType mediaType;
+
+    PayloadFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static PayloadFormat fromString(String value) {
+        for (PayloadFormat format : PayloadFormat.values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Invalid payload format: " + value);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.orderapi.model.order;
 
 import com.example.orderapi.model.enums.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,7 +10,9 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Document(indexName = "orders")
@@ -34,12 +37,21 @@ public class Order {
     @Field(type = FieldType.Nested)
     private List<OrderItem> items;
 
-    @Field(type = FieldType.Double)
-    private Double totalAmount;
+    // scaled_float, değeri kuruş cinsinden long olarak indeksler; toplamlar Elasticsearch'te de tam hesaplanır
+    @Field(type = FieldType.Scaled_Float, scalingFactor = 100)
+    private BigDecimal totalAmount;
 
     @Field(type = FieldType.Integer)
     private int deliveryId;
 
     @Field(type = FieldType.Keyword)
     private String orderDate;
+
+    // Stok restaurant-api'de düşüldü mü; iptal edilen siparişte stoğun geri eklenip eklenmeyeceğini belirler
+    @Field(type = FieldType.Boolean)
+    private boolean stockReduced;
+
+    // Dokümana yazılmaz; Elasticsearch okurken doldurur, doluysa kayıt yalnızca bu sürüm hâlâ güncelse yazılır
+    @JsonIgnore
+    private SeqNoPrimaryTerm seqNoPrimaryTerm;
 }
@@ -7,6 +7,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
 
+import java.math.BigDecimal;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -22,15 +24,6 @@ public class OrderItem {
     @Field(type = FieldType.Integer)
     private Integer quantity;
 
-    @Field(type = FieldType.Double)
-    private Double price;
-
-    public OrderItemDto toDto() {
-        return OrderItemDto.builder()
-                .name(productName)
-                .productId(productId)
-                .quantity(quantity)
-                .price(price)
-                .build();
-    }
+    @Field(type = FieldType.Scaled_Float, scalingFactor = 100)
+    private BigDecimal price;
 }
@@ -0,0 +1,19 @@
+package com.example.orderapi.model.request;
+
+import com.example.orderapi.model.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderStatusChangeRequest {
+
+    private OrderStatus from;
+
+    private OrderStatus to;
+
+    // Siparişlerde ayrı bir bölge alanı olmadığı için adres üzerinde eşleşir (ör. "Kadıköy")
+    private String zone;
+}
@@ -1,62 +1,41 @@
 package com.example.orderapi.model.request;
 
-import com.example.orderapi.model.order.OrderItemDto;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
-import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
+/**
+ * delivery-api'ye gönderilen teslimat isteği; {@link com.example.orderapi.domain.OrderDomain#toDeliveryRequest}
+ * ile doğrudan domain'den üretilir.
+ */
+@Value
 public class DeliveryRequest {
 
     @JsonProperty("orderId")
-    private String orderId;
+    String orderId;
 
     @JsonProperty("customerId")
-    private int customerId;
+    int customerId;
 
     @JsonProperty("address")
-    private String address;
+    String address;
 
     @JsonProperty("items")
-    private List<DeliveryItemDto> items;
+    List<DeliveryItemDto> items;
 
     @JsonProperty("requestTime")
-    private String requestTime;
-
-    public DeliveryRequest(String orderId, int customerId, String address, List<OrderItemDto> orderItems) {
-        this.orderId = orderId;
-        this.customerId = customerId;
-        this.address = address;
-        this.requestTime = LocalDateTime.now().toString();
-
-        if (orderItems != null) {
-            this.items = orderItems.stream()
-                    .map(item -> new DeliveryItemDto(
-                            item.getProductId(),
-                            item.getName(),
-                            item.getQuantity()))
-                    .collect(Collectors.toList());
-        }
-    }
+    String requestTime;
 
-    @Data
-    @NoArgsConstructor
-    @AllArgsConstructor
+    @Value
     public static class DeliveryItemDto {
         @JsonProperty("productId")
-        private int productId;
+        int productId;
 
         @JsonProperty("productName")
-        private String name;
+        String name;
 
         @JsonProperty("quantity")
-        private Integer quantity;
+        int quantity;
     }
 }
@@ -0,0 +1,19 @@
+package com.example.orderapi.model.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderExportRequest {
+
+    // Boşsa en eski siparişten itibaren
+    private YearMonth from;
+
+    // Boşsa en yeni siparişe kadar
+    private YearMonth to;
+}
@@ -1,7 +1,10 @@
 package com.example.orderapi.model.request;
 
+import com.example.orderapi.domain.Money;
 import com.example.orderapi.domain.OrderDomain;
 import com.example.orderapi.domain.OrderItemDomain;
+import com.example.orderapi.domain.PriceBook;
+import com.example.orderapi.exception.OrderProcessingException;
 import com.example.orderapi.model.enums.OrderStatus;
 import com.example.orderapi.model.order.OrderItemDto;
 import lombok.AllArgsConstructor;
@@ -10,8 +13,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Data
 @Builder
@@ -23,25 +27,32 @@ public class OrderRequest {
     private String address;
     private List<OrderItemDto> items;
 
-    public OrderDomain toDomain() {
-        List<OrderItemDomain> domainItems = items.stream()
-                .map(dto -> OrderItemDomain.builder()
-                        .productId(dto.getProductId())
-                        .productName(dto.getName())
-                        .quantity(dto.getQuantity())
-                        .price(dto.getPrice())
-                        .build())
-                .collect(Collectors.toList());
+    // Fiyat ve ürün adı istemciden değil fiyat listesinden alınır; toplam tutar aynı geçişte hesaplanır
+    public OrderDomain toDomain(PriceBook priceBook) {
+        List<OrderItemDomain> domainItems = new ArrayList<>(items.size());
+        long totalAmount = 0;
+        for (int i = 0; i < items.size(); i++) {
+            OrderItemDto dto = items.get(i);
+            int index = priceBook.indexOf(dto.getProductId());
+            if (index < 0) {
+                throw new OrderProcessingException("Ürün bulunamadı: " + dto.getProductId());
+            }
+            if (dto.getQuantity() == null || dto.getQuantity() < 1) {
+                throw new OrderProcessingException("Geçersiz ürün adedi: " + dto.getProductId());
+            }
+            OrderItemDomain item = new OrderItemDomain(
+                    dto.getProductId(), priceBook.nameAt(index), dto.getQuantity(), priceBook.priceAt(index));
+            domainItems.add(item);
+            totalAmount = Money.add(totalAmount, item.getSubTotal());
+        }
 
-        OrderDomain domain = OrderDomain.builder()
+        return OrderDomain.builder()
                 .customerId(customerId)
                 .address(address)
-                .items(domainItems)
+                .items(Collections.unmodifiableList(domainItems))
+                .totalAmount(totalAmount)
                 .status(OrderStatus.PENDING)
                 .orderDate(LocalDateTime.now())
                 .build();
-
-        domain.setTotalAmount(domain.calculateTotalAmount());
-        return domain;
     }
 }
@@ -0,0 +1,40 @@
+package com.example.orderapi.model.request;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderSearchRequest {
+
+    // Adres içinde tam metin arama
+    private String address;
+
+    private List<String> statuses;
+
+    private Integer customerId;
+
+    // Siparişin kalemleri arasında bu ürün bulunmalı
+    private Integer productId;
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    // Boşsa tüm alanlar döner
+    private List<String> fields;
+
+    private Integer size;
+
+    // Önceki sayfanın döndürdüğü nextCursor
+    private String cursor;
+}
@@ -0,0 +1,14 @@
+package com.example.orderapi.model.request;
+
+import com.example.orderapi.model.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusChangeRequest {
+
+    private OrderStatus status;
+}
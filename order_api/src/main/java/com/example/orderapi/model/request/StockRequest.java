@@ -1,9 +1,12 @@
 package com.example.orderapi.model.request;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import lombok.Value;
 
 import java.util.List;
 
@@ -14,12 +17,15 @@ import java.util.List;
 public class StockRequest {
     private List<StockItemDto> items;
 
-    @Setter
-    @Getter
-    @NoArgsConstructor
-    @AllArgsConstructor
+    @Value
     public static class StockItemDto {
-        private Integer productId;
-        private Integer quantity;
+        int productId;
+        int quantity;
+
+        @JsonCreator
+        public StockItemDto(@JsonProperty("productId") int productId, @JsonProperty("quantity") int quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
     }
 }
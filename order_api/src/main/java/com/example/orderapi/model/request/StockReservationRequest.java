@@ -0,0 +1,17 @@
+package com.example.orderapi.model.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequest {
+    private String reservationId;
+    private List<StockRequest.StockItemDto> items;
+}
@@ -0,0 +1,23 @@
+package com.example.orderapi.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderStatusChangeResponse {
+
+    private long matched;
+
+    private long updated;
+
+    // Sorgu ile yazma arasında başka bir yazma tarafından değiştirilip atlanan siparişler
+    private long versionConflicts;
+
+    // Eşleşip durumu artık kaynak durum olmadığı için dokunulmayan siparişler
+    private long noops;
+}
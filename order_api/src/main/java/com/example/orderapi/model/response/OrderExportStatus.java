@@ -0,0 +1,41 @@
+package com.example.orderapi.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderExportStatus {
+
+    private String jobId;
+
+    // RUNNING, COMPLETED, FAILED, INTERRUPTED
+    private String state;
+
+    private String fromMonth;
+
+    private String toMonth;
+
+    private long exported;
+
+    private long total;
+
+    private double documentsPerSecond;
+
+    private String currentMonth;
+
+    private List<String> files;
+
+    private Instant startedAt;
+
+    private String error;
+}
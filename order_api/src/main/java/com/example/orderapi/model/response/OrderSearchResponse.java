@@ -0,0 +1,26 @@
+package com.example.orderapi.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderSearchResponse {
+
+    private long total;
+
+    // Yalnızca istenen alanları içeren sipariş kayıtları
+    private List<Map<String, Object>> orders;
+
+    // Son sayfada null
+    private String nextCursor;
+}
@@ -0,0 +1,30 @@
+package com.example.orderapi.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceListResponse {
+
+    private long version;
+
+    private boolean full;
+
+    private List<ProductPrice> products;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProductPrice {
+        private int id;
+        private String name;
+        private BigDecimal price;
+        private long version;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.orderapi.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProfilingStatus {
+
+    // NONE, RUNNING, STOPPED
+    private String state;
+
+    private Instant startedAt;
+
+    private long durationSeconds;
+
+    private long maxSizeBytes;
+
+    private String file;
+
+    private Long fileSizeBytes;
+}
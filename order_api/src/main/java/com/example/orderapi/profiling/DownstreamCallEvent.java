@@ -0,0 +1,57 @@
+package com.example.orderapi.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.http.HttpRequest;
+
+/**
+ * restaurant-api veya delivery-api'ye yapılan tek bir HTTP çağrısı. Hedge ve format geri dönüşü gibi tekrarlar
+ * ayrı olay olarak kaydedilir.
+ */
+@Name("com.example.orderapi.DownstreamCall")
+@Label("Downstream Call")
+@Category({"Order API", "HTTP"})
+@Description("Downstream servise yapılan HTTP çağrısı")
+@StackTrace(false)
+public class DownstreamCallEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Host")
+    String host;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    @Description("HTTP durum kodu; bağlantı hatasında 0")
+    int status;
+
+    @Label("Request Size")
+    @DataAmount
+    long requestBytes;
+
+    public static DownstreamCallEvent start() {
+        DownstreamCallEvent event = new DownstreamCallEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(HttpRequest request, long requestBytes, int status) {
+        end();
+        if (shouldCommit()) {
+            this.method = request.getMethod().name();
+            this.host = request.getURI().getHost();
+            this.path = request.getURI().getPath();
+            this.requestBytes = requestBytes;
+            this.status = status;
+            commit();
+        }
+    }
+}
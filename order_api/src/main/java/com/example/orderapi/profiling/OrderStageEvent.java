@@ -0,0 +1,71 @@
+package com.example.orderapi.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Sipariş akışındaki bir aşamanın (fiyatlandırma, stok kontrolü, kayıt, teslimat...) süresi.
+ * Kayıt kapalıyken {@link #shouldCommit()} false döner ve alanlar hiç doldurulmaz.
+ */
+@Name("com.example.orderapi.OrderStage")
+@Label("Order Stage")
+@Category({"Order API", "Orders"})
+@Description("Sipariş işleme aşaması")
+@StackTrace(false)
+public class OrderStageEvent extends Event {
+
+    public static final String PRICING = "pricing";
+    public static final String STOCK_CHECK = "stock-check";
+    public static final String STOCK_REDUCE = "stock-reduce";
+    public static final String SAVE = "save";
+    public static final String DELIVERY = "delivery";
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Order ID")
+    String orderId;
+
+    @Label("Item Count")
+    int itemCount;
+
+    @Label("Success")
+    boolean success;
+
+    public static OrderStageEvent start() {
+        OrderStageEvent event = new OrderStageEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String stage, int itemCount, boolean success) {
+        finish(stage, (String) null, itemCount, success);
+    }
+
+    public void finish(String stage, String orderId, int itemCount, boolean success) {
+        end();
+        if (shouldCommit()) {
+            commit(stage, orderId, itemCount, success);
+        }
+    }
+
+    // ID yalnızca olay kaydedilecekse metne çevrilir
+    public void finish(String stage, Long orderId, int itemCount, boolean success) {
+        end();
+        if (shouldCommit()) {
+            commit(stage, orderId != null ? orderId.toString() : null, itemCount, success);
+        }
+    }
+
+    private void commit(String stage, String orderId, int itemCount, boolean success) {
+        this.stage = stage;
+        this.orderId = orderId;
+        this.itemCount = itemCount;
+        this.success = success;
+        commit();
+    }
+}
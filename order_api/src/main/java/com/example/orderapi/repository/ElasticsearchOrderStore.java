@@ -0,0 +1,73 @@
+package com.example.orderapi.repository;
+
+import com.example.orderapi.exception.OrderVersionConflictException;
+import com.example.orderapi.model.order.Order;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.elasticsearch.VersionConflictException;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@Profile("!embedded-store")
+public class ElasticsearchOrderStore implements OrderStore {
+
+    private final OrderRepository orderRepository;
+
+    public ElasticsearchOrderStore(@Lazy OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    @Override
+    public Order save(Order order) {
+        return orderRepository.save(order);
+    }
+
+    // Gerçek zamanlı GET; indeks yenilenmemiş olsa da son yazılan sürümü döner
+    @Override
+    public Optional<Order> findById(String id) {
+        return orderRepository.findById(id);
+    }
+
+    // Gerçek zamanlı GET _seq_no ve _primary_term'ü de döner; Order.seqNoPrimaryTerm alanına okunur
+    @Override
+    public Optional<VersionedOrder> findVersioned(String id) {
+        return orderRepository.findById(id).map(ElasticsearchOrderStore::versioned);
+    }
+
+    // Alan dolu olduğunda index isteği if_seq_no/if_primary_term ile gider; sürüm değiştiyse Elasticsearch 409 döner
+    @Override
+    public VersionedOrder saveIfUnchanged(Order order, long seqNo, long primaryTerm) {
+        order.setSeqNoPrimaryTerm(new SeqNoPrimaryTerm(seqNo, primaryTerm));
+        try {
+            return versioned(orderRepository.save(order));
+        } catch (OptimisticLockingFailureException | VersionConflictException e) {
+            throw new OrderVersionConflictException("Order " + order.getId() + " was modified concurrently", e);
+        }
+    }
+
+    @Override
+    public List<Order> findAll() {
+        List<Order> orders = new ArrayList<>();
+        orderRepository.findAll().forEach(orders::add);
+        return orders;
+    }
+
+    @Override
+    public List<Order> findByCustomerId(int customerId) {
+        return orderRepository.findByCustomerId(customerId);
+    }
+
+    private static VersionedOrder versioned(Order order) {
+        SeqNoPrimaryTerm version = order.getSeqNoPrimaryTerm();
+        if (version == null) {
+            throw new IllegalStateException("Elasticsearch did not return a version for order " + order.getId());
+        }
+        return new VersionedOrder(order, version.sequenceNumber(), version.primaryTerm());
+    }
+}
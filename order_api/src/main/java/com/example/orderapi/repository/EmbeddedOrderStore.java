@@ -0,0 +1,443 @@
+package com.example.orderapi.repository;
+
+import com.example.orderapi.exception.OrderVersionConflictException;
+import com.example.orderapi.model.order.Order;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Elasticsearch gerektirmeyen, yerel diskte tutulan sipariş deposu. Siparişler Smile olarak, sabit boyutlu ve
+ * belleğe eşlenmiş (memory-mapped) log segmentlerine eklenir; her kayıt {@code [uzunluk][crc32][gövde]}
+ * biçimindedir ve bir siparişin son kaydı geçerlidir. ID'den konuma birincil indeks ve customerId ikincil indeksi
+ * bellekte tutulur, açılışta log baştan okunarak kurulur. Yarım kalmış son kayıt CRC ile tespit edilip atlanır;
+ * dolmuş segmentlerde bozuk kayıt varsa depo açılmaz (bkz. {@link #replay}).
+ * Durum güncellemeleri yeni kayıt olarak eklendiği için log büyür; açılışta ölü kayıtlar canlılardan fazlaysa
+ * canlı kayıtlar yeni segmentlere kopyalanıp eski segmentler silinir.
+ * <p>
+ * Koşullu yazma için her kayda artan bir sıra numarası verilir. Numaralar açılışta log okunurken yeniden
+ * verildiği için her açılış yeni bir dönem (primary term) başlatır; önceki açılışta okunmuş bir sürüm eşleşmez.
+ */
+@Component
+@Profile("embedded-store")
+public class EmbeddedOrderStore implements OrderStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedOrderStore.class);
+    private static final String SEGMENT_PREFIX = "orders-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+    private static final AtomicLong TERMS = new AtomicLong();
+
+    private final ObjectMapper mapper = new ObjectMapper(new SmileFactory())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean sync;
+    private final boolean skipCorruptRecords;
+
+    private final Map<Integer, Segment> segments = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<String>> byCustomer = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong liveBytes = new AtomicLong();
+    private final AtomicLong corruptRecords = new AtomicLong();
+
+    // Açılış zamanından türetilir; aynı süreçte art arda açılışlarda da artar
+    private final long primaryTerm = TERMS.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+
+    // Yazmalar mmap'e kopyalama ve sync açıksa force yaptığı için monitor yerine kilit kullanılır;
+    // virtual thread disk beklerken taşıyıcısını sabitlemez
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Yalnızca açılışta ve save içinde, kilit altında değişir
+    private Segment active;
+    private long nextSeqNo;
+
+    public EmbeddedOrderStore(@Value("${order.store.embedded.directory:./data/orders}") String directory,
+                              @Value("${order.store.embedded.segment-size:64MB}") DataSize segmentSize,
+                              @Value("${order.store.embedded.sync:false}") boolean sync,
+                              @Value("${order.store.embedded.skip-corrupt-records:false}") boolean skipCorruptRecords,
+                              MeterRegistry meterRegistry) {
+        if (segmentSize.toKilobytes() < 1 || segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size must be between 1KB and 2GB: " + segmentSize);
+        }
+        this.directory = Path.of(directory);
+        this.segmentSize = (int) segmentSize.toBytes();
+        this.sync = sync;
+        this.skipCorruptRecords = skipCorruptRecords;
+        try {
+            open();
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Order store could not be opened: " + directory, e);
+        }
+
+        Gauge.builder("order.store.embedded.orders", entries, Map::size).register(meterRegistry);
+        Gauge.builder("order.store.embedded.bytes", totalBytes, AtomicLong::get)
+                .baseUnit("bytes").tag("kind", "total").register(meterRegistry);
+        Gauge.builder("order.store.embedded.bytes", liveBytes, AtomicLong::get)
+                .baseUnit("bytes").tag("kind", "live").register(meterRegistry);
+        Gauge.builder("order.store.embedded.corrupt.records", corruptRecords, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Order save(Order order) {
+        writeLock.lock();
+        try {
+            write(order);
+            return order;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<VersionedOrder> findVersioned(String id) {
+        Entry entry = entries.get(id);
+        return entry != null ? Optional.of(new VersionedOrder(read(entry), entry.seqNo(), primaryTerm))
+                : Optional.empty();
+    }
+
+    @Override
+    public VersionedOrder saveIfUnchanged(Order order, long seqNo, long primaryTerm) {
+        writeLock.lock();
+        try {
+            Entry current = order.getId() != null ? entries.get(order.getId()) : null;
+            if (current == null || current.seqNo() != seqNo || this.primaryTerm != primaryTerm) {
+                throw new OrderVersionConflictException("Order " + order.getId() + " was modified concurrently");
+            }
+            return new VersionedOrder(order, write(order).seqNo(), primaryTerm);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Entry write(Order order) {
+        if (order.getId() == null) {
+            throw new IllegalArgumentException("Order id is required by the embedded store");
+        }
+        byte[] payload;
+        try {
+            payload = mapper.writeValueAsBytes(order);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Order " + order.getId() + " could not be serialized", e);
+        }
+        try {
+            return index(order.getId(), order.getCustomerId(), append(payload));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Order " + order.getId() + " could not be written", e);
+        }
+    }
+
+    @Override
+    public Optional<Order> findById(String id) {
+        Entry entry = entries.get(id);
+        return entry != null ? Optional.of(read(entry)) : Optional.empty();
+    }
+
+    @Override
+    public List<Order> findAll() {
+        List<Order> orders = new ArrayList<>(entries.size());
+        entries.values().forEach(entry -> orders.add(read(entry)));
+        return orders;
+    }
+
+    @Override
+    public List<Order> findByCustomerId(int customerId) {
+        Set<String> ids = byCustomer.getOrDefault(customerId, Set.of());
+        List<Order> orders = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                orders.add(read(entry));
+            }
+        }
+        return orders;
+    }
+
+    @PreDestroy
+    public void close() {
+        writeLock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                try {
+                    segment.close();
+                } catch (IOException e) {
+                    logger.warn("Order store segment {} could not be closed: {}", segment.path, e.getMessage());
+                }
+            }
+            segments.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        TreeMap<Integer, Path> files = new TreeMap<>();
+        try (Stream<Path> stream = Files.list(directory)) {
+            stream.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    files.put(Integer.parseInt(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())), path);
+                }
+            });
+        }
+
+        Map<Integer, Integer> validEnds = new TreeMap<>();
+        for (Map.Entry<Integer, Path> file : files.entrySet()) {
+            validEnds.put(file.getKey(), replay(file.getKey(), file.getValue(), file.getKey().equals(files.lastKey())));
+        }
+
+        if (files.size() > 1 && liveBytes.get() * 2 < totalBytes.get()) {
+            compact(files);
+            return;
+        }
+        for (Map.Entry<Integer, Path> file : files.entrySet()) {
+            segments.put(file.getKey(), Segment.map(file.getKey(), file.getValue(), segmentSize,
+                    validEnds.get(file.getKey())));
+        }
+        active = files.isEmpty() ? newSegment(0) : segments.get(files.lastKey());
+        logger.info("Order store opened: {} orders in {} segments", entries.size(), segments.size());
+        if (corruptRecords.get() > 0) {
+            logger.error("Order store skipped {} corrupt records; orders they belonged to may be missing "
+                    + "or show an older version", corruptRecords.get());
+        }
+    }
+
+    /**
+     * Segmenti belleğe eşlemeden okur; eşlenmemiş dosyalar sıkıştırmadan sonra her işletim sisteminde silinebilir.
+     * Yarım kalmış kayıt yalnızca yazılan son segmentte olabilir, orada bozuk kayıttan sonrası atılır. Dolmuş bir
+     * segmentteki bozuk kayıt ise depoyu açtırmaz: gövdesi okunamadığı için hangi siparişe ait olduğu bilinmez ve
+     * atlanırsa o siparişin daha eski bir sürümü sessizce geçerli olabilir. {@code skip-corrupt-records} açıkken
+     * CRC'si tutmayan kayıt atlanır ve {@code order.store.embedded.corrupt.records} metriğinde sayılır; uzunluğu
+     * bozuksa sonraki kayıtlar bulunamayacağı için depo yine açılmaz.
+     */
+    private int replay(int number, Path path, boolean last) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        int offset = 0;
+        while (offset + HEADER_BYTES <= buffer.limit()) {
+            int length = buffer.getInt(offset);
+            if (length == 0 && (last || isZero(buffer, offset))) {
+                break;
+            }
+            if (length <= 0 || offset + HEADER_BYTES + length > buffer.limit()) {
+                if (last) {
+                    logger.warn("Order store segment {} has a torn record at offset {}, ignoring the rest", path, offset);
+                    break;
+                }
+                throw new IOException("Order store segment " + path + " is corrupt at offset " + offset);
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + HEADER_BYTES, payload);
+            if (crc(payload) != buffer.getInt(offset + 4)) {
+                if (last) {
+                    logger.warn("Order store segment {} has a torn record at offset {}, ignoring the rest", path, offset);
+                    break;
+                }
+                if (!skipCorruptRecords) {
+                    throw new IOException("Order store segment " + path + " has a corrupt record at offset " + offset);
+                }
+                logger.error("Order store segment {} has a corrupt record at offset {}, skipping it", path, offset);
+                corruptRecords.incrementAndGet();
+                offset += HEADER_BYTES + length;
+                continue;
+            }
+            Order order = mapper.readValue(payload, Order.class);
+            index(order.getId(), order.getCustomerId(), new Entry(number, offset, length));
+            offset += HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    // Dolmuş segmentin sonundaki kullanılmayan alan; segment sonraki kayıt sığmadığı için kapatılmıştır
+    private static boolean isZero(ByteBuffer buffer, int from) {
+        for (int i = from; i < buffer.limit(); i++) {
+            if (buffer.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void compact(TreeMap<Integer, Path> files) throws IOException {
+        long before = totalBytes.get();
+        List<Map.Entry<String, Entry>> live = new ArrayList<>(entries.entrySet());
+        totalBytes.set(0);
+        liveBytes.set(0);
+        active = newSegment(files.lastKey() + 1);
+
+        // Kopyalama yarıda kalırsa eski segmentler durduğu için bir sonraki açılışta aynı sonuç elde edilir
+        for (Map.Entry<Integer, Path> file : files.entrySet()) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.getValue()));
+            for (Map.Entry<String, Entry> entry : live) {
+                Entry location = entry.getValue();
+                if (location.segment() == file.getKey()) {
+                    byte[] payload = new byte[location.length()];
+                    buffer.get(location.offset() + HEADER_BYTES, payload);
+                    Entry moved = append(payload);
+                    entries.put(entry.getKey(), moved.indexed(location.customerId(), location.seqNo()));
+                    liveBytes.addAndGet(HEADER_BYTES + moved.length());
+                }
+            }
+        }
+        active.force();
+        for (Path path : files.values()) {
+            Files.delete(path);
+        }
+        logger.info("Order store compacted: {} orders, {} -> {} bytes", entries.size(), before, totalBytes.get());
+    }
+
+    private Entry append(byte[] payload) throws IOException {
+        int recordSize = HEADER_BYTES + payload.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Order record of " + recordSize + " bytes exceeds the segment size");
+        }
+        if (active.position + recordSize > segmentSize) {
+            active.force();
+            active = newSegment(active.number + 1);
+        }
+        int offset = active.append(payload, crc(payload));
+        if (sync) {
+            active.force();
+        }
+        totalBytes.addAndGet(recordSize);
+        return new Entry(active.number, offset, payload.length);
+    }
+
+    private Entry index(String id, int customerId, Entry entry) {
+        Entry indexed = entry.indexed(customerId, nextSeqNo++);
+        Entry previous = entries.put(id, indexed);
+        if (previous != null) {
+            liveBytes.addAndGet(-(HEADER_BYTES + previous.length()));
+            Set<String> previousIds = byCustomer.get(previous.customerId());
+            if (previous.customerId() != customerId && previousIds != null) {
+                previousIds.remove(id);
+            }
+        }
+        liveBytes.addAndGet(HEADER_BYTES + entry.length());
+        byCustomer.computeIfAbsent(customerId, ignored -> ConcurrentHashMap.newKeySet()).add(id);
+        if (active == null) {
+            // Açılışta okunan kayıtlar toplam log boyutuna da eklenir
+            totalBytes.addAndGet(HEADER_BYTES + entry.length());
+        }
+        return indexed;
+    }
+
+    private Order read(Entry entry) {
+        byte[] payload = segments.get(entry.segment()).read(entry.offset(), entry.length());
+        try {
+            return mapper.readValue(payload, Order.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Order record could not be read", e);
+        }
+    }
+
+    private Segment newSegment(int number) throws IOException {
+        Path path = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+        Segment segment = Segment.map(number, path, segmentSize, 0);
+        segments.put(number, segment);
+        return segment;
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private record Entry(int segment, int offset, int length, int customerId, long seqNo) {
+
+        Entry(int segment, int offset, int length) {
+            this(segment, offset, length, 0, 0);
+        }
+
+        Entry indexed(int customerId, long seqNo) {
+            return new Entry(segment, offset, length, customerId, seqNo);
+        }
+    }
+
+    private static final class Segment {
+
+        private final int number;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int position;
+
+        private Segment(int number, Path path, FileChannel channel, MappedByteBuffer buffer, int position) {
+            this.number = number;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        static Segment map(int number, Path path, int size, int validEnd) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            // Yarım kalmış kaydın artıkları sonraki eklemelerden sonra geçerli kayıt gibi okunmasın diye silinir
+            if (validEnd + HEADER_BYTES <= size && buffer.getInt(validEnd) != 0) {
+                buffer.put(validEnd, new byte[size - validEnd]);
+            }
+            return new Segment(number, path, channel, buffer, validEnd);
+        }
+
+        // Okuyucular konumu indeksten alır; indeks güncellemesi yazmadan sonra yapıldığı için yazılan baytları görür.
+        // Uzunluk önce yazılır, böylece yarıda kalan bir kayıt açılışta sıfır olmayan uzunluğundan tanınır
+        int append(byte[] payload, int crc) {
+            int offset = position;
+            buffer.putInt(offset, payload.length);
+            buffer.putInt(offset + 4, crc);
+            buffer.put(offset + HEADER_BYTES, payload);
+            position = offset + HEADER_BYTES + payload.length;
+            return offset;
+        }
+
+        byte[] read(int offset, int length) {
+            byte[] payload = new byte[length];
+            buffer.get(offset + HEADER_BYTES, payload);
+            return payload;
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
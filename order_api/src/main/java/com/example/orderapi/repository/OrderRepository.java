@@ -1,11 +1,14 @@
 package com.example.orderapi.repository;
 
 import com.example.orderapi.model.order.Order;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
+// Repository ilk kullanımda oluşturulur; açılışta indeks kontrolü için Elasticsearch'e bağlanılmaz
+@Lazy
 @Repository
 public interface OrderRepository extends ElasticsearchRepository<Order, String> {
 
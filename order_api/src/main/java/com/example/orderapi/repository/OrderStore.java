@@ -0,0 +1,32 @@
+package com.example.orderapi.repository;
+
+import com.example.orderapi.model.order.Order;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sipariş kayıtlarının saklandığı yer. Varsayılan uygulama Elasticsearch'tir ({@link ElasticsearchOrderStore});
+ * {@code embedded-store} profili ile siparişler yerel diskte tutulur ({@link EmbeddedOrderStore}).
+ * Arama ve dışa aktarma Elasticsearch sorgularına dayandığı için yalnızca Elasticsearch ile çalışır.
+ */
+public interface OrderStore {
+
+    Order save(Order order);
+
+    Optional<Order> findById(String id);
+
+    Optional<VersionedOrder> findVersioned(String id);
+
+    /**
+     * Siparişi yalnızca depodaki kayıt hâlâ verilen sürümdeyse yazar; arada başka bir yazma olduysa
+     * {@link com.example.orderapi.exception.OrderVersionConflictException} fırlatır.
+     *
+     * @return yazılan sipariş ve yeni sürümü
+     */
+    VersionedOrder saveIfUnchanged(Order order, long seqNo, long primaryTerm);
+
+    List<Order> findAll();
+
+    List<Order> findByCustomerId(int customerId);
+}
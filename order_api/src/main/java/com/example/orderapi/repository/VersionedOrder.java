@@ -0,0 +1,10 @@
+package com.example.orderapi.repository;
+
+import com.example.orderapi.model.order.Order;
+
+/**
+ * Sipariş ve okunduğu andaki sürümü. Sürüm Elasticsearch'in {@code _seq_no}/{@code _primary_term} çiftidir;
+ * {@link OrderStore#saveIfUnchanged} yalnızca kayıt hâlâ bu sürümdeyse yazar.
+ */
+public record VersionedOrder(Order order, long seqNo, long primaryTerm) {
+}
@@ -0,0 +1,110 @@
+package com.example.orderapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gözlenen gecikmeye göre eşzamanlı istek sınırını ayarlayan gradient tabanlı limiter.
+ * Kısa vadeli gecikme uzun vadeli ortalamanın üzerine çıktıkça sınır küçülür, gecikme sabit kaldıkça
+ * sqrt(limit) kadar kuyruk payı ile büyür.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double longWindowFactor;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejectedCounter;
+
+    private volatile double limit;
+    // Yalnızca onSample içinde, kilit altında güncellenir
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${order.concurrency-limit.initial-limit:20}") int initialLimit,
+                                      @Value("${order.concurrency-limit.min-limit:4}") int minLimit,
+                                      @Value("${order.concurrency-limit.max-limit:150}") int maxLimit,
+                                      @Value("${order.concurrency-limit.smoothing:0.2}") double smoothing,
+                                      @Value("${order.concurrency-limit.rtt-tolerance:1.5}") double rttTolerance,
+                                      @Value("${order.concurrency-limit.long-window:600}") int longWindow) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limit bounds must satisfy 1 <= min-limit <= max-limit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.longWindowFactor = 2.0 / (longWindow + 1);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        Gauge.builder("order.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("POST /api/orders için güncel eşzamanlılık sınırı")
+                .register(meterRegistry);
+        Gauge.builder("order.concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("Şu an işlenen sipariş isteği sayısı")
+                .register(meterRegistry);
+        this.rejectedCounter = meterRegistry.counter("order.concurrency.rejected");
+    }
+
+    /**
+     * Sınır doluysa hemen false döner; true dönerse istek bitince {@link #release(long)} çağrılmalıdır.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejectedCounter.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        onSample(rttNanos, current);
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtCompletion) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        double shortRtt = rttNanos;
+        longRttNanos = longRttNanos == 0 ? shortRtt : longRttNanos + (shortRtt - longRttNanos) * longWindowFactor;
+
+        // Uzun süreli yüksek gecikmeden sonra taban değerin hızlı toparlanması için
+        if (longRttNanos / shortRtt > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // Sınırın yarısı bile kullanılmıyorsa gecikme sınır hakkında bilgi vermez
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRtt));
+        double queueSize = Math.sqrt(limit);
+        double newLimit = limit * gradient + queueSize;
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.orderapi.service;
+
+import java.time.Duration;
+
+/**
+ * Bir isteğin zaman bütçesi. Gelen sipariş isteğinde oluşturulup işleyen thread'e bağlanır; downstream çağrılar
+ * kalan süreyi {@link #HEADER} başlığında taşır ve zaman aşımlarını buna göre kısaltır. Süre monotonik saatle
+ * ölçülür, başlıkta mutlak zaman yerine kalan milisaniye gönderildiği için sunucular arası saat farkı etkilemez.
+ */
+public final class Deadline {
+
+    public static final String HEADER = "X-Deadline-Remaining-Ms";
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * @return thread'e bağlı bütçe, yoksa null
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Kalan süre; bütçe dolduysa sıfır veya negatif.
+     */
+    public long remainingMillis() {
+        return Math.floorDiv(expiresAtNanos - System.nanoTime(), 1_000_000L);
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Bütçeyi mevcut thread'e bağlar; kapatıldığında önceki bütçe geri yüklenir.
+     */
+    public Scope bind() {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> restore(previous);
+    }
+
+    /**
+     * Mevcut thread'deki bütçeyi kaldırır; kapatıldığında önceki bütçe geri yüklenir. Bütçeden bağımsız çalışması
+     * gereken iş, bütçesi bağlı bir thread'de (örneğin havuz dolduğunda çağıranın thread'inde) çalışabiliyorsa kullanılır.
+     */
+    public static Scope unbind() {
+        Deadline previous = CURRENT.get();
+        CURRENT.remove();
+        return () -> restore(previous);
+    }
+
+    private static void restore(Deadline previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[remaining=" + remainingMillis() + "ms]";
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.orderapi.service;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.example.orderapi.domain.OrderDomain;
+import com.example.orderapi.exception.InvalidOrderStatusException;
+import com.example.orderapi.model.enums.OrderStatus;
+import com.example.orderapi.model.order.Order;
+import com.example.orderapi.model.request.BulkOrderStatusChangeRequest;
+import com.example.orderapi.model.response.BulkOrderStatusChangeResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.ByQueryResponse;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * Bir bölgedeki siparişleri tek istekte bir durumdan diğerine taşır (ör. READY_FOR_DELIVERY -> OUT_FOR_DELIVERY).
+ * Siparişler uygulamaya okunmaz; Elasticsearch update-by-query ile her dokümana script uygulanır. Script durumu
+ * yeniden kontrol eder, update-by-query da dokümanı okuduğu sürümle koşullu yazar; arada değişen siparişler
+ * çakışma olarak atlanır ve sayılır. Stok geri eklenmesi gereken iptal toplu yapılamaz. Güncellenen siparişler
+ * okunmadığı için {@link com.example.orderapi.event.OrderStatusChangedEvent} yayınlanmaz; SSE abonelerine toplu
+ * geçişler bildirilmez.
+ */
+@Service
+public class OrderBulkStatusService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderBulkStatusService.class);
+
+    private static final String SCRIPT = """
+            if (ctx._source.status == params.from) {
+              ctx._source.status = params.to;
+            } else {
+              ctx.op = 'noop';
+            }""";
+
+    private final ElasticsearchOperations operations;
+    private final RecentOrderCache recentOrders;
+
+    public OrderBulkStatusService(ElasticsearchOperations operations, RecentOrderCache recentOrders) {
+        this.operations = operations;
+        this.recentOrders = recentOrders;
+    }
+
+    public BulkOrderStatusChangeResponse changeStatus(BulkOrderStatusChangeRequest request) {
+        OrderStatus from = request.getFrom();
+        OrderStatus to = request.getTo();
+        if (from == null || to == null) {
+            throw new InvalidOrderStatusException("Kaynak ve hedef durum belirtilmelidir");
+        }
+        if (request.getZone() == null || request.getZone().isBlank()) {
+            throw new InvalidOrderStatusException("Toplu durum değişikliği için bölge belirtilmelidir");
+        }
+        if (to == OrderStatus.CANCELLED) {
+            throw new InvalidOrderStatusException("İptal stok iadesi gerektirdiği için toplu yapılamaz");
+        }
+        if (!OrderDomain.builder().status(from).build().canBeMovedManuallyTo(to)) {
+            throw new InvalidOrderStatusException("Geçersiz durum geçişi: " + from + " -> " + to);
+        }
+
+        Query query = Query.of(q -> q.bool(b -> b
+                .filter(f -> f.term(t -> t.field("status").value(from.name())))
+                .must(m -> m.match(t -> t.field("address").query(request.getZone()).operator(Operator.And)))));
+        UpdateQuery update = UpdateQuery.builder(NativeQuery.builder().withQuery(query).build())
+                .withScript(SCRIPT)
+                .withLang("painless")
+                .withParams(Map.of("from", from.name(), "to", to.name()))
+                .withAbortOnVersionConflict(false)
+                .build();
+
+        // update-by-query aramayla eşleştirir; son yazılan siparişlerin de görünmesi için önce indeks yenilenir
+        operations.indexOps(Order.class).refresh();
+        ByQueryResponse response = operations.updateByQuery(update, IndexCoordinates.of("orders"));
+        // Güncellenen ID'ler dönmediği için bu instance'ın önbelleğinde eski durumla kalmamaları için boşaltılır
+        recentOrders.clear();
+
+        logger.info("Bulk status change {} -> {} in '{}': {} matched, {} updated, {} conflicts, {} noops",
+                from, to, request.getZone(), response.getTotal(), response.getUpdated(),
+                response.getVersionConflicts(), response.getNoops());
+        return BulkOrderStatusChangeResponse.builder()
+                .matched(response.getTotal())
+                .updated(response.getUpdated())
+                .versionConflicts(response.getVersionConflicts())
+                .noops(response.getNoops())
+                .build();
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.orderapi.service;
+
+import com.example.orderapi.event.OrderStatusChangedEvent;
+import com.example.orderapi.event.OrderStatusStreamEvent;
+import com.example.orderapi.exception.OrderNotFoundException;
+import com.example.orderapi.model.order.Order;
+import com.example.orderapi.repository.OrderStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Sipariş durum değişikliklerini SSE aboneliklerine dağıtır. Abonelik kaydı, tekrar oynatma (Last-Event-ID),
+ * canlı dağıtım ve heartbeat tek bir dispatcher thread üzerinde sıralı çalışır; bağlantı başına thread tutulmaz.
+ * <p>
+ * Dispatcher olayları yalnızca abonelerin sınırlı tamponlarına ekler, ağa yazmaz. Her tampon, içinde olay varken
+ * kendine ait bir thread ile sırayla boşaltılır; okumayı bırakan bir istemcinin takılan yazması yalnızca kendi
+ * thread'ini tutar, diğer abonelere dağıtımı bekletmez. Tamponu dolan abone bağlantısı kapatılarak düşürülür, istemci Last-Event-ID ile yeniden
+ * bağlanıp kaçırdığı olayları alabilir.
+ */
+@Service
+public class OrderEventStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderEventStreamService.class);
+    private static final String EVENT_NAME = "order-status";
+
+    private final OrderStore orderStore;
+    private final RecentOrderCache recentOrders;
+    private final ScheduledExecutorService dispatcher;
+    private final SimpleAsyncTaskExecutor sender;
+    private final Map<String, Set<Subscriber>> orderSubscribers = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Subscriber>> customerSubscribers = new ConcurrentHashMap<>();
+    private final long emitterTimeoutMillis;
+    private final int subscriberBufferSize;
+    private final Counter droppedSubscribers;
+
+    // Aşağıdaki alanlara yalnızca dispatcher thread erişir
+    private final OrderStatusStreamEvent[] replayBuffer;
+    private int replayNext;
+    private long nextEventId = System.currentTimeMillis();
+
+    private volatile long lastDispatchedEventId = nextEventId - 1;
+
+    public OrderEventStreamService(OrderStore orderStore, RecentOrderCache recentOrders,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${order.events.emitter-timeout:30m}") Duration emitterTimeout,
+                                   @Value("${order.events.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                   @Value("${order.events.replay-buffer-size:10000}") int replayBufferSize,
+                                   @Value("${order.events.subscriber-buffer-size:256}") int subscriberBufferSize,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.orderStore = orderStore;
+        this.recentOrders = recentOrders;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.replayBuffer = new OrderStatusStreamEvent[replayBufferSize];
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-event-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher.scheduleAtFixedRate(this::sendHeartbeats,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        // Her boşaltma kendi thread'inde çalışır; yazması takılan bir abone paylaşılan bir thread'i tutmaz.
+        // Thread yalnızca tamponda olay varken yaşar; virtual thread modunda bu thread'ler virtual thread'dir
+        this.sender = new SimpleAsyncTaskExecutor("order-event-sender-");
+        this.sender.setDaemon(true);
+        this.sender.setVirtualThreads(virtualThreads);
+
+        this.droppedSubscribers = meterRegistry.counter("order.events.subscribers.dropped");
+        Gauge.builder("order.events.subscribers", this, OrderEventStreamService::subscriberCount)
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        dispatcher.execute(() -> dispatch(event));
+    }
+
+    public SseEmitter subscribeToOrder(String orderId, Long lastEventId) {
+        long resumeAfter = lastEventId != null ? lastEventId : lastDispatchedEventId;
+        Order snapshot = null;
+        if (lastEventId == null) {
+            snapshot = Optional.ofNullable(recentOrders.get(orderId))
+                    .or(() -> orderStore.findById(orderId))
+                    .orElseThrow(() -> new OrderNotFoundException("Sipariş bulunamadı: " + orderId));
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Order initialState = snapshot;
+        dispatcher.execute(() -> {
+            Subscriber subscriber = new Subscriber(emitter);
+            if (initialState != null) {
+                subscriber.enqueue(event(new OrderStatusStreamEvent(resumeAfter, initialState.getId(),
+                        initialState.getCustomerId(), initialState.getStatus(), LocalDateTime.now())));
+            }
+            replay(subscriber, resumeAfter, event -> event.getOrderId().equals(orderId));
+            register(orderSubscribers, orderId, subscriber);
+        });
+        logger.debug("Order event subscription opened for order {}", orderId);
+        return emitter;
+    }
+
+    public SseEmitter subscribeToCustomer(int customerId, Long lastEventId) {
+        long resumeAfter = lastEventId != null ? lastEventId : lastDispatchedEventId;
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        dispatcher.execute(() -> {
+            Subscriber subscriber = new Subscriber(emitter);
+            replay(subscriber, resumeAfter, event -> event.getCustomerId() == customerId);
+            register(customerSubscribers, customerId, subscriber);
+        });
+        logger.debug("Order event subscription opened for customer {}", customerId);
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        sender.close();
+        orderSubscribers.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        customerSubscribers.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    private void dispatch(OrderStatusChangedEvent changed) {
+        OrderStatusStreamEvent event = OrderStatusStreamEvent.of(nextEventId++, changed);
+        replayBuffer[replayNext] = event;
+        replayNext = (replayNext + 1) % replayBuffer.length;
+        lastDispatchedEventId = event.getEventId();
+
+        offerAll(orderSubscribers.get(event.getOrderId()), event);
+        offerAll(customerSubscribers.get(event.getCustomerId()), event);
+    }
+
+    // Tekrar oynatılan olaylar tampon sınırına tabi değildir; sayıları replay-buffer-size ile sınırlıdır
+    private void replay(Subscriber subscriber, long afterEventId, Predicate<OrderStatusStreamEvent> filter) {
+        for (int i = 0; i < replayBuffer.length; i++) {
+            OrderStatusStreamEvent event = replayBuffer[(replayNext + i) % replayBuffer.length];
+            if (event != null && event.getEventId() > afterEventId && filter.test(event)) {
+                subscriber.enqueue(event(event));
+            }
+        }
+    }
+
+    private <K> void register(Map<K, Set<Subscriber>> subscribers, K key, Subscriber subscriber) {
+        subscribers.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.unregister = () -> subscribers.computeIfPresent(key, (k, registered) -> {
+            registered.remove(subscriber);
+            return registered.isEmpty() ? null : registered;
+        });
+        subscriber.emitter.onCompletion(subscriber.unregister);
+        subscriber.emitter.onTimeout(subscriber.unregister);
+        subscriber.emitter.onError(error -> subscriber.unregister.run());
+    }
+
+    private void offerAll(Set<Subscriber> subscribers, OrderStatusStreamEvent event) {
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> offer(subscriber, event(event)));
+        }
+    }
+
+    private void offer(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.offer(event)) {
+            droppedSubscribers.increment();
+            logger.warn("SSE subscriber is not keeping up ({} events buffered), closing its connection",
+                    subscriberBufferSize);
+            subscriber.drop();
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder event(OrderStatusStreamEvent event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.getEventId()))
+                .name(EVENT_NAME)
+                .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    // Tamponunda bekleyen olay olan aboneye heartbeat gerekmez
+    private void sendHeartbeats() {
+        orderSubscribers.values().forEach(subscribers -> subscribers.forEach(this::sendHeartbeat));
+        customerSubscribers.values().forEach(subscribers -> subscribers.forEach(this::sendHeartbeat));
+    }
+
+    private void sendHeartbeat(Subscriber subscriber) {
+        if (subscriber.buffered.get() == 0) {
+            offer(subscriber, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private int subscriberCount() {
+        return orderSubscribers.values().stream().mapToInt(Set::size).sum()
+                + customerSubscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Bir SSE bağlantısı ve gönderilmeyi bekleyen olayları. Olayları dispatcher ekler; tamponu aynı anda yalnızca
+     * bir gönderici thread boşaltır, bu yüzden olaylar abone başına sırasıyla yazılır.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger buffered = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean dropped;
+        private volatile Runnable unregister = () -> { };
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            pending.add(event);
+            buffered.incrementAndGet();
+            schedule();
+        }
+
+        private boolean offer(SseEmitter.SseEventBuilder event) {
+            if (buffered.get() >= subscriberBufferSize) {
+                return false;
+            }
+            enqueue(event);
+            return true;
+        }
+
+        // Gönderim takılı kalmış olabileceği için bağlantı, tamponu boşaltan thread tarafından kapatılır
+        private void drop() {
+            dropped = true;
+            unregister.run();
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!dropped && (event = pending.poll()) != null) {
+                    buffered.decrementAndGet();
+                    emitter.send(event);
+                }
+                if (dropped && closed.compareAndSet(false, true)) {
+                    pending.clear();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                dropped = true;
+                closed.set(true);
+                pending.clear();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+                // Boşaltma biterken eklenen olay veya düşürme kaçırılmasın
+                if (dropped ? !closed.get() : !pending.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package com.example.orderapi.service;
+
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.json.JsonData;
+import com.example.orderapi.exception.ExportJobNotFoundException;
+import com.example.orderapi.exception.OrderProcessingException;
+import com.example.orderapi.export.ColumnarOrderWriter;
+import com.example.orderapi.export.ExportCheckpoint;
+import com.example.orderapi.model.order.Order;
+import com.example.orderapi.model.request.OrderExportRequest;
+import com.example.orderapi.model.response.OrderExportStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sipariş indeksini point-in-time + search_after ile tarayıp aylık sütunlu dosyalara aktarır.
+ * İşler ayrı bir thread havuzunda çalışır; bellekte yalnızca bir arama sayfası ve bir satır grubu tutulur.
+ * Her satır grubundan sonra kontrol noktası yazılır, yarıda kalan iş kaldığı yerden devam ettirilebilir.
+ */
+@Service
+public class OrderExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExportService.class);
+
+    private static final String CHECKPOINT_FILE = "checkpoint.json";
+    private static final String FILE_EXTENSION = ".ordc";
+    private static final String PART_SUFFIX = ".part";
+    private static final long PROGRESS_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final ElasticsearchOperations operations;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int batchSize;
+    private final int rowGroupSize;
+    private final Duration pitKeepAlive;
+    private final ExecutorService executor;
+    private final Counter exportedCounter;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public OrderExportService(ElasticsearchOperations operations, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${order.export.directory:./exports}") String directory,
+                              @Value("${order.export.batch-size:1000}") int batchSize,
+                              @Value("${order.export.row-group-size:4096}") int rowGroupSize,
+                              @Value("${order.export.pit-keep-alive:5m}") Duration pitKeepAlive,
+                              @Value("${order.export.threads:1}") int threads) {
+        this.operations = operations;
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.batchSize = batchSize;
+        this.rowGroupSize = rowGroupSize;
+        this.pitKeepAlive = pitKeepAlive;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "order-export-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.exportedCounter = meterRegistry.counter("order.export.documents");
+    }
+
+    public OrderExportStatus start(OrderExportRequest request) {
+        YearMonth from = request != null ? request.getFrom() : null;
+        YearMonth to = request != null ? request.getTo() : null;
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new OrderProcessingException("Başlangıç ayı bitiş ayından sonra olamaz");
+        }
+
+        ExportCheckpoint checkpoint = ExportCheckpoint.builder()
+                .jobId(UUID.randomUUID().toString())
+                .fromMonth(from != null ? from.toString() : null)
+                .toMonth(to != null ? to.toString() : null)
+                .build();
+        try {
+            Files.createDirectories(jobDirectory(checkpoint.getJobId()));
+            saveCheckpoint(checkpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export directory could not be prepared", e);
+        }
+
+        logger.info("Starting order export {} for {} .. {}", checkpoint.getJobId(), from, to);
+        return submit(checkpoint);
+    }
+
+    public OrderExportStatus resume(String jobId) {
+        ExportCheckpoint checkpoint = loadCheckpoint(jobId);
+        if (checkpoint.isCompleted()) {
+            return toStatus(checkpoint, "COMPLETED");
+        }
+
+        logger.info("Resuming order export {} at {} ({} orders already exported)",
+                jobId, checkpoint.getLastOrderDate(), checkpoint.getExported());
+        return submit(checkpoint);
+    }
+
+    public OrderExportStatus status(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job != null) {
+            return job.status();
+        }
+        ExportCheckpoint checkpoint = loadCheckpoint(jobId);
+        return toStatus(checkpoint, checkpoint.isCompleted() ? "COMPLETED" : "INTERRUPTED");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private OrderExportStatus submit(ExportCheckpoint checkpoint) {
+        ExportJob job = new ExportJob(checkpoint);
+        jobs.compute(checkpoint.getJobId(), (jobId, previous) -> {
+            if (previous != null && previous.state.equals("RUNNING")) {
+                throw new OrderProcessingException("Dışa aktarma işi zaten çalışıyor: " + jobId);
+            }
+            return job;
+        });
+        executor.execute(() -> run(job));
+        return job.status();
+    }
+
+    private void run(ExportJob job) {
+        ExportCheckpoint checkpoint = job.checkpoint;
+        Path jobDirectory = jobDirectory(checkpoint.getJobId());
+
+        // Devam ederken son yazılan tarihteki, zaten yazılmış siparişler atlanır
+        String skipDate = checkpoint.getLastOrderDate();
+        Set<String> skipIds = Set.copyOf(checkpoint.getLastOrderIds());
+
+        String month = checkpoint.getCurrentMonth();
+        String lastDate = checkpoint.getLastOrderDate();
+        Set<String> lastIds = new HashSet<>(checkpoint.getLastOrderIds());
+        List<String> files = new ArrayList<>(checkpoint.getCompletedFiles());
+        long exported = checkpoint.getExported();
+
+        ColumnarOrderWriter writer = null;
+        String pitId = null;
+        try {
+            pitId = operations.openPointInTime(IndexCoordinates.of("orders"), pitKeepAlive);
+            if (month != null) {
+                writer = new ColumnarOrderWriter(partFile(jobDirectory, month), rowGroupSize,
+                        checkpoint.getFileOffset());
+            }
+
+            Query query = buildQuery(checkpoint);
+            boolean countTotal = checkpoint.getTotal() == 0;
+            List<Object> searchAfter = null;
+            long lastProgressLog = System.nanoTime();
+
+            while (true) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+
+                NativeQueryBuilder builder = NativeQuery.builder()
+                        .withQuery(query)
+                        .withSort(s -> s.field(f -> f.field("orderDate").order(SortOrder.Asc)))
+                        .withPointInTime(new org.springframework.data.elasticsearch.core.query.Query.PointInTime(
+                                pitId, pitKeepAlive))
+                        .withMaxResults(batchSize)
+                        .withTrackTotalHits(countTotal);
+                if (searchAfter != null) {
+                    builder.withSearchAfter(searchAfter);
+                }
+                SearchHits<Order> hits = operations.search(builder.build(), Order.class);
+                if (hits.getPointInTimeId() != null) {
+                    pitId = hits.getPointInTimeId();
+                }
+                if (countTotal) {
+                    job.total = checkpoint.getExported() + hits.getTotalHits();
+                    countTotal = false;
+                }
+                if (hits.getSearchHits().isEmpty()) {
+                    break;
+                }
+
+                long batchStart = exported;
+                for (SearchHit<Order> hit : hits.getSearchHits()) {
+                    Order order = hit.getContent();
+                    String date = order.getOrderDate();
+                    if (date.equals(skipDate) && skipIds.contains(order.getId())) {
+                        continue;
+                    }
+
+                    String orderMonth = date.substring(0, 7);
+                    if (!orderMonth.equals(month)) {
+                        if (writer != null) {
+                            files.add(completeMonth(writer, jobDirectory, month));
+                            writer = null;
+                            checkpoint = job.save(checkpoint.toBuilder()
+                                    .currentMonth(null)
+                                    .fileOffset(0)
+                                    .lastOrderDate(lastDate)
+                                    .lastOrderIds(new ArrayList<>(lastIds))
+                                    .exported(exported)
+                                    .completedFiles(new ArrayList<>(files))
+                                    .build());
+                        }
+                        month = orderMonth;
+                        job.currentMonth = month;
+                        writer = new ColumnarOrderWriter(partFile(jobDirectory, month), rowGroupSize, 0);
+                    }
+
+                    if (!date.equals(lastDate)) {
+                        lastDate = date;
+                        lastIds.clear();
+                    }
+                    lastIds.add(order.getId());
+                    exported++;
+
+                    if (writer.write(order)) {
+                        checkpoint = job.save(checkpoint.toBuilder()
+                                .currentMonth(month)
+                                .fileOffset(writer.getCompletedLength())
+                                .lastOrderDate(lastDate)
+                                .lastOrderIds(new ArrayList<>(lastIds))
+                                .exported(exported)
+                                .completedFiles(new ArrayList<>(files))
+                                .build());
+                    }
+                }
+
+                job.exported = exported;
+                exportedCounter.increment(exported - batchStart);
+                searchAfter = hits.getSearchHits().get(hits.getSearchHits().size() - 1).getSortValues();
+
+                if (System.nanoTime() - lastProgressLog >= PROGRESS_LOG_INTERVAL_NANOS) {
+                    lastProgressLog = System.nanoTime();
+                    OrderExportStatus status = job.status();
+                    logger.info("Order export {} progress: {}/{} orders, {} orders/s, month {}",
+                            status.getJobId(), status.getExported(), status.getTotal(),
+                            String.format("%.0f", status.getDocumentsPerSecond()), month);
+                }
+            }
+
+            if (writer != null) {
+                files.add(completeMonth(writer, jobDirectory, month));
+                writer = null;
+            }
+            job.save(checkpoint.toBuilder()
+                    .currentMonth(null)
+                    .fileOffset(0)
+                    .lastOrderDate(lastDate)
+                    .lastOrderIds(new ArrayList<>(lastIds))
+                    .exported(exported)
+                    .completedFiles(files)
+                    .completed(true)
+                    .build());
+            job.finish("COMPLETED", null);
+            OrderExportStatus status = job.status();
+            logger.info("Order export {} completed: {} orders in {} files, {} orders/s",
+                    status.getJobId(), exported, files.size(),
+                    String.format("%.0f", status.getDocumentsPerSecond()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish("INTERRUPTED", "Export interrupted");
+            logger.warn("Order export {} interrupted after {} orders, it can be resumed",
+                    job.checkpoint.getJobId(), exported);
+        } catch (Exception e) {
+            job.finish("FAILED", e.getMessage());
+            logger.error("Order export {} failed after {} orders, it can be resumed: {}",
+                    job.checkpoint.getJobId(), exported, e.getMessage());
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.abort();
+                } catch (IOException e) {
+                    logger.debug("Export file could not be closed: {}", e.getMessage());
+                }
+            }
+            if (pitId != null) {
+                try {
+                    operations.closePointInTime(pitId);
+                } catch (RuntimeException e) {
+                    logger.debug("Point-in-time could not be closed, it will expire: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private Query buildQuery(ExportCheckpoint checkpoint) {
+        String lower = checkpoint.getLastOrderDate() != null
+                ? checkpoint.getLastOrderDate()
+                : checkpoint.getFromMonth() != null
+                ? YearMonth.parse(checkpoint.getFromMonth()).atDay(1).atStartOfDay().toString()
+                : null;
+        String upper = checkpoint.getToMonth() != null
+                ? YearMonth.parse(checkpoint.getToMonth()).plusMonths(1).atDay(1).atStartOfDay().toString()
+                : null;
+
+        return Query.of(q -> q.bool(b -> {
+            b.filter(f -> f.exists(e -> e.field("orderDate")));
+            if (lower != null || upper != null) {
+                // orderDate ISO-8601 keyword olarak tutulduğu için sözlük sırası zaman sırasıdır
+                b.filter(f -> f.range(r -> {
+                    r.field("orderDate");
+                    if (lower != null) {
+                        r.gte(JsonData.of(lower));
+                    }
+                    if (upper != null) {
+                        r.lt(JsonData.of(upper));
+                    }
+                    return r;
+                }));
+            }
+            return b;
+        }));
+    }
+
+    private String completeMonth(ColumnarOrderWriter writer, Path jobDirectory, String month) throws IOException {
+        writer.close();
+        Path target = jobDirectory.resolve(fileName(month));
+        Files.move(partFile(jobDirectory, month), target, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Order export month {} written to {}", month, target);
+        return target.getFileName().toString();
+    }
+
+    private Path jobDirectory(String jobId) {
+        if (!jobId.matches("[0-9a-fA-F-]{36}")) {
+            throw new ExportJobNotFoundException(jobId);
+        }
+        return directory.resolve(jobId);
+    }
+
+    private static String fileName(String month) {
+        return "orders-" + month + FILE_EXTENSION;
+    }
+
+    private static Path partFile(Path jobDirectory, String month) {
+        return jobDirectory.resolve(fileName(month) + PART_SUFFIX);
+    }
+
+    private void saveCheckpoint(ExportCheckpoint checkpoint) throws IOException {
+        Path jobDirectory = jobDirectory(checkpoint.getJobId());
+        Path temp = jobDirectory.resolve(CHECKPOINT_FILE + ".tmp");
+        objectMapper.writeValue(temp.toFile(), checkpoint);
+        Files.move(temp, jobDirectory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private ExportCheckpoint loadCheckpoint(String jobId) {
+        Path file = jobDirectory(jobId).resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            throw new ExportJobNotFoundException(jobId);
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), ExportCheckpoint.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export checkpoint could not be read: " + file, e);
+        }
+    }
+
+    private static OrderExportStatus toStatus(ExportCheckpoint checkpoint, String state) {
+        return OrderExportStatus.builder()
+                .jobId(checkpoint.getJobId())
+                .state(state)
+                .fromMonth(checkpoint.getFromMonth())
+                .toMonth(checkpoint.getToMonth())
+                .exported(checkpoint.getExported())
+                .total(checkpoint.getTotal())
+                .currentMonth(checkpoint.getCurrentMonth())
+                .files(checkpoint.getCompletedFiles())
+                .build();
+    }
+
+    private final class ExportJob {
+
+        private volatile ExportCheckpoint checkpoint;
+        private volatile String state = "RUNNING";
+        private volatile String error;
+        private volatile String currentMonth;
+        private volatile long exported;
+        private volatile long total;
+
+        private final long exportedAtStart;
+        private final long startedNanos = System.nanoTime();
+        private final Instant startedAt = Instant.now();
+        private volatile long finishedNanos;
+
+        private ExportJob(ExportCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+            this.exported = checkpoint.getExported();
+            this.exportedAtStart = checkpoint.getExported();
+            this.total = checkpoint.getTotal();
+            this.currentMonth = checkpoint.getCurrentMonth();
+        }
+
+        private ExportCheckpoint save(ExportCheckpoint next) throws IOException {
+            ExportCheckpoint withTotal = next.toBuilder().total(total).build();
+            saveCheckpoint(withTotal);
+            this.checkpoint = withTotal;
+            return withTotal;
+        }
+
+        private void finish(String state, String error) {
+            this.finishedNanos = System.nanoTime();
+            if (!state.equals("COMPLETED")) {
+                // Yalnızca kontrol noktasına kadar yazılanlar kalıcıdır; devam edildiğinde sonrası yeniden yazılır
+                this.exported = checkpoint.getExported();
+            }
+            this.error = error;
+            this.state = state;
+        }
+
+        private OrderExportStatus status() {
+            long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            double seconds = Math.max(1e-3, (end - startedNanos) / 1e9);
+            ExportCheckpoint current = checkpoint;
+            return OrderExportStatus.builder()
+                    .jobId(current.getJobId())
+                    .state(state)
+                    .fromMonth(current.getFromMonth())
+                    .toMonth(current.getToMonth())
+                    .exported(exported)
+                    .total(total)
+                    .documentsPerSecond((exported - exportedAtStart) / seconds)
+                    .currentMonth(currentMonth)
+                    .files(current.getCompletedFiles())
+                    .startedAt(startedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.orderapi.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Zaman sıralı 64 bit sipariş ID üreteci (Snowflake düzeni):
+ * 41 bit milisaniye (2024-01-01 epoch'undan itibaren) | 10 bit node ID | 12 bit sıra numarası.
+ *
+ * Son zaman damgası ve sıra numarası tek bir AtomicLong içinde tutulur ve CAS ile ilerletilir; kilit yoktur.
+ * Saat geri giderse üreteç son zaman damgasından devam eder (mantıksal saat); aynı milisaniyede 4096'dan fazla ID
+ * istenirse sınırlı miktarda sonraki milisaniyelerden ödünç alır, sınır dolunca saatin yetişmesini bekler.
+ * Saat tolerans süresinden fazla geri giderse tekrar eden ID üretmemek için istek reddedilir.
+ */
+@Component
+public class OrderIdGenerator {
+
+    static final long EPOCH_MILLIS = 1704067200000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+    private final long toleranceMillis;
+    private final long maxBorrowMillis;
+    private final LongSupplier clock;
+    // (zaman damgası << SEQUENCE_BITS) | sıra numarası
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public OrderIdGenerator(@Value("${order.id.node-id:0}") long nodeId,
+                            @Value("${order.id.clock-skew-tolerance:2s}") Duration clockSkewTolerance) {
+        this(nodeId, clockSkewTolerance, System::currentTimeMillis);
+    }
+
+    OrderIdGenerator(long nodeId, Duration clockSkewTolerance, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("order.id.node-id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.toleranceMillis = clockSkewTolerance.toMillis();
+        // Ödünç alma toleransın yarısıyla sınırlı; kalan yarı gerçek saat geri kaymaları için pay bırakır
+        this.maxBorrowMillis = Math.max(1, toleranceMillis / 2);
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else {
+                long skew = lastTimestamp - now;
+                if (skew > toleranceMillis) {
+                    throw new IllegalStateException("Clock moved backwards by " + skew
+                            + " ms, refusing to generate order IDs");
+                }
+                if ((current & SEQUENCE_MASK) == SEQUENCE_MASK && skew >= maxBorrowMillis) {
+                    // Talep kapasiteyi (4096 ID/ms) aşıyor; saat yetişene kadar bekle
+                    Thread.onSpinWait();
+                    continue;
+                }
+                // Sıra taşarsa zaman damgasına eklenir, yani bir sonraki milisaniyeden ödünç alınır
+                next = current + 1;
+            }
+
+            if (state.compareAndSet(current, next)) {
+                return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                        | nodeBits
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static long nodeOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.orderapi.service;
+
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asenkron kabul edilen siparişler için sınırlı kapasiteli iş kuyruğu.
+ * Kapasite, sisteme giren her sipariş için bir slot ayrılarak uygulanır; slot sipariş
+ * son durumuna ulaşana kadar (tekrar denemeler dahil) tutulur; yalnızca {@link #park} ile dışarıda beklerken bırakılır. İşler, kuyruğa alındıkları andaki izleme (trace)
+ * bağlamıyla çalıştırılır.
+ */
+@Component
+public class OrderProcessingQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderProcessingQueue.class);
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final Semaphore slots;
+    private final int capacity;
+    private final ContextSnapshotFactory snapshotFactory = ContextSnapshotFactory.builder().build();
+    private final Queue<Runnable> waitingResumes = new ConcurrentLinkedQueue<>();
+
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter retryCounter;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+
+    public OrderProcessingQueue(MeterRegistry meterRegistry,
+                                @Value("${order.async.queue-capacity:500}") int queueCapacity,
+                                @Value("${order.async.workers:8}") int workers) {
+        this.capacity = queueCapacity + workers;
+        this.slots = new Semaphore(capacity);
+        this.executor = new ScheduledThreadPoolExecutor(workers, new WorkerThreadFactory());
+        this.executor.setRemoveOnCancelPolicy(true);
+
+        Gauge.builder("order.async.queue.depth", executor, e -> e.getQueue().size())
+                .description("Worker bekleyen sipariş işi sayısı")
+                .register(meterRegistry);
+        Gauge.builder("order.async.workers.active", executor, ScheduledThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        Gauge.builder("order.async.in.flight", slots, s -> capacity - s.availablePermits())
+                .description("Kabul edilmiş ve henüz son durumuna ulaşmamış sipariş sayısı")
+                .register(meterRegistry);
+        Gauge.builder("order.async.resume.waiting", waitingResumes, Queue::size)
+                .description("Slot bekleyen devam işi sayısı")
+                .register(meterRegistry);
+        this.acceptedCounter = meterRegistry.counter("order.async.accepted");
+        this.rejectedCounter = meterRegistry.counter("order.async.rejected");
+        this.retryCounter = meterRegistry.counter("order.async.retries");
+        this.completedCounter = meterRegistry.counter("order.async.completed", "result", "success");
+        this.failedCounter = meterRegistry.counter("order.async.completed", "result", "failed");
+    }
+
+    public boolean tryReserve() {
+        if (slots.tryAcquire()) {
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    public void cancelReservation() {
+        releaseSlot();
+    }
+
+    public void submit(Runnable task) {
+        acceptedCounter.increment();
+        executor.execute(snapshotFactory.captureAll().wrap(task));
+    }
+
+    public void retry(Runnable task, Duration delay) {
+        retryCounter.increment();
+        try {
+            executor.schedule(snapshotFactory.captureAll().wrap(task), delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Order workers are shut down, dropping a retry");
+            releaseSlot();
+        }
+    }
+
+    /**
+     * Sipariş işlem dışında beklemeye alınır (ör. mutfakta hazırlanıyor); bekleme süresince slot tutulmaz.
+     */
+    public void park() {
+        releaseSlot();
+    }
+
+    /**
+     * Beklemeye alınan siparişin işlenmesine devam eder. Slot boşsa hemen, değilse ilk boşalan slotla çalıştırılır;
+     * bekleyen devam işleri yeni kabul edilen siparişlerden önce slot alır.
+     */
+    public void resume(Runnable task) {
+        Runnable wrapped = snapshotFactory.captureAll().wrap(task);
+        if (slots.tryAcquire()) {
+            start(wrapped);
+            return;
+        }
+        waitingResumes.add(wrapped);
+        // Eklemeden önce bir slot boşalmış olabilir; o durumda sıradaki iş burada başlatılır
+        if (slots.tryAcquire()) {
+            Runnable next = waitingResumes.poll();
+            if (next != null) {
+                start(next);
+            } else {
+                slots.release();
+            }
+        }
+    }
+
+    public void complete(boolean success) {
+        (success ? completedCounter : failedCounter).increment();
+        releaseSlot();
+    }
+
+    // Boşalan slot önce bekleyen devam işine devredilir
+    private void releaseSlot() {
+        Runnable next = waitingResumes.poll();
+        if (next != null) {
+            start(next);
+        } else {
+            slots.release();
+        }
+    }
+
+    // Slotu alınmış devam işini başlatır; kapanış sırasında havuz işi kabul etmezse iş düşürülür ve slot bırakılır
+    private void start(Runnable resumed) {
+        try {
+            executor.execute(resumed);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Order workers are shut down, dropping a resumed order");
+            slots.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Order workers did not finish in time, {} tasks dropped", executor.shutdownNow().size());
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "order-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.orderapi.service;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.json.JsonData;
+import com.example.orderapi.exception.InvalidSearchRequestException;
+import com.example.orderapi.model.enums.OrderStatus;
+import com.example.orderapi.model.order.Order;
+import com.example.orderapi.model.request.OrderSearchRequest;
+import com.example.orderapi.model.response.OrderSearchResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Sipariş indeksinde filtreli arama. Sayfalama point-in-time + search_after ile yapılır; böylece
+ * sayfalar arasında yeni gelen siparişler sonuçları kaydırmaz ve derin sayfalar from/size kadar pahalı değildir.
+ */
+@Service
+public class OrderSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderSearchService.class);
+
+    // İstemcinin seçebileceği alanlar ve projeksiyonda değerlerinin nasıl okunacağı
+    private static final Map<String, Function<Order, Object>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("id", Order::getId);
+        FIELDS.put("customerId", Order::getCustomerId);
+        FIELDS.put("address", Order::getAddress);
+        FIELDS.put("status", Order::getStatus);
+        FIELDS.put("items", Order::getItems);
+        FIELDS.put("totalAmount", Order::getTotalAmount);
+        FIELDS.put("deliveryId", Order::getDeliveryId);
+        FIELDS.put("orderDate", Order::getOrderDate);
+    }
+
+    private final ElasticsearchOperations operations;
+    private final ObjectMapper objectMapper;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final Duration cursorKeepAlive;
+
+    public OrderSearchService(ElasticsearchOperations operations, ObjectMapper objectMapper,
+                              @Value("${order.search.default-page-size:20}") int defaultPageSize,
+                              @Value("${order.search.max-page-size:100}") int maxPageSize,
+                              @Value("${order.search.cursor-keep-alive:2m}") Duration cursorKeepAlive) {
+        this.operations = operations;
+        this.objectMapper = objectMapper;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.cursorKeepAlive = cursorKeepAlive;
+    }
+
+    public OrderSearchResponse search(OrderSearchRequest request) {
+        List<String> fields = resolveFields(request.getFields());
+        int size = resolveSize(request.getSize());
+
+        // Devam sayfalarında filtreler cursor'dan alınır; PIT ve search_after yalnızca aynı sorguyla tutarlıdır
+        Cursor cursor = request.getCursor() != null ? decodeCursor(request.getCursor()) : null;
+        OrderSearchRequest criteria = cursor != null ? cursor.criteria() : criteriaOf(request);
+        Query query = buildQuery(criteria);
+        String pitId = cursor != null
+                ? cursor.pit()
+                : operations.openPointInTime(IndexCoordinates.of("orders"), cursorKeepAlive);
+
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(query)
+                .withSort(s -> s.field(f -> f.field("orderDate").order(SortOrder.Desc)))
+                .withSourceFilter(new FetchSourceFilter(fields.toArray(String[]::new), null))
+                .withPointInTime(new org.springframework.data.elasticsearch.core.query.Query.PointInTime(
+                        pitId, cursorKeepAlive))
+                .withMaxResults(size)
+                .withTrackTotalHits(cursor == null);
+        if (cursor != null) {
+            builder.withSearchAfter(cursor.after());
+        }
+
+        SearchHits<Order> hits = execute(builder.build(), cursor != null);
+        long total = cursor != null ? cursor.total() : hits.getTotalHits();
+
+        List<Map<String, Object>> orders = new ArrayList<>(hits.getSearchHits().size());
+        for (SearchHit<Order> hit : hits.getSearchHits()) {
+            orders.add(project(hit.getContent(), fields));
+        }
+
+        String nextPitId = hits.getPointInTimeId() != null ? hits.getPointInTimeId() : pitId;
+        String nextCursor = null;
+        if (orders.size() == size) {
+            List<Object> after = hits.getSearchHits().get(orders.size() - 1).getSortValues();
+            nextCursor = encodeCursor(new Cursor(nextPitId, after, total, criteria));
+        } else {
+            closeQuietly(nextPitId);
+        }
+
+        logger.debug("Order search returned {} of {} hits, more: {}", orders.size(), total, nextCursor != null);
+        return OrderSearchResponse.builder()
+                .total(total)
+                .orders(orders)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private Query buildQuery(OrderSearchRequest request) {
+        BoolQuery.Builder bool = new BoolQuery.Builder();
+
+        if (request.getAddress() != null && !request.getAddress().isBlank()) {
+            bool.must(m -> m.match(t -> t.field("address").query(request.getAddress()).operator(Operator.And)));
+        }
+        if (request.getStatuses() != null && !request.getStatuses().isEmpty()) {
+            List<FieldValue> statuses = request.getStatuses().stream()
+                    .map(this::parseStatus)
+                    .map(status -> FieldValue.of(status.name()))
+                    .toList();
+            bool.filter(f -> f.terms(t -> t.field("status").terms(v -> v.value(statuses))));
+        }
+        if (request.getCustomerId() != null) {
+            bool.filter(f -> f.term(t -> t.field("customerId").value(request.getCustomerId())));
+        }
+        if (request.getProductId() != null) {
+            bool.filter(f -> f.nested(n -> n
+                    .path("items")
+                    .query(q -> q.term(t -> t.field("items.productId").value(request.getProductId())))));
+        }
+        if (request.getFrom() != null || request.getTo() != null) {
+            // orderDate ISO-8601 keyword olarak tutulduğu için sözlük sırası zaman sırasıdır
+            bool.filter(f -> f.range(r -> {
+                r.field("orderDate");
+                if (request.getFrom() != null) {
+                    r.gte(JsonData.of(request.getFrom().atStartOfDay().toString()));
+                }
+                if (request.getTo() != null) {
+                    r.lt(JsonData.of(request.getTo().plusDays(1).atStartOfDay().toString()));
+                }
+                return r;
+            }));
+        }
+
+        return Query.of(q -> q.bool(bool.build()));
+    }
+
+    private SearchHits<Order> execute(NativeQuery query, boolean continuation) {
+        try {
+            return operations.search(query, Order.class);
+        } catch (DataAccessException e) {
+            if (continuation && isMissingSearchContext(e)) {
+                throw new InvalidSearchRequestException("Search cursor has expired, start a new search", e);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isMissingSearchContext(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().contains("search_context_missing")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<String> resolveFields(List<String> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return List.copyOf(FIELDS.keySet());
+        }
+        List<String> fields = new ArrayList<>(requested.size());
+        for (String field : requested) {
+            String name = field.trim();
+            if (!FIELDS.containsKey(name)) {
+                throw new InvalidSearchRequestException("Unknown field: " + name + ", allowed: " + FIELDS.keySet());
+            }
+            if (!fields.contains(name)) {
+                fields.add(name);
+            }
+        }
+        return fields;
+    }
+
+    private int resolveSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new InvalidSearchRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+        return size;
+    }
+
+    private OrderStatus parseStatus(String status) {
+        try {
+            return OrderStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchRequestException("Unknown order status: " + status);
+        }
+    }
+
+    private static OrderSearchRequest criteriaOf(OrderSearchRequest request) {
+        return OrderSearchRequest.builder()
+                .address(request.getAddress())
+                .statuses(request.getStatuses())
+                .customerId(request.getCustomerId())
+                .productId(request.getProductId())
+                .from(request.getFrom())
+                .to(request.getTo())
+                .build();
+    }
+
+    private static Map<String, Object> project(Order order, List<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            row.put(field, FIELDS.get(field).apply(order));
+        }
+        return row;
+    }
+
+    private String encodeCursor(Cursor cursor) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (IOException e) {
+            throw new IllegalStateException("Search cursor could not be encoded", e);
+        }
+    }
+
+    private Cursor decodeCursor(String value) {
+        try {
+            Cursor cursor = objectMapper.readValue(Base64.getUrlDecoder().decode(value), Cursor.class);
+            if (cursor.pit() == null || cursor.after() == null || cursor.after().isEmpty()
+                    || cursor.criteria() == null) {
+                throw new InvalidSearchRequestException("Invalid search cursor");
+            }
+            return cursor;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidSearchRequestException("Invalid search cursor", e);
+        }
+    }
+
+    private void closeQuietly(String pitId) {
+        try {
+            operations.closePointInTime(pitId);
+        } catch (RuntimeException e) {
+            logger.debug("Point-in-time could not be closed, it will expire: {}", e.getMessage());
+        }
+    }
+
+    record Cursor(String pit, List<Object> after, long total, OrderSearchRequest criteria) {
+    }
+}
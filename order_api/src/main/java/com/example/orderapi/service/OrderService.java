@@ -1,28 +1,42 @@
 package com.example.orderapi.service;
 
 import com.example.orderapi.domain.OrderDomain;
+import com.example.orderapi.domain.PriceBook;
+import com.example.orderapi.event.OrderStatusChangedEvent;
+import com.example.orderapi.exception.DeadlineExceededException;
+import com.example.orderapi.exception.InvalidOrderStatusException;
+import com.example.orderapi.exception.OrderNotFoundException;
 import com.example.orderapi.exception.OrderProcessingException;
+import com.example.orderapi.exception.OrderVersionConflictException;
+import com.example.orderapi.exception.ServiceOverloadedException;
+import com.example.orderapi.kitchen.KitchenService;
 import com.example.orderapi.model.order.Order;
 import com.example.orderapi.model.enums.OrderStatus;
 import com.example.orderapi.model.request.OrderRequest;
 import com.example.orderapi.model.order.OrderItemDto;
 import com.example.orderapi.model.request.StockRequest;
-import com.example.orderapi.model.response.StockResponse;
 import com.example.orderapi.model.response.DeliveryResponse;
 import com.example.orderapi.model.request.DeliveryRequest;
-import com.example.orderapi.repository.OrderRepository;
+import com.example.orderapi.profiling.OrderStageEvent;
+import com.example.orderapi.repository.OrderStore;
+import com.example.orderapi.repository.VersionedOrder;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @Service
 public class OrderService {
@@ -30,40 +44,73 @@ public class OrderService {
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
 
     private final RestTemplate restTemplate;
-    private final OrderRepository orderRepository;
-
-    @Value("${restaurant.api.url}")
-    private String restaurantApiUrl;
+    private final OrderStore orderStore;
+    private final RecentOrderCache recentOrders;
+    private final OrderProcessingQueue processingQueue;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockClient stockClient;
+    private final OrderIdGenerator idGenerator;
+    private final PriceBookService priceBookService;
+    private final ObservationRegistry observationRegistry;
+    private final KitchenService kitchen;
 
     @Value("${delivery.api.url}")
     private String deliveryApiUrl;
 
-    public OrderService(RestTemplate restTemplate, OrderRepository orderRepository) {
+    @Value("${order.async.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${order.async.retry-backoff:500ms}")
+    private Duration retryBackoff;
+
+    @Value("${order.async.retry-after-seconds:2}")
+    private long retryAfterSeconds;
+
+    @Value("${order.deadline.budget:3s}")
+    private Duration attemptBudget;
+
+    @Value("${order.status.conflict-attempts:5}")
+    private int conflictAttempts;
+
+    public OrderService(RestTemplate restTemplate, OrderStore orderStore, RecentOrderCache recentOrders,
+                        OrderProcessingQueue processingQueue, ApplicationEventPublisher eventPublisher,
+                        StockClient stockClient, OrderIdGenerator idGenerator,
+                        PriceBookService priceBookService, ObservationRegistry observationRegistry,
+                        KitchenService kitchen) {
         this.restTemplate = restTemplate;
-        this.orderRepository = orderRepository;
+        this.orderStore = orderStore;
+        this.recentOrders = recentOrders;
+        this.processingQueue = processingQueue;
+        this.eventPublisher = eventPublisher;
+        this.stockClient = stockClient;
+        this.idGenerator = idGenerator;
+        this.priceBookService = priceBookService;
+        this.observationRegistry = observationRegistry;
+        this.kitchen = kitchen;
     }
 
     public String placeOrder(OrderRequest request) {
         logger.info("Order creation process started: {}", request);
 
-        OrderDomain orderDomain = request.toDomain();
+        OrderDomain orderDomain = toDomain(request);
 
         if (!orderDomain.isValidForDelivery()) {
             logger.warn("Invalid order data: {}", request);
             throw new OrderProcessingException("Geçersiz sipariş bilgileri");
         }
 
-        if (!checkStock(request.getItems())) {
+        if (!checkStock(orderDomain)) {
             logger.warn("Insufficient stock, order rejected: {}", request);
             throw new OrderProcessingException("Insufficient stock");
         }
 
         orderDomain.confirm();
+        orderDomain.setId(idGenerator.nextId());
 
-        Order savedOrder = orderRepository.save(orderDomain.toEntity());
+        Order savedOrder = save(orderDomain.toEntity());
         logger.info("Order saved successfully with ID: {}", savedOrder.getId());
 
-        if (!createDelivery(savedOrder)) {
+        if (!createDelivery(savedOrder.getId(), orderDomain)) {
             logger.error("Delivery creation failed for order: {}", savedOrder.getId());
             throw new OrderProcessingException("Delivery creation failed");
         }
@@ -72,62 +119,358 @@ public class OrderService {
         return savedOrder.getId();
     }
 
-    public List<Order> getAllOrders() {
-        return StreamSupport.stream(orderRepository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+    public String acceptOrder(OrderRequest request) {
+        logger.info("Async order acceptance started: {}", request);
+
+        OrderDomain orderDomain = toDomain(request);
+
+        if (!orderDomain.isValidForDelivery()) {
+            logger.warn("Invalid order data: {}", request);
+            throw new OrderProcessingException("Geçersiz sipariş bilgileri");
+        }
+
+        if (!processingQueue.tryReserve()) {
+            logger.warn("Order queue is full, order rejected: {}", request);
+            throw new ServiceOverloadedException("Order queue is full", retryAfterSeconds);
+        }
+
+        orderDomain.setId(idGenerator.nextId());
+        String orderId;
+        try {
+            orderId = save(orderDomain.toEntity()).getId();
+        } catch (RuntimeException e) {
+            processingQueue.cancelReservation();
+            throw e;
+        }
+
+        AcceptedOrder acceptedOrder = new AcceptedOrder(orderId, orderDomain);
+        processingQueue.submit(() -> advance(acceptedOrder));
+        logger.info("Order accepted with ID: {}", orderId);
+        return orderId;
     }
 
-    private boolean checkStock(List<OrderItemDto> items) {
+    private OrderDomain toDomain(OrderRequest request) {
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new OrderProcessingException("Geçersiz sipariş bilgileri");
+        }
+        OrderStageEvent event = OrderStageEvent.start();
+        boolean priced = false;
         try {
-            logger.debug("Stock check started: {}", items);
+            PriceBook priceBook = priceBookService.current();
+            for (OrderItemDto item : request.getItems()) {
+                if (!priceBook.contains(item.getProductId())) {
+                    priceBook = priceBookService.refreshOnMiss();
+                    break;
+                }
+            }
+            OrderDomain domain = request.toDomain(priceBook);
+            priced = true;
+            return domain;
+        } finally {
+            event.finish(OrderStageEvent.PRICING, request.getItems().size(), priced);
+        }
+    }
 
-            List<StockRequest.StockItemDto> stockItems = items.stream()
-                    .map(item -> new StockRequest.StockItemDto(item.getProductId(), item.getQuantity()))
-                    .collect(Collectors.toList());
+    // Her deneme kabul isteğinin izine bağlı bir span olarak görünür; stok ve teslimat çağrıları bu span'in altına düşer
+    private void advance(AcceptedOrder order) {
+        Observation observation = Observation.createNotStarted("order.processing", observationRegistry)
+                .highCardinalityKeyValue("order.id", order.orderId)
+                .highCardinalityKeyValue("attempt", String.valueOf(order.attempts + 1))
+                .start();
+        try (Observation.Scope ignored = observation.openScope()) {
+            advance(order, observation);
+        } finally {
+            observation.stop();
+        }
+    }
 
-            StockRequest stockRequest = new StockRequest(stockItems);
+    private void advance(AcceptedOrder order, Observation observation) {
+        OrderDomain domain = order.domain;
+        // Arka planda her deneme kendi bütçesiyle çalışır; downstream çağrılar bu bütçeyle sınırlanır
+        try (Deadline.Scope ignored = Deadline.after(attemptBudget).bind()) {
+            if (order.stored == null) {
+                // Kabulden sonra dışarıdan değiştirilmiş (ör. iptal edilmiş) sipariş işlenmez
+                order.stored = orderStore.findVersioned(order.orderId).orElseThrow(
+                        () -> new OrderNotFoundException("Sipariş bulunamadı: " + order.orderId));
+                if (order.stored.order().getStatus() != domain.getStatus()) {
+                    throw new OrderVersionConflictException("Order " + order.orderId + " was modified before processing");
+                }
+            }
+            while (domain.getStatus() != OrderStatus.READY_FOR_DELIVERY) {
+                switch (domain.getStatus()) {
+                    case PENDING -> {
+                        // Bütçe aşımı reduceStock'tan istisna olarak çıkar ve aşağıda yeniden denenir
+                        if (!reduceStock(domain)) {
+                            logger.warn("Insufficient stock, accepted order cancelled: {}", order.orderId);
+                            domain.cancel();
+                            persist(order);
+                            observation.lowCardinalityKeyValue("outcome", "CANCELLED");
+                            processingQueue.complete(false);
+                            return;
+                        }
+                        domain.setStockReduced(true);
+                        domain.confirm();
+                    }
+                    case CONFIRMED -> domain.startPreparing();
+                    case PREPARING -> {
+                        if (kitchen.isEnabled() && !order.prepared) {
+                            // Mutfakta geçen süre boyunca slot tutulmaz; kalemler hazır olunca işleme buradan devam edilir
+                            kitchen.submit(order.orderId, domain.toStockItems(), orderedAt(domain), () -> {
+                                order.prepared = true;
+                                processingQueue.resume(() -> advance(order));
+                            });
+                            observation.lowCardinalityKeyValue("outcome", "KITCHEN");
+                            processingQueue.park();
+                            return;
+                        }
+                        if (order.prepared) {
+                            verifyUnchanged(order);
+                        }
+                        if (!createDelivery(order.orderId, domain)) {
+                            throw new OrderProcessingException("Delivery creation failed");
+                        }
+                        domain.markReadyForDelivery();
+                    }
+                    default -> throw new IllegalStateException("Unexpected order status: " + domain.getStatus());
+                }
+                persist(order);
+                order.attempts = 0;
+                logger.debug("Order {} moved to {}", order.orderId, domain.getStatus());
+            }
+            logger.info("Accepted order processed successfully: {}", order.orderId);
+            observation.lowCardinalityKeyValue("outcome", "SUCCESS");
+            processingQueue.complete(true);
+        } catch (OrderVersionConflictException e) {
+            observation.lowCardinalityKeyValue("outcome", "CONFLICT");
+            abandon(order);
+        } catch (RuntimeException e) {
+            observation.error(e);
+            order.attempts++;
+            if (order.attempts < maxAttempts) {
+                Duration delay = retryBackoff.multipliedBy(1L << (order.attempts - 1));
+                logger.warn("Processing of order {} failed at {} (attempt {}/{}), retrying in {} ms: {}",
+                        order.orderId, domain.getStatus(), order.attempts, maxAttempts, delay.toMillis(), e.getMessage());
+                observation.lowCardinalityKeyValue("outcome", "RETRY");
+                processingQueue.retry(() -> advance(order), delay);
+                return;
+            }
+            observation.lowCardinalityKeyValue("outcome", "FAILED");
+            logger.error("Processing of order {} failed at {} after {} attempts: {}",
+                    order.orderId, domain.getStatus(), order.attempts, e.getMessage());
+            failPermanently(order);
+        }
+    }
 
-            ResponseEntity<StockResponse> response = restTemplate.postForEntity(
-                    restaurantApiUrl + "/stock/check",
-                    stockRequest,
-                    StockResponse.class
-            );
+    /**
+     * Sipariş işlenirken başka bir yazma (ör. PATCH ile iptal) kazandı; işleme bırakılır. Bu adımda düşülen stok
+     * henüz depoya yazılmadığı için iptal eden taraf onu bilemez, bu yüzden geri eklenir.
+     */
+    private void abandon(AcceptedOrder order) {
+        try {
+            logger.warn("Order {} was modified concurrently, processing stopped at {}",
+                    order.orderId, order.domain.getStatus());
+            if (order.domain.isStockReduced() && (order.stored == null || !order.stored.order().isStockReduced())) {
+                releaseStock(order.orderId, order.domain);
+            }
+        } finally {
+            processingQueue.complete(false);
+        }
+    }
+
+    private void failPermanently(AcceptedOrder order) {
+        try {
+            if (order.stored == null) {
+                // Sürüm hiç okunamadıysa sipariş kabul edildiği durumdaysa iptal edilir
+                order.stored = orderStore.findVersioned(order.orderId)
+                        .filter(stored -> stored.order().getStatus() == order.domain.getStatus())
+                        .orElse(null);
+            }
+            if (order.stored != null && order.domain.canCancel()) {
+                boolean stockReduced = order.domain.isStockReduced();
+                order.domain.cancel();
+                order.domain.setStockReduced(false);
+                persist(order);
+                if (stockReduced) {
+                    releaseStock(order.orderId, order.domain);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Could not cancel failed order {}: {}", order.orderId, e.getMessage());
+        } finally {
+            processingQueue.complete(false);
+        }
+    }
+
+    // Sipariş mutfakta beklerken dışarıdan değişmiş (ör. iptal edilmiş) olabilir; teslimat oluşturulmadan önce bakılır
+    private void verifyUnchanged(AcceptedOrder order) {
+        VersionedOrder current = orderStore.findVersioned(order.orderId).orElseThrow(
+                () -> new OrderNotFoundException("Sipariş bulunamadı: " + order.orderId));
+        if (current.seqNo() != order.stored.seqNo() || current.primaryTerm() != order.stored.primaryTerm()) {
+            throw new OrderVersionConflictException("Order " + order.orderId + " was modified during preparation");
+        }
+    }
+
+    private void persist(AcceptedOrder order) {
+        VersionedOrder stored = order.stored;
+        order.stored = saveIfUnchanged(order.domain.toEntity(), stored);
+    }
 
-            StockResponse stockResponse = response.getBody();
-            boolean available = stockResponse != null && stockResponse.isAvailable();
+    private static Instant orderedAt(OrderDomain domain) {
+        return domain.getOrderDate() != null
+                ? domain.getOrderDate().atZone(ZoneId.systemDefault()).toInstant()
+                : Instant.now();
+    }
+
+    private void releaseStock(String orderId, OrderDomain domain) {
+        try {
+            if (stockClient.release(domain.toStockItems())) {
+                logger.info("Stock of cancelled order {} released", orderId);
+            } else {
+                logger.error("Stock of cancelled order {} could not be fully released", orderId);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Stock of cancelled order {} could not be released: {}", orderId, e.getMessage());
+        }
+    }
+
+    /**
+     * Siparişi hedef duruma taşır. Kayıt sürümüyle okunur, geçiş {@link OrderDomain} kurallarıyla denetlenir ve
+     * yalnızca okunan sürüm hâlâ güncelse yazılır; arada başka bir yazma olduysa okuma baştan yapılır. Kilit
+     * kullanılmaz, aynı siparişe eşzamanlı geçişlerden yalnızca biri kazanır. İptal edilen siparişin düşülmüş stoğu
+     * geri eklenir.
+     */
+    public Order changeStatus(String id, OrderStatus target) {
+        if (target == null) {
+            throw new InvalidOrderStatusException("Hedef durum belirtilmelidir");
+        }
+        for (int attempt = 1; ; attempt++) {
+            VersionedOrder current = orderStore.findVersioned(id)
+                    .orElseThrow(() -> new OrderNotFoundException("Sipariş bulunamadı: " + id));
+            OrderDomain domain = OrderDomain.fromEntity(current.order());
+            boolean stockReduced = domain.isStockReduced();
+            if (!domain.canBeMovedManuallyTo(target)) {
+                throw new InvalidOrderStatusException(
+                        "Geçersiz durum geçişi: " + current.order().getStatus() + " -> " + target);
+            }
+            domain.transitionTo(target);
+            boolean releaseStock = target == OrderStatus.CANCELLED && stockReduced;
+            if (releaseStock) {
+                domain.setStockReduced(false);
+            }
+            Order updated = domain.toEntity();
+            updated.setDeliveryId(current.order().getDeliveryId());
+
+            VersionedOrder saved;
+            try {
+                saved = saveIfUnchanged(updated, current);
+            } catch (OrderVersionConflictException e) {
+                if (attempt >= conflictAttempts) {
+                    logger.warn("Order {} kept changing, giving up moving it to {} after {} attempts",
+                            id, target, attempt);
+                    throw e;
+                }
+                logger.debug("Order {} changed while moving to {}, retrying (attempt {})", id, target, attempt);
+                continue;
+            }
+            // Stok, geçiş kazanıldıktan sonra geri eklenir; böylece eşzamanlı iki iptal stoğu iki kez artırmaz
+            if (releaseStock) {
+                releaseStock(id, domain);
+            }
+            if (target == OrderStatus.CANCELLED) {
+                kitchen.cancel(id);
+            }
+            logger.info("Order {} moved from {} to {}", id, current.order().getStatus(), target);
+            return saved.order();
+        }
+    }
+
+    private Order save(Order order) {
+        OrderStageEvent event = OrderStageEvent.start();
+        Order saved = null;
+        try {
+            saved = orderStore.save(order);
+            recentOrders.put(saved);
+        } finally {
+            event.finish(OrderStageEvent.SAVE, order.getId(), order.getItems() != null ? order.getItems().size() : 0,
+                    saved != null);
+        }
+        publishStatusChanged(saved);
+        return saved;
+    }
+
+    private VersionedOrder saveIfUnchanged(Order order, VersionedOrder expected) {
+        OrderStageEvent event = OrderStageEvent.start();
+        VersionedOrder saved = null;
+        try {
+            saved = orderStore.saveIfUnchanged(order, expected.seqNo(), expected.primaryTerm());
+            recentOrders.put(saved);
+        } finally {
+            event.finish(OrderStageEvent.SAVE, order.getId(), order.getItems() != null ? order.getItems().size() : 0,
+                    saved != null);
+        }
+        publishStatusChanged(saved.order());
+        return saved;
+    }
+
+    private void publishStatusChanged(Order saved) {
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                saved.getId(), saved.getCustomerId(), saved.getStatus(), LocalDateTime.now()));
+    }
+
+    /**
+     * Bu instance'ın son yazdığı siparişler önbellekten, diğerleri depodan ID ile okunur. Elasticsearch'te bu
+     * gerçek zamanlı GET'tir; arama yapılmadığı için indeks yenilenmesini beklemez.
+     */
+    public Order getOrder(String id) {
+        Order recent = recentOrders.get(id);
+        if (recent != null) {
+            return recent;
+        }
+        return orderStore.findById(id)
+                .orElseThrow(() -> new OrderNotFoundException("Sipariş bulunamadı: " + id));
+    }
+
+    public List<Order> getAllOrders() {
+        return orderStore.findAll();
+    }
+
+    private boolean checkStock(OrderDomain domain) {
+        OrderStageEvent event = OrderStageEvent.start();
+        boolean available = false;
+        try {
+            List<StockRequest.StockItemDto> items = domain.toStockItems();
+            logger.debug("Stock check started: {}", items);
+
+            available = stockClient.check(items);
             logger.debug("Stock check result: {}", available);
             return available;
 
         } catch (Exception e) {
+            rethrowIfDeadlineExceeded(e);
             logger.error("Stock check error: {}", e.getMessage());
             return false;
+        } finally {
+            event.finish(OrderStageEvent.STOCK_CHECK, domain.getId(), domain.getItems().size(), available);
         }
     }
 
-    private boolean reduceStock(List<OrderItemDto> items) {
+    private boolean reduceStock(OrderDomain domain) {
+        OrderStageEvent event = OrderStageEvent.start();
+        boolean success = false;
         try {
+            List<StockRequest.StockItemDto> items = domain.toStockItems();
             logger.debug("Stock reduction started: {}", items);
 
-            List<StockRequest.StockItemDto> stockItems = items.stream()
-                    .map(item -> new StockRequest.StockItemDto(item.getProductId(), item.getQuantity()))
-                    .collect(Collectors.toList());
-
-            StockRequest stockRequest = new StockRequest(stockItems);
-
-            ResponseEntity<StockResponse> response = restTemplate.postForEntity(
-                    restaurantApiUrl + "/stock/reduce",
-                    stockRequest,
-                    StockResponse.class
-            );
-
-            StockResponse stockResponse = response.getBody();
-            boolean success = stockResponse != null && stockResponse.isAvailable();
+            success = stockClient.reduce(items);
             logger.debug("Stock reduction result: {}", success);
             return success;
 
         } catch (Exception e) {
+            rethrowIfDeadlineExceeded(e);
             logger.error("Stock reduction error: {}", e.getMessage());
             return false;
+        } finally {
+            event.finish(OrderStageEvent.STOCK_REDUCE, domain.getId(), domain.getItems().size(), success);
         }
     }
 
@@ -151,16 +494,13 @@ public class OrderService {
         }
     }
 
-    private boolean createDelivery(Order order) {
+    private boolean createDelivery(String orderId, OrderDomain domain) {
+        OrderStageEvent event = OrderStageEvent.start();
+        boolean success = false;
         try {
-            logger.debug("Creating delivery for order: {}", order.getId());
+            logger.debug("Creating delivery for order: {}", orderId);
 
-            DeliveryRequest deliveryRequest = new DeliveryRequest(
-                    order.getId(),
-                    order.getCustomerId(),
-                    order.getAddress(),
-                    order.getItems() != null ? order.getItems().stream().map(com.example.orderapi.model.order.OrderItem::toDto).collect(Collectors.toList()) : null
-            );
+            DeliveryRequest deliveryRequest = domain.toDeliveryRequest(orderId);
 
             ResponseEntity<DeliveryResponse> response = restTemplate.postForEntity(
                     deliveryApiUrl + "/start",
@@ -169,13 +509,41 @@ public class OrderService {
             );
 
             DeliveryResponse deliveryResponse = response.getBody();
-            boolean success = deliveryResponse != null && deliveryResponse.isSuccess();
+            success = deliveryResponse != null && deliveryResponse.isSuccess();
             logger.debug("Delivery creation result: {}", success);
             return success;
 
         } catch (Exception e) {
+            rethrowIfDeadlineExceeded(e);
             logger.error("Delivery creation error: {}", e.getMessage());
             return false;
+        } finally {
+            event.finish(OrderStageEvent.DELIVERY, orderId, domain.getItems().size(), success);
+        }
+    }
+
+    // Bütçe dolduğu için kesilen çağrı stok yetersizliği veya teslimat hatası olarak raporlanmaz
+    private static void rethrowIfDeadlineExceeded(Exception e) {
+        if (e instanceof DeadlineExceededException deadlineExceeded) {
+            throw deadlineExceeded;
+        }
+        Deadline deadline = Deadline.current();
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException("Order deadline exceeded", e);
+        }
+    }
+
+    private static final class AcceptedOrder {
+        private final String orderId;
+        private final OrderDomain domain;
+        private int attempts;
+        private boolean prepared;
+        // Depoya en son yazılan ya da okunan sürüm; sonraki yazma yalnızca bu sürüm hâlâ güncelse yapılır
+        private VersionedOrder stored;
+
+        private AcceptedOrder(String orderId, OrderDomain domain) {
+            this.orderId = orderId;
+            this.domain = domain;
         }
     }
 }
@@ -0,0 +1,163 @@
+package com.example.orderapi.service;
+
+import com.example.orderapi.config.RestaurantPartitions;
+import com.example.orderapi.domain.PriceBook;
+import com.example.orderapi.model.response.ApiResponse;
+import com.example.orderapi.model.response.PriceListResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * restaurant-api'deki ürün fiyat ve adlarının yerel kopyası. Okumalar kilitsizdir ({@link #current()});
+ * yenileme tek yazıcı tarafından yapılır ve yeni {@link PriceBook} atomik olarak yerine konur. Bilinmeyen ürün
+ * nedeniyle aynı anda yenileme isteyen thread'lerden yalnızca biri restaurant-api'ye gider, diğerleri sonucunu bekler.
+ * Periyodik yenileme yalnızca son sürümden sonra değişen ürünleri çeker; silinen ürünler için arada bir tam
+ * yükleme yapılır.
+ */
+@Service
+public class PriceBookService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceBookService.class);
+    private static final ParameterizedTypeReference<ApiResponse<PriceListResponse>> RESPONSE_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final RestTemplate restTemplate;
+    private final RestaurantPartitions partitions;
+    private final AtomicReference<PriceBook> current = new AtomicReference<>(PriceBook.EMPTY);
+    private final Counter refreshFailures;
+    // Yenileme HTTP çağrısı yaptığı için monitor yerine kilit kullanılır; virtual thread'i taşıyıcıya sabitlemez
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    @Value("${order.price-book.full-reload-interval:10m}")
+    private Duration fullReloadInterval;
+
+    @Value("${order.price-book.version-overlap:5s}")
+    private Duration versionOverlap;
+
+    @Value("${order.price-book.miss-refresh-interval:1s}")
+    private Duration missRefreshInterval;
+
+    private volatile long lastFullReloadNanos;
+    private volatile long lastRefreshAttemptNanos;
+
+    public PriceBookService(RestTemplate restTemplate, RestaurantPartitions partitions, MeterRegistry meterRegistry) {
+        this.restTemplate = restTemplate;
+        this.partitions = partitions;
+        this.refreshFailures = Counter.builder("order.pricebook.refresh.failures").register(meterRegistry);
+        Gauge.builder("order.pricebook.products", current, reference -> reference.get().size())
+                .register(meterRegistry);
+    }
+
+    public PriceBook current() {
+        return current.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refreshQuietly();
+    }
+
+    @Scheduled(fixedDelayString = "${order.price-book.refresh-interval:PT30S}",
+            initialDelayString = "${order.price-book.refresh-interval:PT30S}")
+    public void scheduledRefresh() {
+        refreshQuietly();
+    }
+
+    /**
+     * Sipariş bilinmeyen bir ürün içerdiğinde çağrılır. Restaurant-api'ye yük bindirmemek için en fazla
+     * {@code order.price-book.miss-refresh-interval} aralıkla yenileme yapar.
+     */
+    public PriceBook refreshOnMiss() {
+        long observed = lastRefreshAttemptNanos;
+        if (System.nanoTime() - observed >= missRefreshInterval.toNanos()) {
+            refreshLock.lock();
+            try {
+                // Kilit beklenirken başka bir thread yenilediyse onun sonucu kullanılır, tekrar istek atılmaz
+                if (lastRefreshAttemptNanos == observed) {
+                    refreshQuietly();
+                }
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+        return current.get();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            refreshFailures.increment();
+            logger.warn("Price book refresh failed, keeping version {}: {}", current.get().getVersion(), e.getMessage());
+        }
+    }
+
+    void refresh() {
+        refreshLock.lock();
+        try {
+            refreshLocked();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshLocked() {
+        lastRefreshAttemptNanos = System.nanoTime();
+        PriceBook book = current.get();
+        boolean full = book == PriceBook.EMPTY
+                || System.nanoTime() - lastFullReloadNanos >= fullReloadInterval.toNanos();
+
+        // Sürümler yazma anındaki zaman damgası olduğundan, geç commit edilen değişiklikleri kaçırmamak için
+        // son sürümden biraz geriden istenir; tekrar gelen kayıtlar aynı değerle üzerine yazılır
+        String query = full
+                ? "/products/prices"
+                : "/products/prices?since=" + Math.max(0, book.getVersion() - versionOverlap.toMillis());
+
+        // Her partition yalnızca kendi ürünlerini döner; listeler birleştirilir, sürüm en yenisi olur.
+        // Bir partition cevap vermezse yenileme bütünüyle başarısız sayılır ve eski fiyat listesi korunur
+        PriceListResponse priceList = new PriceListResponse(0, full, new ArrayList<>());
+        for (String baseUrl : partitions.urls()) {
+            PriceListResponse partition = fetch(baseUrl + query);
+            priceList.setVersion(Math.max(priceList.getVersion(), partition.getVersion()));
+            priceList.getProducts().addAll(partition.getProducts());
+        }
+
+        PriceBook updated = full
+                ? PriceBook.of(priceList.getVersion(), priceList.getProducts())
+                : book.withUpdates(priceList.getVersion(), priceList.getProducts());
+        current.set(updated);
+
+        if (full) {
+            lastFullReloadNanos = System.nanoTime();
+            logger.info("Price book loaded: {} products, version {}", updated.size(), updated.getVersion());
+        } else if (!priceList.getProducts().isEmpty()) {
+            logger.debug("Price book updated: {} changed products, version {}",
+                    priceList.getProducts().size(), updated.getVersion());
+        }
+    }
+
+    private PriceListResponse fetch(String url) {
+        ApiResponse<PriceListResponse> response = restTemplate.exchange(url, HttpMethod.GET, null, RESPONSE_TYPE).getBody();
+        if (response == null || response.getData() == null) {
+            throw new IllegalStateException("Empty price list response");
+        }
+        return response.getData();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.orderapi.service;
+
+import com.example.orderapi.exception.ProfilingStateException;
+import com.example.orderapi.model.response.ProfilingStatus;
+import com.example.orderapi.profiling.DownstreamCallEvent;
+import com.example.orderapi.profiling.OrderStageEvent;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * İsteğe bağlı Java Flight Recorder kaydı. Aynı anda tek kayıt açılabilir; süre ve boyut yapılandırılan üst
+ * sınırlarla kısıtlanır, süre dolunca kayıt kendiliğinden durur ve dosyaya yazılır. Yeni kayıt başlatıldığında
+ * önceki dosya silinir.
+ */
+@Service
+@ConditionalOnProperty(name = "order.profiling.enabled", havingValue = "true")
+public class ProfilingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilingService.class);
+
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final Path directory;
+    private final String settings;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+
+    private Recording recording;
+    private Path file;
+    private Instant startedAt;
+
+    public ProfilingService(@Value("${order.profiling.directory:./profiling}") String directory,
+                            @Value("${order.profiling.settings:profile}") String settings,
+                            @Value("${order.profiling.max-duration:10m}") Duration maxDuration,
+                            @Value("${order.profiling.max-size:100MB}") DataSize maxSize) {
+        this.directory = Paths.get(directory);
+        this.settings = settings;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    public synchronized ProfilingStatus start(Duration duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new ProfilingStateException("Devam eden bir profil kaydı var");
+        }
+        Duration bounded = duration == null || duration.isNegative() || duration.isZero()
+                || duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+
+        discard();
+        Instant now = Instant.now();
+        Path target = directory.resolve("order-api-" + FILE_TIMESTAMP.format(now) + ".jfr");
+        Recording started;
+        try {
+            Files.createDirectories(directory);
+            started = new Recording(Configuration.getConfiguration(settings));
+            started.setName("order-api-on-demand");
+            started.setDuration(bounded);
+            started.setMaxSize(maxSize.toBytes());
+            started.setToDisk(true);
+            started.setDestination(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Profiling recording could not be prepared", e);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + settings, e);
+        }
+        started.enable(OrderStageEvent.class);
+        started.enable(DownstreamCallEvent.class);
+        started.start();
+
+        recording = started;
+        file = target;
+        startedAt = now;
+        logger.info("JFR recording started for {} s, max {} bytes: {}", bounded.toSeconds(), maxSize.toBytes(), target);
+        return status();
+    }
+
+    /**
+     * Kayıt sürüyorsa durdurur ve kayıt dosyasını döner; süresi dolarak kendiliğinden durmuş kayıtta da dosya döner.
+     */
+    public synchronized Path stop() {
+        if (recording == null) {
+            throw new ProfilingStateException("Başlatılmış bir profil kaydı yok");
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            logger.info("JFR recording stopped: {}", file);
+        }
+        if (!Files.exists(file)) {
+            throw new ProfilingStateException("Profil kaydı henüz dosyaya yazılmadı");
+        }
+        return file;
+    }
+
+    public synchronized ProfilingStatus status() {
+        if (recording == null) {
+            return ProfilingStatus.builder().state("NONE").build();
+        }
+        return ProfilingStatus.builder()
+                .state(recording.getState() == RecordingState.RUNNING ? "RUNNING" : "STOPPED")
+                .startedAt(startedAt)
+                .durationSeconds(recording.getDuration().toSeconds())
+                .maxSizeBytes(recording.getMaxSize())
+                .file(file.getFileName().toString())
+                .fileSizeBytes(fileSize())
+                .build();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private Long fileSize() {
+        try {
+            return Files.exists(file) ? Files.size(file) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void discard() {
+        if (recording == null) {
+            return;
+        }
+        recording.close();
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Previous JFR recording could not be deleted: {}", file);
+        }
+        recording = null;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.orderapi.service;
+
+import com.example.orderapi.model.order.Order;
+import com.example.orderapi.repository.VersionedOrder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bu instance'ın son yazdığı siparişler. Kayıt {@link OrderService} içinde depoya yazıldıktan hemen sonra eklenir,
+ * böylece oluşturulan bir sipariş Elasticsearch indeksi yenilenmeden ID ile okunabilir. Kapasite dolunca en eski
+ * yazı atılır; başka bir instance'ın sonradan yaptığı güncelleme burada görünmeyeceği için kayıtlar {@code ttl}
+ * sonunda da düşer ve okuma depodan yapılır.
+ * <p>
+ * Aynı siparişe eşzamanlı iki yazma yapıldığında önbelleğe eklenme sırası yazma sırasından farklı olabilir; bu yüzden
+ * kayıtlar sürümüyle ({@code _seq_no}/{@code _primary_term}) tutulur ve eski sürüm yenisinin üzerine yazılmaz.
+ * Okuma ve yazma kilit almaz.
+ */
+@Component
+public class RecentOrderCache {
+
+    private static final long UNVERSIONED = -1;
+
+    private final int capacity;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Yazma sırası; yeniden yazılan siparişin eski düğümü atılırken atlanır
+    private final Queue<Node> writeOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public RecentOrderCache(MeterRegistry meterRegistry,
+                            @Value("${order.recent-cache.size:10000}") int capacity,
+                            @Value("${order.recent-cache.ttl:30s}") Duration ttl) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Recent order cache size must be positive");
+        }
+        this.capacity = capacity;
+        this.ttlNanos = ttl.toNanos();
+        this.hits = meterRegistry.counter("order.recent-cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("order.recent-cache.requests", "result", "miss");
+        Gauge.builder("order.recent-cache.size", this, RecentOrderCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Koşulsuz yazılan (yeni oluşturulan) sipariş. Depo sürüm döndürdüyse o sürümle tutulur.
+     */
+    public void put(Order order) {
+        SeqNoPrimaryTerm version = order.getSeqNoPrimaryTerm();
+        put(order, version != null ? version.sequenceNumber() : UNVERSIONED,
+                version != null ? version.primaryTerm() : UNVERSIONED);
+    }
+
+    public void put(VersionedOrder order) {
+        put(order.order(), order.seqNo(), order.primaryTerm());
+    }
+
+    /**
+     * @return son yazılan sipariş; bilinmiyorsa veya süresi dolduysa null
+     */
+    public Order get(String id) {
+        Entry entry = entries.get(id);
+        if (entry != null && expired(entry, System.nanoTime())) {
+            entries.remove(id, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.order();
+    }
+
+    public void clear() {
+        entries.clear();
+        writeOrder.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(Order order, long seqNo, long primaryTerm) {
+        Entry candidate = new Entry(order, seqNo, primaryTerm, System.nanoTime(), sequence.incrementAndGet());
+        Entry stored = entries.merge(order.getId(), candidate,
+                (existing, written) -> existing.isNewerThan(written) ? existing : written);
+        if (stored == candidate) {
+            writeOrder.add(new Node(order.getId(), candidate.sequence()));
+        }
+        evict();
+    }
+
+    // En eski yazılar kapasite aşıldıkça, eskimiş düğümler ve süresi dolan kayıtlar her zaman atılır
+    private void evict() {
+        long now = System.nanoTime();
+        for (Node head = writeOrder.peek(); head != null; head = writeOrder.peek()) {
+            Entry entry = entries.get(head.id());
+            boolean live = entry != null && entry.sequence() == head.sequence();
+            if (live && entries.size() <= capacity && !expired(entry, now)) {
+                return;
+            }
+            if (writeOrder.remove(head) && live) {
+                entries.remove(head.id(), entry);
+            }
+        }
+    }
+
+    private boolean expired(Entry entry, long now) {
+        return now - entry.writtenAtNanos() > ttlNanos;
+    }
+
+    private record Entry(Order order, long seqNo, long primaryTerm, long writtenAtNanos, long sequence) {
+
+        // Sürümsüz yazı yalnızca oluşturmadır; sürümlü bir kaydın yerini almaz
+        boolean isNewerThan(Entry other) {
+            if (other.primaryTerm == UNVERSIONED) {
+                return primaryTerm != UNVERSIONED;
+            }
+            if (primaryTerm == UNVERSIONED) {
+                return false;
+            }
+            return primaryTerm != other.primaryTerm ? primaryTerm > other.primaryTerm : seqNo > other.seqNo;
+        }
+    }
+
+    private record Node(String id, long sequence) {
+    }
+}
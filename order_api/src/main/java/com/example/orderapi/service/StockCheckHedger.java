@@ -0,0 +1,259 @@
+package com.example.orderapi.service;
+
+import com.example.orderapi.exception.DeadlineExceededException;
+import com.example.orderapi.exception.OrderProcessingException;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Yalnızca okuma yapan, tekrarlanması güvenli çağrılar için hedging. Çağrı son gecikmelerin belirlenen yüzdeliği
+ * kadar sürede cevap vermezse aynı istek ikinci kez gönderilir ve ilk başarılı cevap kullanılır. Ek yük token bucket
+ * ile sınırlanır: her çağrı {@code max-extra-load} kadar token biriktirir, her hedge bir token harcar.
+ * Kaybeden istek iptal edilmez; zaman aşımı ve istek bütçesiyle sınırlı olarak arka planda tamamlanır.
+ * Denemeler en fazla {@code max-threads} thread'li bir havuzda çalışır; havuz doluysa ilk deneme çağıranın thread'inde
+ * yapılır ve hedge gönderilmez.
+ */
+@Component
+public class StockCheckHedger {
+
+    private static final int WINDOW = 512;
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final double maxExtraLoad;
+    private final double maxBurst;
+    private final ExecutorService executor;
+    private final ContextSnapshotFactory snapshotFactory = ContextSnapshotFactory.builder().build();
+
+    private final Counter callsCounter;
+    private final Counter hedgesCounter;
+    private final Counter winsCounter;
+    private final Counter throttledCounter;
+    private final Counter rejectedCounter;
+
+    // Örnekler ve token'lar bu kilit altında güncellenir; deneme thread'leri ve çağıranlar monitor'de beklemez
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] samples = new long[WINDOW];
+    private int sampleCount;
+    private int sampleIndex;
+    private int sinceRecompute;
+
+    // Yeterli örnek toplanana kadar negatif; bu sürede hedge yapılmaz
+    private volatile long hedgeDelayNanos = -1;
+    private double tokens;
+
+    public StockCheckHedger(MeterRegistry meterRegistry,
+                            @Value("${order.stock-hedging.enabled:false}") boolean enabled,
+                            @Value("${order.stock-hedging.percentile:0.95}") double percentile,
+                            @Value("${order.stock-hedging.min-delay:10ms}") Duration minDelay,
+                            @Value("${order.stock-hedging.max-extra-load:0.05}") double maxExtraLoad,
+                            @Value("${order.stock-hedging.max-burst:10}") double maxBurst,
+                            @Value("${order.stock-hedging.max-threads:64}") int maxThreads) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Hedging percentile must be between 0 and 1");
+        }
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxExtraLoad = maxExtraLoad;
+        this.maxBurst = maxBurst;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(0, maxThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "stock-hedge-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.callsCounter = meterRegistry.counter("order.stock.check.calls");
+        this.hedgesCounter = meterRegistry.counter("order.stock.hedge.sent");
+        this.winsCounter = meterRegistry.counter("order.stock.hedge.wins");
+        this.throttledCounter = meterRegistry.counter("order.stock.hedge.throttled");
+        this.rejectedCounter = meterRegistry.counter("order.stock.hedge.rejected");
+        Gauge.builder("order.stock.hedge.delay", this, hedger -> Math.max(0, hedger.hedgeDelayNanos) / 1_000_000.0)
+                .description("Stok kontrolünde ikinci isteğin gönderileceği bekleme süresi")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public <T> T call(Supplier<T> attempt) {
+        if (!enabled) {
+            return attempt.get();
+        }
+        callsCounter.increment();
+        depositToken();
+
+        long delay = hedgeDelayNanos;
+        if (delay < 0) {
+            long start = System.nanoTime();
+            T value = attempt.get();
+            record(System.nanoTime() - start);
+            return value;
+        }
+
+        Deadline deadline = Deadline.current();
+        // İki deneme de çağıranın izine bağlı span'ler üretir
+        ContextSnapshot context = snapshotFactory.captureAll();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        if (!launch(attempt, deadline, context, result, pending, false)) {
+            rejectedCounter.increment();
+            return attempt.get();
+        }
+        try {
+            return result.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Cevap bu arada geldiyse veya bütçe dolduysa hedge gerekmez; bunlar sayılmaz
+            if (result.isDone() || (deadline != null && deadline.isExpired())) {
+                return await(result, deadline);
+            }
+            if (!tryAcquireToken()) {
+                throttledCounter.increment();
+                return await(result, deadline);
+            }
+            pending.incrementAndGet();
+            if (launch(attempt, deadline, context, result, pending, true)) {
+                hedgesCounter.increment();
+            } else {
+                rejectedCounter.increment();
+                if (pending.decrementAndGet() == 0) {
+                    // İlk deneme bu arada hata verdi; hedge çağıranın thread'inde yapılır
+                    return attempt.get();
+                }
+            }
+            return await(result, deadline);
+        } catch (InterruptedException | ExecutionException e) {
+            return rethrow(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Havuz doluysa false döner
+    private <T> boolean launch(Supplier<T> attempt, Deadline deadline, ContextSnapshot context,
+                               CompletableFuture<T> result, AtomicInteger pending, boolean hedge) {
+        try {
+            executor.execute(context.wrap(() -> run(attempt, deadline, result, pending, hedge)));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private <T> void run(Supplier<T> attempt, Deadline deadline, CompletableFuture<T> result,
+                         AtomicInteger pending, boolean hedge) {
+        long start = System.nanoTime();
+        try (Deadline.Scope ignored = deadline != null ? deadline.bind() : null) {
+            T value = attempt.get();
+            record(System.nanoTime() - start);
+            if (result.complete(value) && hedge) {
+                winsCounter.increment();
+            }
+        } catch (Throwable e) {
+            // Diğer istek hâlâ sürüyorsa onun cevabı beklenir; Error da çağıranı bekletmemek için iletilir
+            if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    // Bütçe varsa bekleme onunla sınırlanır; denemeler arka planda sürse de çağıran bütçe dolunca bırakılır
+    private static <T> T await(CompletableFuture<T> result, Deadline deadline) {
+        try {
+            if (deadline == null) {
+                return result.get();
+            }
+            return result.get(Math.max(0, deadline.remainingMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Order deadline exceeded", e);
+        } catch (InterruptedException | ExecutionException e) {
+            return rethrow(e);
+        }
+    }
+
+    private static <T> T rethrow(Exception e) {
+        if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+            throw new OrderProcessingException("Stock check interrupted", e);
+        }
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        throw new OrderProcessingException("Stock check failed", e.getCause());
+    }
+
+    private void depositToken() {
+        lock.lock();
+        try {
+            tokens = Math.min(maxBurst, tokens + maxExtraLoad);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean tryAcquireToken() {
+        lock.lock();
+        try {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(long latencyNanos) {
+        long[] sorted;
+        int count;
+        lock.lock();
+        try {
+            samples[sampleIndex] = latencyNanos;
+            sampleIndex = (sampleIndex + 1) % WINDOW;
+            if (sampleCount < WINDOW) {
+                sampleCount++;
+            }
+            if (++sinceRecompute < RECOMPUTE_EVERY) {
+                return;
+            }
+            sinceRecompute = 0;
+            sorted = Arrays.copyOf(samples, sampleCount);
+            count = sampleCount;
+        } finally {
+            lock.unlock();
+        }
+        // Sıralama kilit dışında yapılır
+        Arrays.sort(sorted);
+        int index = Math.max(0, (int) Math.ceil(percentile * count) - 1);
+        hedgeDelayNanos = Math.max(minDelayNanos, sorted[index]);
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.orderapi.service;
+
+import com.example.orderapi.config.DeadlinePropagationInterceptor;
+import com.example.orderapi.config.GzipRequestInterceptor;
+import com.example.orderapi.config.RestTemplateConfig;
+import com.example.orderapi.config.RestaurantPartitions;
+import com.example.orderapi.exception.DeadlineExceededException;
+import com.example.orderapi.exception.OrderProcessingException;
+import com.example.orderapi.model.enums.PayloadFormat;
+import com.example.orderapi.model.request.StockRequest;
+import com.example.orderapi.model.request.StockReservationRequest;
+import com.example.orderapi.model.response.StockResponse;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * restaurant-api stok endpoint'leri için istemci. Payload formatı (JSON veya Smile) content negotiation ile seçilir;
+ * karşı taraf formatı desteklemiyorsa (415) JSON'a geri dönülür. Büyük gövdeler gzip ile gönderilir.
+ * İstek bütçesinin kalanı restaurant-api'ye iletilir; restaurant-api bütçe dolduğu için 504 dönerse
+ * {@link DeadlineExceededException} fırlatılır. Yalnızca okuma yapan stok kontrolü {@link StockCheckHedger} ile
+ * hedge edilebilir; stok azaltma tekrarlanması güvenli olmadığı için her zaman tek istekle gönderilir.
+ * <p>
+ * Stok birden fazla restaurant-api partition'ına dağıtılmışsa ({@link RestaurantPartitions}) kalemler sahip partition'lara
+ * ayrılıp paralel gönderilir. Paralel çağrılar en fazla {@code restaurant.api.partition-threads} thread'li bir havuzda
+ * çalışır; havuz doluysa çağrı çağıranın thread'inde yapılır. Birden fazla partition'a dokunan azaltma ya hep ya hiç yapılır: önce tüm partition'larda
+ * rezervasyon alınır, biri bile alınamazsa diğerleri iptal edilir, hepsi alındıysa onaylanır. Bir partition'da onay
+ * alınamazsa (rezervasyon süresi dolmuş veya denemeler bitmiş) azaltma başarısız sayılır: o partition'daki rezervasyon
+ * iptal edilir, onaylanan partition'lara düşülen stok {@code /stock/increase} ile geri eklenir.
+ * <p>
+ * İptal edilen siparişin düşülmüş stoğu {@link #release} ile geri eklenir. Artırma tekrarlanması güvenli olmadığı
+ * için tek istekle gönderilir; başarısız olursa sayaç artırılır ve stok elle düzeltilmelidir.
+ */
+@Component
+public class StockClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockClient.class);
+    private static final int CONFIRM_ATTEMPTS = 3;
+
+    private final RestTemplate restTemplate;
+    private final StockCheckHedger hedger;
+    private final RestaurantPartitions partitions;
+    private final ExecutorService executor;
+    private final ContextSnapshotFactory snapshotFactory = ContextSnapshotFactory.builder().build();
+    private final Counter confirmFailures;
+    private final Counter releaseFailures;
+    private volatile PayloadFormat payloadFormat;
+
+    public StockClient(RestTemplateBuilder builder, DeadlinePropagationInterceptor deadlineInterceptor,
+                       StockCheckHedger hedger, RestaurantPartitions partitions, MeterRegistry meterRegistry,
+                       @Value("${restaurant.api.payload-format:json}") String payloadFormat,
+                       @Value("${restaurant.api.gzip-min-bytes:4096}") int gzipMinBytes,
+                       @Value("${restaurant.api.partition-threads:64}") int partitionThreads) {
+        this.restTemplate = RestTemplateConfig.downstream(builder, deadlineInterceptor,
+                new GzipRequestInterceptor(gzipMinBytes)).build();
+        this.hedger = hedger;
+        this.partitions = partitions;
+        this.payloadFormat = PayloadFormat.fromString(payloadFormat);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(0, partitionThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "stock-partition-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Havuz doluysa (veya kapanıyorsa) çağrı çağıranın thread'inde yapılır; sonucu beklenen iş düşürülmez
+                (task, pool) -> task.run());
+        this.confirmFailures = meterRegistry.counter("order.stock.reservation.confirm.failures");
+        this.releaseFailures = meterRegistry.counter("order.stock.release.failures");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public boolean check(List<StockRequest.StockItemDto> items) {
+        Map<String, List<StockRequest.StockItemDto>> byPartition = split(items);
+        if (byPartition.size() == 1) {
+            String url = byPartition.keySet().iterator().next();
+            return hedger.call(() -> post(url, "/stock/check", new StockRequest(items)));
+        }
+        return allTrue(callAll(byPartition.keySet(), true,
+                url -> hedger.call(() -> post(url, "/stock/check", new StockRequest(byPartition.get(url))))));
+    }
+
+    public boolean reduce(List<StockRequest.StockItemDto> items) {
+        Map<String, List<StockRequest.StockItemDto>> byPartition = split(items);
+        if (byPartition.size() == 1) {
+            return post(byPartition.keySet().iterator().next(), "/stock/reduce", new StockRequest(items));
+        }
+
+        String reservationId = UUID.randomUUID().toString();
+        boolean reserved;
+        try {
+            reserved = allTrue(callAll(byPartition.keySet(), true, url -> post(url, "/stock/reservations",
+                    new StockReservationRequest(reservationId, byPartition.get(url)))));
+        } catch (RuntimeException e) {
+            cancel(reservationId, byPartition.keySet());
+            throw e;
+        }
+        if (!reserved) {
+            logger.debug("Stock reservation {} rejected by a partition, cancelling", reservationId);
+            cancel(reservationId, byPartition.keySet());
+            return false;
+        }
+        List<String> unconfirmed = confirm(reservationId, byPartition.keySet());
+        if (unconfirmed.isEmpty()) {
+            return true;
+        }
+        // Onaylanamayan partition'ın stoğu geri döneceği için onaylanan partition'lardaki düşüm de geri alınır
+        cancel(reservationId, unconfirmed);
+        List<StockRequest.StockItemDto> confirmedItems = byPartition.entrySet().stream()
+                .filter(entry -> !unconfirmed.contains(entry.getKey()))
+                .flatMap(entry -> entry.getValue().stream())
+                .toList();
+        if (!confirmedItems.isEmpty()) {
+            release(confirmedItems);
+        }
+        return false;
+    }
+
+    // İptal istek bütçesinden bağımsız olarak tamamlanmalıdır; bu yüzden bütçe bağlanmadan çalıştırılır
+    public boolean release(List<StockRequest.StockItemDto> items) {
+        Map<String, List<StockRequest.StockItemDto>> byPartition = split(items);
+        return allTrue(callAll(byPartition.keySet(), false, url -> {
+            try {
+                if (post(url, "/stock/increase", new StockRequest(byPartition.get(url)))) {
+                    return true;
+                }
+                logger.error("Stock release rejected by {}: {}", url, byPartition.get(url));
+            } catch (RuntimeException e) {
+                logger.error("Stock release on {} failed: {}", url, e.getMessage());
+            }
+            releaseFailures.increment();
+            return false;
+        }));
+    }
+
+    private Map<String, List<StockRequest.StockItemDto>> split(List<StockRequest.StockItemDto> items) {
+        Map<String, List<StockRequest.StockItemDto>> byPartition =
+                partitions.split(items, StockRequest.StockItemDto::getProductId);
+        return byPartition.isEmpty() ? Map.of(partitions.urls().get(0), items) : byPartition;
+    }
+
+    // İptal ve onay istek bütçesi dolmuş olsa da gönderilmelidir; bu yüzden bütçe bağlanmadan çalıştırılır
+    private void cancel(String reservationId, Collection<String> urls) {
+        callAll(urls, false, url -> {
+            try {
+                restTemplate.delete(url + "/stock/reservations/" + reservationId);
+            } catch (RuntimeException e) {
+                logger.warn("Cancelling stock reservation {} on {} failed, it will expire: {}",
+                        reservationId, url, e.getMessage());
+            }
+            return true;
+        });
+    }
+
+    /**
+     * @return onaylanamayan partition'lar
+     */
+    private List<String> confirm(String reservationId, Collection<String> urls) {
+        List<String> ordered = List.copyOf(urls);
+        List<Boolean> confirmed = callAll(ordered, false, url -> {
+            for (int attempt = 1; attempt <= CONFIRM_ATTEMPTS; attempt++) {
+                try {
+                    restTemplate.postForEntity(url + "/stock/reservations/" + reservationId + "/confirm",
+                            null, Void.class);
+                    return true;
+                } catch (HttpClientErrorException.NotFound e) {
+                    // Rezervasyon süresi dolup stoğa geri dönmüş; tekrar denemek sonucu değiştirmez
+                    break;
+                } catch (RuntimeException e) {
+                    logger.warn("Confirming stock reservation {} on {} failed (attempt {}): {}",
+                            reservationId, url, attempt, e.getMessage());
+                }
+            }
+            confirmFailures.increment();
+            logger.error("Stock reservation {} could not be confirmed on {}, reduction will be rolled back",
+                    reservationId, url);
+            return false;
+        });
+        List<String> unconfirmed = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            if (!confirmed.get(i)) {
+                unconfirmed.add(ordered.get(i));
+            }
+        }
+        return unconfirmed;
+    }
+
+    /**
+     * Her partition için çağrıyı paralel çalıştırır ve hepsinin bitmesini bekler; bir partition'ın hatası diğerlerinin
+     * sonucunu beklemeden döndürülmez, böylece ardından gönderilen iptal hiçbir rezervasyondan önce varmaz.
+     */
+    private List<Boolean> callAll(Collection<String> urls, boolean bindDeadline, Function<String, Boolean> call) {
+        Deadline deadline = bindDeadline ? Deadline.current() : null;
+        List<Future<Boolean>> futures = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            futures.add(executor.submit(snapshotFactory.captureAll().wrap(() -> {
+                // Havuz doluysa iş çağıranın thread'inde çalışır; bütçesiz çağrıların oradaki bütçeyi görmemesi gerekir
+                try (Deadline.Scope ignored = deadline != null ? deadline.bind() : Deadline.unbind()) {
+                    return call.apply(url);
+                }
+            })));
+        }
+
+        List<Boolean> results = new ArrayList<>(futures.size());
+        RuntimeException failure = null;
+        for (Future<Boolean> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OrderProcessingException("Stock call interrupted", e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException runtimeException
+                            ? runtimeException
+                            : new OrderProcessingException("Stock call failed", e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    private static boolean allTrue(List<Boolean> results) {
+        return results.stream().allMatch(Boolean::booleanValue);
+    }
+
+    private boolean post(String baseUrl, String path, Object body) {
+        PayloadFormat format = payloadFormat;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(format.getMediaType());
+        headers.setAccept(format == PayloadFormat.JSON
+                ? List.of(MediaType.APPLICATION_JSON)
+                : List.of(format.getMediaType(), MediaType.APPLICATION_JSON));
+
+        try {
+            ResponseEntity<StockResponse> response = restTemplate.postForEntity(
+                    baseUrl + path,
+                    new HttpEntity<>(body, headers),
+                    StockResponse.class
+            );
+
+            StockResponse stockResponse = response.getBody();
+            return stockResponse != null && stockResponse.isAvailable();
+        } catch (HttpServerErrorException.GatewayTimeout e) {
+            throw new DeadlineExceededException("restaurant-api rejected " + path + ", deadline exceeded", e);
+        } catch (HttpClientErrorException.UnsupportedMediaType e) {
+            if (format == PayloadFormat.JSON) {
+                throw e;
+            }
+            logger.warn("restaurant-api does not accept {}, falling back to JSON", format.getMediaType());
+            payloadFormat = PayloadFormat.JSON;
+            return post(baseUrl, path, body);
+        }
+    }
+}
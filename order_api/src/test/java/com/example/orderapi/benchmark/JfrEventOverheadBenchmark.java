@@ -0,0 +1,83 @@
+package com.example.orderapi.benchmark;
+
+import com.example.orderapi.profiling.OrderStageEvent;
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sipariş aşamalarına eklenen JFR olaylarının maliyetini ölçer. recording=false, kayıt kapalıyken
+ * (üretimdeki olağan durum) enstrümante edilmiş aşamanın çıplak aşamayla aynı sürede ve ayırma yapmadan
+ * çalıştığını göstermelidir:
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="JfrEventOverhead -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JfrEventOverheadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean recording;
+
+    private Recording activeRecording;
+    private long[] prices;
+
+    @Setup
+    public void setUp() {
+        prices = new long[16];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = 1000 + i * 250L;
+        }
+        if (recording) {
+            activeRecording = new Recording();
+            activeRecording.enable(OrderStageEvent.class);
+            activeRecording.setMaxSize(16 * 1024 * 1024);
+            activeRecording.start();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (activeRecording != null) {
+            activeRecording.close();
+        }
+    }
+
+    @Benchmark
+    public void bareStage(Blackhole blackhole) {
+        blackhole.consume(stage());
+    }
+
+    @Benchmark
+    public void instrumentedStage(Blackhole blackhole) {
+        OrderStageEvent event = OrderStageEvent.start();
+        long total = stage();
+        event.finish(OrderStageEvent.PRICING, 123456789L, prices.length, true);
+        blackhole.consume(total);
+    }
+
+    // Aşama yerine geçen küçük bir hesaplama; olay maliyeti bununla kıyaslanır
+    private long stage() {
+        long total = 0;
+        for (long price : prices) {
+            total += price * 3;
+        }
+        return total;
+    }
+}
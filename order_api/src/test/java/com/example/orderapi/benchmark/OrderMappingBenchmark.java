@@ -0,0 +1,73 @@
+package com.example.orderapi.benchmark;
+
+import com.example.orderapi.domain.OrderDomain;
+import com.example.orderapi.domain.PriceBook;
+import com.example.orderapi.model.order.OrderItemDto;
+import com.example.orderapi.model.request.OrderRequest;
+import com.example.orderapi.model.response.PriceListResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Senkron sipariş akışındaki dönüşümlerin (istek → domain → stok isteği, entity, teslimat isteği) sipariş başına
+ * maliyetini ölçer. Ayırma miktarı için GC profiler ile çalıştırılır, gc.alloc.rate.norm satırı B/op verir:
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="OrderMapping -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderMappingBenchmark {
+
+    @Param({"3", "50"})
+    public int items;
+
+    private PriceBook priceBook;
+    private OrderRequest request;
+
+    @Setup
+    public void setUp() {
+        List<PriceListResponse.ProductPrice> products = new ArrayList<>(100);
+        for (int i = 1; i <= 100; i++) {
+            products.add(new PriceListResponse.ProductPrice(i, "Ürün " + i, BigDecimal.valueOf(1000 + i * 100L, 2), 1));
+        }
+        priceBook = PriceBook.of(1, products);
+
+        List<OrderItemDto> orderItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            orderItems.add(OrderItemDto.builder().productId(i % 100 + 1).quantity(i % 5 + 1).build());
+        }
+        request = OrderRequest.builder()
+                .customerId(42)
+                .address("Kadıköy, İstanbul")
+                .items(orderItems)
+                .build();
+    }
+
+    @Benchmark
+    public void mapOrder(Blackhole blackhole) {
+        OrderDomain domain = request.toDomain(priceBook);
+        blackhole.consume(domain.toStockItems());
+        domain.confirm();
+        domain.setId(123456789L);
+        blackhole.consume(domain.toEntity());
+        blackhole.consume(domain.toDeliveryRequest("123456789"));
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.orderapi.benchmark;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.example.orderapi.config.ElasticsearchConfig;
+import com.example.orderapi.domain.Money;
+import com.example.orderapi.model.enums.OrderStatus;
+import com.example.orderapi.model.order.Order;
+import com.example.orderapi.model.order.OrderItem;
+import com.example.orderapi.repository.ElasticsearchOrderStore;
+import com.example.orderapi.repository.EmbeddedOrderStore;
+import com.example.orderapi.repository.OrderRepository;
+import com.example.orderapi.repository.OrderStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RestClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchCustomConversions;
+import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import org.springframework.data.elasticsearch.repository.support.ElasticsearchRepositoryFactory;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sipariş deposu arka uçlarının yazma ve okuma gecikmelerini karşılaştırır. Elasticsearch arka ucu uygulamadaki
+ * repository ile aynı yoldan gider; {@code -Dbenchmark.elasticsearch.url} verilmezse Testcontainers ile geçici bir
+ * Elasticsearch başlatılır (Docker gerekir). Verilen Elasticsearch'teki "orders" indeksine yazıldığı için gerçek
+ * veri içeren bir küme kullanılmamalıdır:
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="OrderStore"
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderStoreBenchmark {
+
+    private static final int PRELOADED_ORDERS = 10_000;
+    private static final int CUSTOMERS = 1_000;
+
+    @Param({"embedded", "elasticsearch"})
+    public String backend;
+
+    private OrderStore store;
+    private Path directory;
+    private EmbeddedOrderStore embedded;
+    private RestClient restClient;
+    private GenericContainer<?> container;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private long nextId = PRELOADED_ORDERS;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if ("embedded".equals(backend)) {
+            directory = Files.createTempDirectory("order-store-benchmark");
+            embedded = new EmbeddedOrderStore(directory.toString(), DataSize.ofMegabytes(64), false, false,
+                    new SimpleMeterRegistry());
+            store = embedded;
+        } else {
+            store = elasticsearchStore();
+        }
+        for (int i = 0; i < PRELOADED_ORDERS; i++) {
+            store.save(order(i));
+        }
+        if (restClient != null) {
+            // Müşteri sorgusu aramadan geçtiği için ön yükleme görünür olmalı
+            restClient.performRequest(new Request("POST", "/orders/_refresh"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+        if (restClient != null) {
+            restClient.close();
+        }
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    @Benchmark
+    public Order save() {
+        return store.save(order(nextId++));
+    }
+
+    @Benchmark
+    public Object findById() {
+        return store.findById(String.valueOf(random.nextInt(PRELOADED_ORDERS)));
+    }
+
+    @Benchmark
+    public List<Order> findByCustomerId() {
+        return store.findByCustomerId(random.nextInt(CUSTOMERS));
+    }
+
+    private OrderStore elasticsearchStore() {
+        String url = System.getProperty("benchmark.elasticsearch.url");
+        if (url == null) {
+            container = new GenericContainer<>(DockerImageName.parse("docker.elastic.co/elasticsearch/elasticsearch:8.11.0"))
+                    .withExposedPorts(9200)
+                    .withEnv("discovery.type", "single-node")
+                    .withEnv("xpack.security.enabled", "false")
+                    .withEnv("ES_JAVA_OPTS", "-Xms512m -Xmx512m")
+                    .withStartupTimeout(Duration.ofMinutes(3));
+            container.start();
+            url = "http://localhost:" + container.getMappedPort(9200);
+        }
+        restClient = RestClient.builder(HttpHost.create(url)).build();
+        ElasticsearchClient client = new ElasticsearchClient(new RestClientTransport(restClient, new JacksonJsonpMapper()));
+
+        // Uygulamadaki tutar dönüşümleriyle aynı eşleme kullanılır
+        ElasticsearchCustomConversions conversions = new ElasticsearchConfig().elasticsearchCustomConversions();
+        SimpleElasticsearchMappingContext mappingContext = new SimpleElasticsearchMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingElasticsearchConverter converter = new MappingElasticsearchConverter(mappingContext);
+        converter.setConversions(conversions);
+        converter.afterPropertiesSet();
+
+        OrderRepository repository = new ElasticsearchRepositoryFactory(new ElasticsearchTemplate(client, converter))
+                .getRepository(OrderRepository.class);
+        return new ElasticsearchOrderStore(repository);
+    }
+
+    private static Order order(long id) {
+        return Order.builder()
+                .id(String.valueOf(id))
+                .customerId((int) (id % CUSTOMERS))
+                .address("Moda Cad. No:" + id)
+                .status(OrderStatus.values()[(int) (id % OrderStatus.values().length)])
+                .totalAmount(Money.toMajor(2450L))
+                .deliveryId(0)
+                .orderDate("2024-01-01T12:00:00")
+                .items(List.of(
+                        OrderItem.builder().productId(1).productName("Ürün 1").quantity(1)
+                                .price(Money.toMajor(1225L)).build(),
+                        OrderItem.builder().productId(2).productName("Ürün 2").quantity(1)
+                                .price(Money.toMajor(1225L)).build()))
+                .build();
+    }
+}
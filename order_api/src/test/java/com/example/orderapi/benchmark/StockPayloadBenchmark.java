@@ -0,0 +1,114 @@
+package com.example.orderapi.benchmark;
+
+import com.example.orderapi.model.request.StockRequest;
+import com.example.orderapi.model.response.StockResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stok istek/yanıt payload'larının JSON ve Smile ile encode/decode maliyetini ve ağdaki boyutunu karşılaştırır.
+ * Boyutlar her parametre kombinasyonunun başında "wire bytes" satırı olarak yazdırılır.
+ * Çalıştırmak için: mvn -Pbenchmark test-compile exec:exec -Djmh.args="StockPayload"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StockPayloadBenchmark {
+
+    @Param({"json", "smile"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    @Param({"3", "500"})
+    public int items;
+
+    private ObjectMapper mapper;
+    private StockRequest request;
+    private StockResponse response;
+    private byte[] encodedRequest;
+    private byte[] encodedResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = "smile".equals(format) ? new ObjectMapper(new SmileFactory()) : new ObjectMapper();
+
+        List<StockRequest.StockItemDto> stockItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            stockItems.add(new StockRequest.StockItemDto(i + 1, (i % 5) + 1));
+        }
+        request = new StockRequest(stockItems);
+        response = new StockResponse(true, "Tüm ürünler stokta mevcut");
+
+        encodedRequest = encode(request);
+        encodedResponse = encode(response);
+        System.out.printf("%nwire bytes [format=%s, gzip=%s, items=%d]: request=%d response=%d%n",
+                format, gzip, items, encodedRequest.length, encodedResponse.length);
+    }
+
+    @Benchmark
+    public byte[] encodeRequest() throws IOException {
+        return encode(request);
+    }
+
+    @Benchmark
+    public StockRequest decodeRequest() throws IOException {
+        return decode(encodedRequest, StockRequest.class);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws IOException {
+        return encode(response);
+    }
+
+    @Benchmark
+    public StockResponse decodeResponse() throws IOException {
+        return decode(encodedResponse, StockResponse.class);
+    }
+
+    private byte[] encode(Object value) throws IOException {
+        byte[] body = mapper.writeValueAsBytes(value);
+        if (!gzip) {
+            return body;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    private <T> T decode(byte[] body, Class<T> type) throws IOException {
+        if (!gzip) {
+            return mapper.readValue(body, type);
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return mapper.readValue(in, type);
+        }
+    }
+}
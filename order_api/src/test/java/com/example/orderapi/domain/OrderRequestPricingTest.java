@@ -0,0 +1,62 @@
+package com.example.orderapi.domain;
+
+import com.example.orderapi.exception.OrderProcessingException;
+import com.example.orderapi.model.enums.OrderStatus;
+import com.example.orderapi.model.order.OrderItemDto;
+import com.example.orderapi.model.request.OrderRequest;
+import com.example.orderapi.model.response.PriceListResponse.ProductPrice;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderRequestPricingTest {
+
+    private final PriceBook priceBook = PriceBook.of(1, List.of(
+            new ProductPrice(1, "Çorba", new BigDecimal("40.25"), 1),
+            new ProductPrice(2, "Pizza", new BigDecimal("120"), 1)));
+
+    private static OrderRequest request(OrderItemDto... items) {
+        return OrderRequest.builder().customerId(7).address("Kadıköy").items(List.of(items)).build();
+    }
+
+    private static OrderItemDto item(int productId, Integer quantity) {
+        // İstemcinin gönderdiği ad ve fiyat yok sayılır
+        return new OrderItemDto(productId, "istemci adı", quantity, 0.01);
+    }
+
+    @Test
+    void prices_items_from_the_price_book_and_totals_them() {
+        OrderDomain order = request(item(1, 2), item(2, 1)).toDomain(priceBook);
+
+        assertThat(order.getItems()).containsExactly(
+                new OrderItemDomain(1, "Çorba", 2, 4_025),
+                new OrderItemDomain(2, "Pizza", 1, 12_000));
+        assertThat(order.getTotalAmount()).isEqualTo(20_050);
+        assertThat(order.getCustomerId()).isEqualTo(7);
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING);
+    }
+
+    @Test
+    void rejects_a_product_missing_from_the_price_book() {
+        assertThatThrownBy(() -> request(item(1, 1), item(3, 1)).toDomain(priceBook))
+                .isInstanceOf(OrderProcessingException.class)
+                .hasMessage("Ürün bulunamadı: 3");
+    }
+
+    @Test
+    void rejects_a_quantity_below_one() {
+        assertThatThrownBy(() -> request(item(1, 0)).toDomain(priceBook))
+                .isInstanceOf(OrderProcessingException.class)
+                .hasMessage("Geçersiz ürün adedi: 1");
+        assertThatThrownBy(() -> request(item(2, -3)).toDomain(priceBook))
+                .isInstanceOf(OrderProcessingException.class)
+                .hasMessage("Geçersiz ürün adedi: 2");
+        assertThatThrownBy(() -> request(item(2, null)).toDomain(priceBook))
+                .isInstanceOf(OrderProcessingException.class)
+                .hasMessage("Geçersiz ürün adedi: 2");
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.orderapi.domain;
+
+import com.example.orderapi.model.response.PriceListResponse.ProductPrice;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceBookTest {
+
+    private static ProductPrice price(int id, String name, String price) {
+        return new ProductPrice(id, name, new BigDecimal(price), 1);
+    }
+
+    private static long priceOf(PriceBook book, int productId) {
+        return book.priceAt(book.indexOf(productId));
+    }
+
+    private static String nameOf(PriceBook book, int productId) {
+        return book.nameAt(book.indexOf(productId));
+    }
+
+    @Test
+    void builds_a_sorted_book_from_an_unsorted_list() {
+        PriceBook book = PriceBook.of(3, List.of(price(7, "Ayran", "15.00"), price(2, "Pizza", "120.50"),
+                price(5, "Salata", "60")));
+
+        assertThat(book.getVersion()).isEqualTo(3);
+        assertThat(book.size()).isEqualTo(3);
+        assertThat(priceOf(book, 2)).isEqualTo(12_050);
+        assertThat(nameOf(book, 5)).isEqualTo("Salata");
+        assertThat(priceOf(book, 7)).isEqualTo(1_500);
+        assertThat(book.contains(4)).isFalse();
+        assertThat(book.indexOf(4)).isNegative();
+    }
+
+    @Test
+    void last_entry_wins_when_an_update_repeats_an_id() {
+        PriceBook book = PriceBook.of(1, List.of(price(2, "Pizza", "100"), price(2, "Pizza XL", "140"),
+                price(1, "Çorba", "40"), price(2, "Pizza XXL", "180")));
+
+        assertThat(book.size()).isEqualTo(2);
+        assertThat(priceOf(book, 2)).isEqualTo(18_000);
+        assertThat(nameOf(book, 2)).isEqualTo("Pizza XXL");
+        assertThat(priceOf(book, 1)).isEqualTo(4_000);
+    }
+
+    @Test
+    void update_replaces_existing_ids_and_keeps_the_rest() {
+        PriceBook book = PriceBook.of(1, List.of(price(1, "Çorba", "40"), price(2, "Pizza", "100"),
+                price(3, "Tatlı", "50")));
+
+        PriceBook updated = book.withUpdates(2, List.of(price(2, "Pizza", "110")));
+
+        assertThat(updated.size()).isEqualTo(3);
+        assertThat(priceOf(updated, 2)).isEqualTo(11_000);
+        assertThat(priceOf(updated, 1)).isEqualTo(4_000);
+        assertThat(priceOf(updated, 3)).isEqualTo(5_000);
+        // Önceki örnek değişmez
+        assertThat(priceOf(book, 2)).isEqualTo(10_000);
+    }
+
+    @Test
+    void update_merges_new_ids_before_between_and_past_the_end() {
+        PriceBook book = PriceBook.of(1, List.of(price(10, "Çorba", "40"), price(20, "Pizza", "100")));
+
+        PriceBook updated = book.withUpdates(2, List.of(price(30, "Tatlı", "50"), price(5, "Su", "5"),
+                price(15, "Salata", "60"), price(40, "Kahve", "30")));
+
+        assertThat(updated.size()).isEqualTo(6);
+        assertThat(List.of(5, 10, 15, 20, 30, 40)).allSatisfy(id -> assertThat(updated.contains(id)).isTrue());
+        assertThat(updated.indexOf(5)).isLessThan(updated.indexOf(10));
+        assertThat(updated.indexOf(30)).isLessThan(updated.indexOf(40));
+        assertThat(priceOf(updated, 40)).isEqualTo(3_000);
+        assertThat(nameOf(updated, 15)).isEqualTo("Salata");
+    }
+
+    @Test
+    void version_never_goes_back() {
+        PriceBook book = PriceBook.of(5, List.of(price(1, "Çorba", "40")));
+
+        assertThat(book.withUpdates(3, List.of()).getVersion()).isEqualTo(5);
+        assertThat(book.withUpdates(8, List.of()).getVersion()).isEqualTo(8);
+    }
+}
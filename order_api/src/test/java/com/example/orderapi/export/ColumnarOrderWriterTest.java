@@ -0,0 +1,88 @@
+package com.example.orderapi.export;
+
+import com.example.orderapi.domain.Money;
+import com.example.orderapi.model.enums.OrderStatus;
+import com.example.orderapi.model.order.Order;
+import com.example.orderapi.model.order.OrderItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarOrderWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void orders_survive_a_round_trip_across_row_groups() throws Exception {
+        Path file = directory.resolve("orders-2024-01.ordc");
+        List<Order> orders = orders(0, 10);
+
+        try (ColumnarOrderWriter writer = new ColumnarOrderWriter(file, 4, 0)) {
+            for (Order order : orders) {
+                writer.write(order);
+            }
+        }
+
+        assertThat(read(file)).isEqualTo(orders);
+    }
+
+    @Test
+    void writing_resumes_from_the_last_completed_row_group() throws Exception {
+        Path file = directory.resolve("orders-2024-01.ordc");
+        List<Order> orders = orders(0, 10);
+
+        long resumeOffset;
+        ColumnarOrderWriter writer = new ColumnarOrderWriter(file, 4, 0);
+        for (int i = 0; i < 6; i++) {
+            writer.write(orders.get(i));
+        }
+        resumeOffset = writer.getCompletedLength();
+        // Son iki sipariş henüz bir satır grubu olarak yazılmamışken süreç kesilir
+        writer.abort();
+
+        try (ColumnarOrderWriter resumed = new ColumnarOrderWriter(file, 4, resumeOffset)) {
+            for (int i = 4; i < orders.size(); i++) {
+                resumed.write(orders.get(i));
+            }
+        }
+
+        assertThat(read(file)).isEqualTo(orders);
+    }
+
+    private static List<Order> read(Path file) throws Exception {
+        List<Order> result = new ArrayList<>();
+        try (ColumnarOrderReader reader = new ColumnarOrderReader(file)) {
+            assertThat(reader.getColumns()).contains("id", "items.productId");
+            reader.forEach(result::add);
+        }
+        return result;
+    }
+
+    private static List<Order> orders(int from, int to) {
+        List<Order> orders = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            List<OrderItem> items = new ArrayList<>();
+            for (int j = 0; j < i % 3; j++) {
+                items.add(OrderItem.builder().productId(j + 1).productName("Ürün " + j).quantity(j + 2)
+                        .price(Money.toMajor(1050L * (j + 1))).build());
+            }
+            orders.add(Order.builder()
+                    .id(String.valueOf(1000 + i))
+                    .customerId(i)
+                    .address(i % 4 == 0 ? null : "Moda Cad. No:" + i)
+                    .status(OrderStatus.values()[i % OrderStatus.values().length])
+                    .totalAmount(i % 5 == 0 ? null : Money.toMajor(i * 1225L))
+                    .deliveryId(i * 7)
+                    .orderDate("2024-01-0" + (1 + i % 9) + "T12:00:0" + (i % 10))
+                    .items(items)
+                    .build());
+        }
+        return orders;
+    }
+}
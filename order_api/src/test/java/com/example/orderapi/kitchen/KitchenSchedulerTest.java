@@ -0,0 +1,94 @@
+package com.example.orderapi.kitchen;
+
+import com.example.orderapi.model.request.StockRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KitchenSchedulerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void batches_the_same_product_across_orders_once_the_window_elapses() {
+        KitchenScheduler scheduler = new KitchenScheduler(2, 10, Duration.ofSeconds(30), meterRegistry, now::get);
+        scheduler.submit("a", List.of(item(1, 2), item(2, 1)), now.get() + 600_000);
+        now.addAndGet(5_000);
+        scheduler.submit("b", List.of(item(1, 3)), now.get() + 600_000);
+
+        assertThat(scheduler.dispatch()).isEmpty();
+        assertThat(scheduler.nextDispatchAt()).isEqualTo(31_000);
+
+        now.set(31_000);
+        List<PreparationBatch> started = scheduler.dispatch();
+
+        assertThat(started).extracting(PreparationBatch::productId).containsExactly(1, 2);
+        assertThat(started.get(0).quantity()).isEqualTo(5);
+        assertThat(started.get(0).orderIds()).containsExactly("a", "b");
+        assertThat(meterRegistry.get("order.kitchen.queue.units").gauge().value()).isZero();
+        assertThat(meterRegistry.get("order.kitchen.wait").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void starts_a_full_or_overdue_batch_without_waiting_and_most_urgent_first() {
+        KitchenScheduler scheduler = new KitchenScheduler(1, 4, Duration.ofSeconds(30), meterRegistry, now::get);
+        scheduler.submit("relaxed", List.of(item(1, 6)), now.get() + 600_000);
+        scheduler.submit("late", List.of(item(2, 1)), now.get() - 1);
+
+        PreparationBatch first = scheduler.dispatch().get(0);
+        assertThat(first.productId()).isEqualTo(2);
+        assertThat(scheduler.nextDispatchAt()).isEqualTo(Long.MAX_VALUE);
+
+        scheduler.complete(first.id());
+        PreparationBatch second = scheduler.dispatch().get(0);
+
+        // Partiye sığmayan 2 adet aynı öncelikle kuyrukta kalır
+        assertThat(second.productId()).isEqualTo(1);
+        assertThat(second.quantity()).isEqualTo(4);
+        assertThat(scheduler.pendingUnits()).isEqualTo(2);
+    }
+
+    @Test
+    void an_order_is_ready_only_when_all_of_its_batches_are_complete() {
+        KitchenScheduler scheduler = new KitchenScheduler(2, 10, Duration.ZERO, meterRegistry, now::get);
+        scheduler.submit("a", List.of(item(1, 1), item(2, 1)), now.get());
+        scheduler.submit("b", List.of(item(2, 2)), now.get());
+        List<PreparationBatch> started = scheduler.dispatch();
+        PreparationBatch product1 = started.get(0).productId() == 1 ? started.get(0) : started.get(1);
+        PreparationBatch product2 = started.get(0).productId() == 2 ? started.get(0) : started.get(1);
+
+        assertThat(scheduler.complete(product2.id())).containsExactly("b");
+        assertThat(scheduler.complete(product2.id())).isNull();
+        now.addAndGet(2_000);
+        assertThat(scheduler.complete(product1.id())).containsExactly("a");
+
+        assertThat(scheduler.orderCount()).isZero();
+        assertThat(meterRegistry.get("order.kitchen.completion").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void a_cancelled_order_leaves_the_queue_and_is_never_reported_ready() {
+        KitchenScheduler scheduler = new KitchenScheduler(1, 10, Duration.ZERO, meterRegistry, now::get);
+        scheduler.submit("a", List.of(item(1, 1), item(2, 3)), now.get());
+        scheduler.submit("b", List.of(item(1, 2)), now.get() + 1);
+        PreparationBatch started = scheduler.dispatch().get(0);
+
+        assertThat(scheduler.cancel("a")).isTrue();
+        assertThat(scheduler.cancel("a")).isFalse();
+
+        assertThat(scheduler.pendingUnits()).isZero();
+        assertThat(scheduler.complete(started.id())).containsExactly("b");
+        assertThat(scheduler.dispatch()).isEmpty();
+        assertThat(scheduler.orderCount()).isZero();
+    }
+
+    private static StockRequest.StockItemDto item(int productId, int quantity) {
+        return new StockRequest.StockItemDto(productId, quantity);
+    }
+}
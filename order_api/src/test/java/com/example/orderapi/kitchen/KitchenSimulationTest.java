@@ -0,0 +1,189 @@
+package com.example.orderapi.kitchen;
+
+import com.example.orderapi.model.request.StockRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mutfak planlayıcısını sanal saatle, olay tabanlı bir simülasyonda çalıştırır ve siparişlerin mutfağa girişinden
+ * hazır olmasına kadar geçen süreyi ölçer. Her parti {@code setup + perUnit * adet} sürede hazırlanır; partisiz
+ * hazırlık (her kalem ayrı, bekleme yok) ile ürün bazlı partileme aynı sipariş akışında karşılaştırılır. Sonuçlar
+ * target/load-test/kitchen-simulation.csv dosyasına eklenir:
+ * mvn -Pload-test test -Dtest=KitchenSimulationTest -Dkitchen.sim.rate-per-minute=3
+ */
+@Tag("load")
+class KitchenSimulationTest {
+
+    private static final int ORDERS = Integer.getInteger("kitchen.sim.orders", 5_000);
+    private static final double RATE_PER_MINUTE = Double.parseDouble(System.getProperty("kitchen.sim.rate-per-minute", "1.5"));
+    private static final int PRODUCTS = Integer.getInteger("kitchen.sim.products", 12);
+    private static final int MAX_ITEMS = Integer.getInteger("kitchen.sim.max-items", 3);
+    private static final int STATIONS = Integer.getInteger("kitchen.sim.stations", 4);
+    private static final int MAX_BATCH_UNITS = Integer.getInteger("kitchen.sim.max-batch-units", 20);
+    private static final Duration BATCH_WINDOW = Duration.ofSeconds(Integer.getInteger("kitchen.sim.batch-window-seconds", 30));
+    private static final Duration TARGET_TIME = Duration.ofMinutes(Integer.getInteger("kitchen.sim.target-minutes", 15));
+    private static final Duration SETUP = Duration.ofSeconds(Integer.getInteger("kitchen.sim.setup-seconds", 30));
+    private static final Duration PER_UNIT = Duration.ofSeconds(Integer.getInteger("kitchen.sim.per-unit-seconds", 10));
+    private static final long SEED = Long.getLong("kitchen.sim.seed", 42L);
+
+    private static final String CSV_HEADER = "timestamp,scenario,orders,rate_per_minute,products,stations,max_batch_units,"
+            + "batch_window_s,setup_s,per_unit_s,seed,batches,mean_batch_units,mean_s,p50_s,p95_s,p99_s,max_s";
+
+    @Test
+    void compare_unbatched_and_product_batched_preparation() throws IOException {
+        List<SimulatedOrder> orders = orders();
+
+        Result unbatched = simulate("unbatched", orders, 1, Duration.ZERO);
+        Result batched = simulate("batched", orders, MAX_BATCH_UNITS, BATCH_WINDOW);
+
+        Path file = Path.of("target", "load-test", "kitchen-simulation.csv");
+        System.out.println(CSV_HEADER);
+        for (Result result : List.of(unbatched, batched)) {
+            String row = result.csvRow();
+            System.out.println(row);
+            append(file, row);
+        }
+        System.out.println("Rapor: " + file.toAbsolutePath());
+
+        // Fark sipariş akışına ve hazırlık sürelerine bağlı olduğundan yalnızca rapor edilir; tüm siparişler bitmeli
+        assertThat(batched.completed()).isEqualTo(ORDERS);
+        assertThat(unbatched.completed()).isEqualTo(ORDERS);
+    }
+
+    private static Result simulate(String scenario, List<SimulatedOrder> orders, int maxBatchUnits,
+                                   Duration batchWindow) {
+        AtomicLong clock = new AtomicLong();
+        KitchenScheduler scheduler = new KitchenScheduler(STATIONS, maxBatchUnits, batchWindow,
+                new SimpleMeterRegistry(), clock::get);
+        Map<String, Long> submittedAt = new HashMap<>();
+        List<Long> completionMillis = new ArrayList<>(orders.size());
+        PriorityQueue<Event> events = new PriorityQueue<>();
+        long sequence = 0;
+        for (SimulatedOrder order : orders) {
+            events.add(new Event(order.arrivalAt(), sequence++, order, null));
+        }
+        long batches = 0;
+        long batchUnits = 0;
+        long wakeUpAt = Long.MAX_VALUE;
+
+        while (!events.isEmpty()) {
+            Event event = events.poll();
+            clock.set(event.at());
+            if (event.order() != null) {
+                scheduler.submit(event.order().id(), event.order().items(), event.at() + TARGET_TIME.toMillis());
+                submittedAt.put(event.order().id(), event.at());
+            } else if (event.batchId() != null) {
+                for (String ready : scheduler.complete(event.batchId())) {
+                    completionMillis.add(event.at() - submittedAt.remove(ready));
+                }
+            } else if (event.at() != wakeUpAt) {
+                // Yerine daha erken bir uyanma kurulmuş
+                continue;
+            }
+            for (PreparationBatch batch : scheduler.dispatch()) {
+                batches++;
+                batchUnits += batch.quantity();
+                long duration = SETUP.toMillis() + PER_UNIT.toMillis() * batch.quantity();
+                events.add(new Event(event.at() + duration, sequence++, null, batch.id()));
+            }
+            long next = scheduler.nextDispatchAt();
+            if (next != Long.MAX_VALUE && next != wakeUpAt) {
+                wakeUpAt = Math.max(next, event.at());
+                events.add(new Event(wakeUpAt, sequence++, null, null));
+            }
+        }
+        return Result.of(scenario, maxBatchUnits, batchWindow, batches, batchUnits, completionMillis);
+    }
+
+    // Poisson geliş; her siparişte 1..MAX_ITEMS kalem, ürün seçimi popülerliğe göre çarpık
+    private static List<SimulatedOrder> orders() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        double meanGapMillis = 60_000 / RATE_PER_MINUTE;
+        List<SimulatedOrder> orders = new ArrayList<>(ORDERS);
+        long at = 0;
+        for (int i = 0; i < ORDERS; i++) {
+            at += (long) (-Math.log(1 - random.nextDouble()) * meanGapMillis);
+            int itemCount = 1 + random.nextInt(MAX_ITEMS);
+            Map<Integer, Integer> items = new HashMap<>();
+            for (int j = 0; j < itemCount; j++) {
+                int productId = 1 + (int) (PRODUCTS * Math.pow(random.nextDouble(), 2));
+                items.merge(productId, 1 + random.nextInt(2), Integer::sum);
+            }
+            List<StockRequest.StockItemDto> dtos = items.entrySet().stream()
+                    .map(entry -> new StockRequest.StockItemDto(entry.getKey(), entry.getValue()))
+                    .toList();
+            orders.add(new SimulatedOrder("order-" + i, at, dtos));
+        }
+        return orders;
+    }
+
+    private static void append(Path file, String row) throws IOException {
+        Files.createDirectories(file.getParent());
+        if (!Files.exists(file)) {
+            Files.writeString(file, CSV_HEADER + System.lineSeparator(), StandardCharsets.UTF_8);
+        }
+        Files.writeString(file, row + System.lineSeparator(), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    private record SimulatedOrder(String id, long arrivalAt, List<StockRequest.StockItemDto> items) {
+    }
+
+    private record Event(long at, long sequence, SimulatedOrder order, String batchId) implements Comparable<Event> {
+
+        @Override
+        public int compareTo(Event other) {
+            int byTime = Long.compare(at, other.at);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private record Result(String scenario, int maxBatchUnits, Duration batchWindow, long batches, double meanBatchUnits,
+                          int completed, double meanSeconds, double p50Seconds, double p95Seconds, double p99Seconds,
+                          double maxSeconds) {
+
+        static Result of(String scenario, int maxBatchUnits, Duration batchWindow, long batches, long batchUnits,
+                         List<Long> completionMillis) {
+            long[] sorted = completionMillis.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new Result(scenario, maxBatchUnits, batchWindow, batches,
+                    batches == 0 ? 0 : (double) batchUnits / batches, sorted.length,
+                    Arrays.stream(sorted).average().orElse(0) / 1000.0,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1000.0;
+        }
+
+        String csvRow() {
+            return String.format(Locale.ROOT, "%s,%s,%d,%.1f,%d,%d,%d,%d,%d,%d,%d,%d,%.2f,%.1f,%.1f,%.1f,%.1f,%.1f",
+                    Instant.now(), scenario, completed, RATE_PER_MINUTE, PRODUCTS, STATIONS, maxBatchUnits,
+                    batchWindow.toSeconds(), SETUP.toSeconds(), PER_UNIT.toSeconds(), SEED, batches, meanBatchUnits,
+                    meanSeconds, p50Seconds, p95Seconds, p99Seconds, maxSeconds);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.orderapi.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * restaurant-api (/stock/check, /stock/reduce) ve delivery-api (/start) yerine geçen gömülü HTTP sunucusu.
+ * Gecikme bekleyen thread tutmadan zamanlayıcı ile uygulanır; hata enjeksiyonu istek sırasına göre seed'den
+ * türetildiği için aynı ayarlarla her koşuda aynı istekler hata alır.
+ */
+public final class DownstreamStub implements AutoCloseable {
+
+    private static final String STOCK_AVAILABLE = "{\"available\":true,\"message\":\"ok\"}";
+    private static final String DELIVERY_STARTED = "{\"success\":true,\"deliveryId\":1,\"message\":\"ok\"}";
+    private static final String INJECTED_ERROR = "{\"message\":\"injected error\"}";
+    private static final int PRODUCT_COUNT = 100;
+    private static final String PRICE_LIST = priceList();
+
+    private final Settings settings;
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ScheduledExecutorService responder;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final LongAdder injectedErrors = new LongAdder();
+
+    private DownstreamStub(Settings settings) throws IOException {
+        this.settings = settings;
+        this.handlers = Executors.newFixedThreadPool(2, named("stub-handler"));
+        this.responder = Executors.newScheduledThreadPool(2, named("stub-responder"));
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        server.createContext("/api/stock/check", exchange -> handle(exchange, "stock-check", STOCK_AVAILABLE));
+        server.createContext("/api/stock/reduce", exchange -> handle(exchange, "stock-reduce", STOCK_AVAILABLE));
+        server.createContext("/api/stock/increase", exchange -> handle(exchange, "stock-increase", STOCK_AVAILABLE));
+        server.createContext("/api/delivery/start", exchange -> handle(exchange, "delivery-start", DELIVERY_STARTED));
+        server.createContext("/api/products/prices", exchange -> respond(exchange, 200, PRICE_LIST));
+        server.setExecutor(handlers);
+        server.start();
+    }
+
+    public static DownstreamStub start(Settings settings) throws IOException {
+        return new DownstreamStub(settings);
+    }
+
+    public String restaurantApiUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/api";
+    }
+
+    public String deliveryApiUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/api/delivery";
+    }
+
+    public Settings settings() {
+        return settings;
+    }
+
+    public long requestCount(String endpoint) {
+        LongAdder counter = requests.get(endpoint);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    public long injectedErrors() {
+        return injectedErrors.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        responder.shutdownNow();
+        handlers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange, String endpoint, String body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        requests.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+
+        SplittableRandom random = new SplittableRandom(settings.seed() ^ (sequence.incrementAndGet() * 0x9E3779B97F4A7C15L));
+        boolean fail = random.nextDouble() < settings.errorRate();
+        long delayMillis = settings.latency().toMillis();
+        if (!settings.jitter().isZero()) {
+            delayMillis += random.nextLong(settings.jitter().toMillis() + 1);
+        }
+
+        if (fail) {
+            injectedErrors.increment();
+        }
+        responder.schedule(() -> respond(exchange, fail ? 500 : 200, fail ? INJECTED_ERROR : body),
+                delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) {
+        try (exchange) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (IOException ignored) {
+            // İstemci bağlantıyı kapatmış olabilir
+        }
+    }
+
+    // 1..PRODUCT_COUNT ürün ID'leri için sabit fiyat listesi (order_api fiyat defteri bu listeden yüklenir)
+    private static String priceList() {
+        StringBuilder json = new StringBuilder("{\"success\":true,\"data\":{\"version\":1,\"full\":true,\"products\":[");
+        for (int id = 1; id <= PRODUCT_COUNT; id++) {
+            if (id > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(id)
+                    .append(",\"name\":\"Product ").append(id)
+                    .append("\",\"price\":").append(5 + (id * 37) % 95).append(".50")
+                    .append(",\"version\":1}");
+        }
+        return json.append("]}}").toString();
+    }
+
+    private static ThreadFactory named(String prefix) {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * @param latency   her yanıta eklenen sabit gecikme
+     * @param jitter    sabit gecikmenin üzerine eklenen [0, jitter] aralığında rastgele gecikme
+     * @param errorRate 500 dönecek isteklerin oranı (0..1)
+     * @param seed      jitter ve hata kararları için tohum
+     */
+    public record Settings(Duration latency, Duration jitter, double errorRate, long seed) {
+
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                    Duration.ofMillis(Long.getLong("loadtest.stub.latency-ms", 20)),
+                    Duration.ofMillis(Long.getLong("loadtest.stub.jitter-ms", 0)),
+                    Double.parseDouble(System.getProperty("loadtest.stub.error-rate", "0")),
+                    Long.getLong("loadtest.seed", 42));
+        }
+
+        public Settings withLatency(Duration latency) {
+            return new Settings(latency, jitter, errorRate, seed);
+        }
+    }
+}
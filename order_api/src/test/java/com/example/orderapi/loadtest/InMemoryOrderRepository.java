@@ -0,0 +1,176 @@
+package com.example.orderapi.loadtest;
+
+import com.example.orderapi.model.order.Order;
+import com.example.orderapi.repository.OrderRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Elasticsearch olmadan çalışan {@link OrderRepository}. Kayıtlar bellekte tutulur, ID'ler sıralı üretilir.
+ * Elasticsearch gibi her yazmaya sıra numarası verir ve sürümü dolu kayıtları koşullu yazar.
+ */
+public class InMemoryOrderRepository implements OrderRepository {
+
+    private final Map<String, Order> orders = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicLong seqNos = new AtomicLong();
+
+    @Override
+    public List<Order> findByCustomerId(int customerId) {
+        return orders.values().stream()
+                .filter(order -> order.getCustomerId() == customerId)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public <S extends Order> S save(S order) {
+        if (order.getId() == null) {
+            order.setId(String.valueOf(ids.incrementAndGet()));
+        }
+        SeqNoPrimaryTerm expected = order.getSeqNoPrimaryTerm();
+        orders.compute(order.getId(), (id, current) -> {
+            if (expected != null && (current == null || !expected.equals(current.getSeqNoPrimaryTerm()))) {
+                throw new OptimisticLockingFailureException("seq_no/primary_term conflict for order " + id);
+            }
+            order.setSeqNoPrimaryTerm(new SeqNoPrimaryTerm(seqNos.incrementAndGet(), 1));
+            return order;
+        });
+        return order;
+    }
+
+    @Override
+    public <S extends Order> S save(S order, RefreshPolicy refreshPolicy) {
+        return save(order);
+    }
+
+    @Override
+    public <S extends Order> Iterable<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(order -> saved.add(save(order)));
+        return saved;
+    }
+
+    @Override
+    public <S extends Order> Iterable<S> saveAll(Iterable<S> entities, RefreshPolicy refreshPolicy) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public Optional<Order> findById(String id) {
+        return Optional.ofNullable(orders.get(id));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return orders.containsKey(id);
+    }
+
+    @Override
+    public Iterable<Order> findAll() {
+        return new ArrayList<>(orders.values());
+    }
+
+    @Override
+    public Iterable<Order> findAll(Sort sort) {
+        if (sort.isSorted()) {
+            throw new UnsupportedOperationException("Sıralama bellek içi depoda desteklenmiyor");
+        }
+        return findAll();
+    }
+
+    @Override
+    public Page<Order> findAll(Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            throw new UnsupportedOperationException("Sıralama bellek içi depoda desteklenmiyor");
+        }
+        List<Order> all = new ArrayList<>(orders.values());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    @Override
+    public Iterable<Order> findAllById(Iterable<String> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .map(orders::get)
+                .filter(order -> order != null)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long count() {
+        return orders.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        orders.remove(id);
+    }
+
+    @Override
+    public void deleteById(String id, RefreshPolicy refreshPolicy) {
+        deleteById(id);
+    }
+
+    @Override
+    public void delete(Order order) {
+        orders.remove(order.getId());
+    }
+
+    @Override
+    public void delete(Order order, RefreshPolicy refreshPolicy) {
+        delete(order);
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(orders::remove);
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids, RefreshPolicy refreshPolicy) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Order> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Order> entities, RefreshPolicy refreshPolicy) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAll() {
+        orders.clear();
+    }
+
+    @Override
+    public void deleteAll(RefreshPolicy refreshPolicy) {
+        deleteAll();
+    }
+
+    @Override
+    public Page<Order> searchSimilar(Order entity, String[] fields, Pageable pageable) {
+        throw new UnsupportedOperationException("searchSimilar bellek içi depoda desteklenmiyor");
+    }
+}
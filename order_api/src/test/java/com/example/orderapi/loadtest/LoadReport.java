@@ -0,0 +1,46 @@
+package com.example.orderapi.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tek bir yük testi koşusunun sonucu. {@link #appendTo(Path, DownstreamStub.Settings)} ile senaryo başına bir CSV
+ * dosyasına satır olarak eklenir; koşular arası karşılaştırma için yük ve stub ayarları da aynı satıra yazılır.
+ */
+public record LoadReport(String scenario, OpenModelLoadGenerator.Profile profile, long successful, long errors,
+                         long dropped, Map<Integer, Long> errorsByStatus, double throughput,
+                         double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+
+    private static final String CSV_HEADER = "timestamp,scenario,java,cpus,rate,warmup_s,duration_s,max_in_flight,seed,"
+            + "stub_latency_ms,stub_jitter_ms,stub_error_rate,successful,errors,dropped,throughput,p50_ms,p99_ms,p999_ms,max_ms";
+
+    public Path appendTo(Path directory, DownstreamStub.Settings stub) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(scenario + ".csv");
+        if (!Files.exists(file)) {
+            Files.writeString(file, CSV_HEADER + System.lineSeparator(), StandardCharsets.UTF_8);
+        }
+        String row = String.format(Locale.ROOT, "%s,%s,%s,%d,%.1f,%d,%d,%d,%d,%d,%d,%.4f,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f",
+                Instant.now(), scenario, Runtime.version().feature(), Runtime.getRuntime().availableProcessors(),
+                profile.ratePerSecond(), profile.warmup().toSeconds(), profile.duration().toSeconds(),
+                profile.maxInFlight(), profile.seed(),
+                stub.latency().toMillis(), stub.jitter().toMillis(), stub.errorRate(),
+                successful, errors, dropped, throughput, p50Ms, p99Ms, p999Ms, maxMs);
+        Files.writeString(file, row + System.lineSeparator(), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%s: rate=%.1f/s successful=%d errors=%d %s dropped=%d throughput=%.1f/s p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms",
+                scenario, profile.ratePerSecond(), successful, errors, errorsByStatus, dropped, throughput,
+                p50Ms, p99Ms, p999Ms, maxMs);
+    }
+}
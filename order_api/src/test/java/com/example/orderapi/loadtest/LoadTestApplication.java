@@ -0,0 +1,67 @@
+package com.example.orderapi.loadtest;
+
+import com.example.orderapi.OrderApiApplication;
+import com.example.orderapi.repository.OrderRepository;
+import org.mockito.Mockito;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * order_api'yi Elasticsearch olmadan, downstream servisler yerine {@link DownstreamStub} ile başlatır.
+ */
+public final class LoadTestApplication {
+
+    private static final String ELASTICSEARCH_AUTO_CONFIGURATIONS = String.join(",",
+            "org.springframework.boot.autoconfigure.elasticsearch.ElasticsearchClientAutoConfiguration",
+            "org.springframework.boot.autoconfigure.elasticsearch.ElasticsearchRestClientAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.elasticsearch.ElasticsearchDataAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.elasticsearch.ElasticsearchRepositoriesAutoConfiguration");
+
+    private LoadTestApplication() {
+    }
+
+    /**
+     * Uygulamayı rastgele portta başlatır. Özellikler komut satırı argümanı olarak verilir, böylece
+     * application.yml değerlerini ezer.
+     */
+    public static ConfigurableApplicationContext start(DownstreamStub stub, Map<String, Object> overrides) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("restaurant.api.url", stub.restaurantApiUrl());
+        properties.put("delivery.api.url", stub.deliveryApiUrl());
+        properties.put("logging.level.com.example.orderapi", "WARN");
+        properties.put("spring.autoconfigure.exclude", ELASTICSEARCH_AUTO_CONFIGURATIONS);
+        properties.putAll(overrides);
+
+        return new SpringApplicationBuilder(OrderApiApplication.class, InMemoryRepositoryConfiguration.class)
+                .run(properties.entrySet().stream()
+                        .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                        .toArray(String[]::new));
+    }
+
+    public static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @TestConfiguration
+    static class InMemoryRepositoryConfiguration {
+
+        @Bean
+        OrderRepository orderRepository() {
+            return new InMemoryOrderRepository();
+        }
+
+        // Arama uç noktası yük senaryolarında kullanılmaz; yalnızca context'in ayağa kalkması için
+        @Bean
+        ElasticsearchOperations elasticsearchOperations() {
+            return Mockito.mock(ElasticsearchOperations.class);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.orderapi.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Açık model yük üreteci: istekler yanıtları beklemeden, seed'li Poisson süreciyle belirlenen zamanlarda gönderilir.
+ * Gecikme, isteğin gönderilmesi planlanan andan itibaren ölçülür; böylece sistem yavaşladığında bekleyen istekler
+ * de ölçüme yansır (coordinated omission oluşmaz).
+ */
+public final class OpenModelLoadGenerator {
+
+    private final HttpClient client;
+    private final Profile profile;
+
+    public OpenModelLoadGenerator(HttpClient client, Profile profile) {
+        this.client = client;
+        this.profile = profile;
+    }
+
+    /**
+     * Önce ısınma süresi boyunca yük uygular (ölçülmez), ardından ölçüm penceresini koşar.
+     *
+     * @param payloads istek gövdesini seed'li rastgele kaynaktan üretir
+     */
+    public LoadReport run(String scenario, URI target, int expectedStatus,
+                          Function<SplittableRandom, String> payloads) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(profile.seed());
+        drive(target, expectedStatus, payloads, random, profile.warmup(), null);
+        Recorder recorder = new Recorder((int) Math.ceil(profile.ratePerSecond() * profile.duration().toSeconds() * 1.2) + 1024);
+        long elapsedNanos = drive(target, expectedStatus, payloads, random, profile.duration(), recorder);
+        return recorder.report(scenario, profile, elapsedNanos);
+    }
+
+    private long drive(URI target, int expectedStatus, Function<SplittableRandom, String> payloads,
+                       SplittableRandom random, Duration duration, Recorder recorder) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(profile.maxInFlight());
+        AtomicInteger outstanding = new AtomicInteger();
+        CountDownLatch drained = new CountDownLatch(1);
+        double meanIntervalNanos = 1_000_000_000.0 / profile.ratePerSecond();
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long intended = start;
+        outstanding.incrementAndGet();
+        while (true) {
+            intended += (long) (-Math.log(1.0 - random.nextDouble()) * meanIntervalNanos);
+            if (intended >= end) {
+                break;
+            }
+            String body = payloads.apply(random);
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                if (recorder != null) {
+                    recorder.dropped.increment();
+                }
+                continue;
+            }
+
+            HttpRequest request = HttpRequest.newBuilder(target)
+                    .header("Content-Type", "application/json")
+                    .timeout(profile.requestTimeout())
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            long intendedAt = intended;
+            outstanding.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long latency = System.nanoTime() - intendedAt;
+                        inFlight.release();
+                        if (recorder != null) {
+                            recorder.record(failure == null ? response.statusCode() : -1, expectedStatus, latency);
+                        }
+                        if (outstanding.decrementAndGet() == 0) {
+                            drained.countDown();
+                        }
+                    });
+        }
+        long elapsed = System.nanoTime() - start;
+        if (outstanding.decrementAndGet() == 0) {
+            drained.countDown();
+        }
+        drained.await(profile.requestTimeout().toMillis() + 1000, TimeUnit.MILLISECONDS);
+        return elapsed;
+    }
+
+    /**
+     * @param ratePerSecond  hedef varış hızı (istek/sn)
+     * @param warmup         ölçülmeyen ısınma süresi
+     * @param duration       ölçüm süresi
+     * @param maxInFlight    aynı anda açık istek sınırı; aşılırsa istek gönderilmez ve "dropped" sayılır
+     * @param requestTimeout istek başına zaman aşımı
+     * @param seed           varış zamanları ve istek gövdeleri için tohum
+     */
+    public record Profile(double ratePerSecond, Duration warmup, Duration duration, int maxInFlight,
+                          Duration requestTimeout, long seed) {
+
+        public static Profile fromSystemProperties() {
+            return new Profile(
+                    Double.parseDouble(System.getProperty("loadtest.rate", "200")),
+                    Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                    Duration.ofSeconds(Long.getLong("loadtest.measurement-seconds", 30)),
+                    Integer.getInteger("loadtest.max-in-flight", 2000),
+                    Duration.ofSeconds(Long.getLong("loadtest.request-timeout-seconds", 30)),
+                    Long.getLong("loadtest.seed", 42));
+        }
+    }
+
+    private static final class Recorder {
+        private final long[] latencies;
+        private final AtomicInteger count = new AtomicInteger();
+        private final LongAdder dropped = new LongAdder();
+        private final Map<Integer, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+
+        private Recorder(int capacity) {
+            this.latencies = new long[capacity];
+        }
+
+        private void record(int status, int expectedStatus, long latencyNanos) {
+            if (status != expectedStatus) {
+                errorsByStatus.computeIfAbsent(status, key -> new LongAdder()).increment();
+                return;
+            }
+            int index = count.getAndIncrement();
+            if (index < latencies.length) {
+                latencies[index] = latencyNanos;
+            }
+        }
+
+        private LoadReport report(String scenario, Profile profile, long elapsedNanos) {
+            int successful = Math.min(count.get(), latencies.length);
+            long[] sorted = Arrays.copyOf(latencies, successful);
+            Arrays.sort(sorted);
+            long errors = errorsByStatus.values().stream().mapToLong(LongAdder::sum).sum();
+            Map<Integer, Long> errorBreakdown = new TreeMap<>();
+            errorsByStatus.forEach((status, counter) -> errorBreakdown.put(status, counter.sum()));
+            return new LoadReport(scenario, profile, successful, errors, dropped.sum(), errorBreakdown,
+                    successful / (elapsedNanos / 1_000_000_000.0),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
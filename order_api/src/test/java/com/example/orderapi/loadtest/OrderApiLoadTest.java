@@ -0,0 +1,94 @@
+package com.example.orderapi.loadtest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * POST /api/orders için çevrimdışı uçtan uca yük testi: Elasticsearch yerine bellek içi depo, restaurant-api ve
+ * delivery-api yerine {@link DownstreamStub} kullanılır. Sonuçlar target/load-test altındaki CSV dosyalarına eklenir.
+ * Çalıştırmak için: mvn -Pload-test test -Dtest=OrderApiLoadTest -Dloadtest.rate=300 -Dloadtest.stub.latency-ms=50
+ */
+@Tag("load")
+class OrderApiLoadTest {
+
+    private static final Path REPORT_DIRECTORY = Path.of(System.getProperty("loadtest.report-dir", "target/load-test"));
+
+    private static DownstreamStub stub;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void startStub() throws Exception {
+        stub = DownstreamStub.start(DownstreamStub.Settings.fromSystemProperties());
+        client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void synchronous_order_placement() throws Exception {
+        LoadReport report = runScenario("orders-sync", Map.of("order.async.enabled", false), 200);
+
+        assertThat(report.successful()).isPositive();
+        if (stub.settings().errorRate() == 0) {
+            assertThat(report.errors()).isZero();
+        }
+    }
+
+    @Test
+    void asynchronous_order_acceptance() throws Exception {
+        LoadReport report = runScenario("orders-async", Map.of("order.async.enabled", true), 202);
+
+        // Kuyruk dolduğunda 503 beklenen davranıştır; yalnızca kabul edilen istek olmalı
+        assertThat(report.successful()).isPositive();
+    }
+
+    private LoadReport runScenario(String scenario, Map<String, Object> properties, int expectedStatus) throws Exception {
+        try (ConfigurableApplicationContext context = LoadTestApplication.start(stub, properties)) {
+            URI target = URI.create("http://localhost:" + LoadTestApplication.port(context) + "/api/orders");
+            OpenModelLoadGenerator generator = new OpenModelLoadGenerator(client,
+                    OpenModelLoadGenerator.Profile.fromSystemProperties());
+
+            LoadReport report = generator.run(scenario, target, expectedStatus, OrderApiLoadTest::orderJson);
+            Path file = report.appendTo(REPORT_DIRECTORY, stub.settings());
+            System.out.println(report);
+            System.out.println("Rapor: " + file.toAbsolutePath());
+            return report;
+        }
+    }
+
+    private static String orderJson(SplittableRandom random) {
+        StringBuilder json = new StringBuilder(256)
+                .append("{\"customerId\":").append(random.nextInt(1, 10_001))
+                .append(",\"address\":\"Test Address ").append(random.nextInt(1, 1_000)).append(", Istanbul\",\"items\":[");
+        int itemCount = random.nextInt(1, 5);
+        for (int i = 0; i < itemCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int productId = random.nextInt(1, 101);
+            json.append("{\"productId\":").append(productId)
+                    .append(",\"name\":\"Product ").append(productId)
+                    .append("\",\"quantity\":").append(random.nextInt(1, 4))
+                    .append(",\"price\":").append(random.nextInt(500, 10_000) / 100.0)
+                    .append('}');
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.orderapi.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Yüksek downstream gecikmesinde platform thread ve virtual thread modlarını karşılaştırır.
+ * Çalıştırmak için: mvn -Pvirtual-threads,load-test test -Dtest=VirtualThreadLoadTest
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final int DOWNSTREAM_LATENCY_MS = Integer.getInteger("loadtest.downstream-latency-ms", 200);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 1000);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 5));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Integer.getInteger("loadtest.measurement-seconds", 20));
+    private static final int MAX_SAMPLES = 2_000_000;
+
+    private static final String ORDER_JSON = """
+            {"customerId":1,"address":"Test Address, Istanbul",
+             "items":[{"productId":1,"name":"Test Product 1","quantity":2,"price":29.99},
+                      {"productId":2,"name":"Test Product 2","quantity":1,"price":15.50}]}
+            """;
+
+    @Test
+    void compare_platform_and_virtual_threads_under_high_downstream_latency() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual thread modu JDK 21 gerektirir");
+
+        DownstreamStub.Settings settings = DownstreamStub.Settings.fromSystemProperties()
+                .withLatency(Duration.ofMillis(DOWNSTREAM_LATENCY_MS));
+        try (DownstreamStub stub = DownstreamStub.start(settings)) {
+            LoadResult platform = runAgainstApplication(false, stub);
+            LoadResult virtual = runAgainstApplication(true, stub);
+
+            System.out.println(LoadResult.header());
+            System.out.println(platform);
+            System.out.println(virtual);
+
+            // Karşılaştırma CPU sayısına bağlı olduğundan yalnızca rapor edilir; hata olmamalı
+            assertThat(platform.errors()).isZero();
+            assertThat(virtual.errors()).isZero();
+        }
+    }
+
+    private LoadResult runAgainstApplication(boolean virtualThreads, DownstreamStub stub) throws Exception {
+        try (ConfigurableApplicationContext context = LoadTestApplication.start(stub,
+                Map.of("spring.threads.virtual.enabled", virtualThreads))) {
+            int port = LoadTestApplication.port(context);
+            URI target = URI.create("http://localhost:" + port + "/api/orders");
+
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            drive(client, target, WARMUP, null);
+            System.gc();
+            return drive(client, target, MEASUREMENT, virtualThreads ? "virtual" : "platform");
+        }
+    }
+
+    private LoadResult drive(HttpClient client, URI target, Duration duration, String label) throws InterruptedException {
+        long[] samples = new long[MAX_SAMPLES];
+        AtomicInteger sampleCount = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        CountDownLatch finished = new CountDownLatch(CONCURRENCY);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        AtomicLong peakHeap = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(
+                () -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 100, TimeUnit.MILLISECONDS);
+
+        HttpRequest request = HttpRequest.newBuilder(target)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(ORDER_JSON))
+                .build();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            sendNext(client, request, deadline, samples, sampleCount, errors, finished);
+        }
+        finished.await();
+        long elapsed = System.nanoTime() - start;
+        sampler.shutdownNow();
+
+        if (label == null) {
+            return null;
+        }
+        int count = Math.min(sampleCount.get(), MAX_SAMPLES);
+        long[] latencies = Arrays.copyOf(samples, count);
+        Arrays.sort(latencies);
+        return new LoadResult(label, count, errors.get(), count / (elapsed / 1_000_000_000.0),
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                peakHeap.get() / (1024 * 1024), threads.getPeakThreadCount());
+    }
+
+    private void sendNext(HttpClient client, HttpRequest request, long deadline, long[] samples,
+                          AtomicInteger sampleCount, AtomicLong errors, CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        long sentAt = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    if (failure != null || response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                    } else {
+                        int index = sampleCount.getAndIncrement();
+                        if (index < samples.length) {
+                            samples[index] = System.nanoTime() - sentAt;
+                        }
+                    }
+                    sendNext(client, request, deadline, samples, sampleCount, errors, finished);
+                });
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record LoadResult(String mode, int requests, long errors, double throughput,
+                              double p50Ms, double p99Ms, long peakHeapMb, int peakThreads) {
+
+        static String header() {
+            return String.format("%-10s %10s %8s %12s %10s %10s %12s %12s",
+                    "mode", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "heap(MB)", "threads");
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %10d %8d %12.1f %10.1f %10.1f %12d %12d",
+                    mode, requests, errors, throughput, p50Ms, p99Ms, peakHeapMb, peakThreads);
+        }
+    }
+}
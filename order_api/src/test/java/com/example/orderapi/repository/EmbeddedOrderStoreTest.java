@@ -0,0 +1,241 @@
+package com.example.orderapi.repository;
+
+import com.example.orderapi.domain.Money;
+import com.example.orderapi.exception.OrderVersionConflictException;
+import com.example.orderapi.model.enums.OrderStatus;
+import com.example.orderapi.model.order.Order;
+import com.example.orderapi.model.order.OrderItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmbeddedOrderStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedOrderStore store;
+    private SimpleMeterRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private EmbeddedOrderStore open(DataSize segmentSize) {
+        return open(segmentSize, false);
+    }
+
+    private EmbeddedOrderStore open(DataSize segmentSize, boolean skipCorruptRecords) {
+        if (store != null) {
+            store.close();
+        }
+        registry = new SimpleMeterRegistry();
+        store = new EmbeddedOrderStore(directory.toString(), segmentSize, false, skipCorruptRecords, registry);
+        return store;
+    }
+
+    @Test
+    void finds_the_latest_version_by_id_and_customer() {
+        EmbeddedOrderStore store = open(DataSize.ofMegabytes(1));
+        store.save(order("1", 7, OrderStatus.PENDING));
+        store.save(order("2", 7, OrderStatus.PENDING));
+        store.save(order("1", 7, OrderStatus.CONFIRMED));
+        store.save(order("3", 8, OrderStatus.PENDING));
+
+        assertThat(store.findById("1")).contains(order("1", 7, OrderStatus.CONFIRMED));
+        assertThat(store.findById("9")).isEmpty();
+        assertThat(store.findByCustomerId(7)).extracting(Order::getId).containsExactlyInAnyOrder("1", "2");
+        assertThat(store.findAll()).hasSize(3);
+    }
+
+    @Test
+    void moves_an_order_between_customers_in_the_secondary_index() {
+        EmbeddedOrderStore store = open(DataSize.ofMegabytes(1));
+        store.save(order("1", 7, OrderStatus.PENDING));
+        store.save(order("1", 8, OrderStatus.PENDING));
+
+        assertThat(store.findByCustomerId(7)).isEmpty();
+        assertThat(store.findByCustomerId(8)).extracting(Order::getId).containsExactly("1");
+    }
+
+    @Test
+    void rejects_a_conditional_write_based_on_a_stale_version() {
+        EmbeddedOrderStore store = open(DataSize.ofMegabytes(1));
+        store.save(order("1", 7, OrderStatus.PENDING));
+        VersionedOrder read = store.findVersioned("1").orElseThrow();
+
+        VersionedOrder confirmed = store.saveIfUnchanged(order("1", 7, OrderStatus.CONFIRMED), read.seqNo(),
+                read.primaryTerm());
+
+        assertThat(confirmed.seqNo()).isGreaterThan(read.seqNo());
+        assertThatThrownBy(() -> store.saveIfUnchanged(order("1", 7, OrderStatus.CANCELLED), read.seqNo(),
+                read.primaryTerm())).isInstanceOf(OrderVersionConflictException.class);
+        assertThat(store.findVersioned("1")).contains(confirmed);
+    }
+
+    @Test
+    void versions_read_before_a_restart_no_longer_match() {
+        open(DataSize.ofMegabytes(1));
+        store.save(order("1", 7, OrderStatus.PENDING));
+        VersionedOrder read = store.findVersioned("1").orElseThrow();
+
+        EmbeddedOrderStore reopened = open(DataSize.ofMegabytes(1));
+
+        assertThatThrownBy(() -> reopened.saveIfUnchanged(order("1", 7, OrderStatus.CONFIRMED), read.seqNo(),
+                read.primaryTerm())).isInstanceOf(OrderVersionConflictException.class);
+    }
+
+    @Test
+    void orders_survive_a_restart() {
+        open(DataSize.ofMegabytes(1));
+        for (int i = 0; i < 50; i++) {
+            store.save(order(String.valueOf(i), i % 5, OrderStatus.PENDING));
+        }
+
+        EmbeddedOrderStore reopened = open(DataSize.ofMegabytes(1));
+
+        assertThat(reopened.findAll()).hasSize(50);
+        assertThat(reopened.findByCustomerId(3)).hasSize(10);
+        assertThat(reopened.findById("42")).contains(order("42", 2, OrderStatus.PENDING));
+    }
+
+    @Test
+    void ignores_a_torn_last_record_and_keeps_appending_after_it() throws IOException {
+        open(DataSize.ofMegabytes(1));
+        store.save(order("1", 1, OrderStatus.PENDING));
+        store.save(order("2", 1, OrderStatus.PENDING));
+        store.close();
+        store = null;
+
+        // Süreç ikinci kaydın gövdesini yazarken kesilmiş gibi kaydın ortası bozulur
+        Path segment = segments().get(0);
+        long secondRecord = recordLength(segment, 0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(secondRecord + 12);
+            file.writeInt(0xDEADBEEF);
+        }
+
+        EmbeddedOrderStore reopened = open(DataSize.ofMegabytes(1));
+        assertThat(reopened.findById("2")).isEmpty();
+        reopened.save(order("3", 1, OrderStatus.PENDING));
+
+        EmbeddedOrderStore again = open(DataSize.ofMegabytes(1));
+        assertThat(again.findAll()).extracting(Order::getId).containsExactlyInAnyOrder("1", "3");
+    }
+
+    @Test
+    void refuses_to_open_when_an_earlier_segment_has_a_corrupt_record() throws IOException {
+        corruptFirstRecordOfFirstSegment();
+
+        // Bozuk kayıt "0"ın daha yeni bir sürümü olabilirdi; atlanırsa eski sürüm sessizce geçerli olurdu
+        assertThatThrownBy(() -> open(DataSize.ofKilobytes(4)))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCauseMessage("Order store segment " + segments().get(0) + " has a corrupt record at offset 0");
+    }
+
+    @Test
+    void skips_a_corrupt_record_in_an_earlier_segment_when_asked_and_counts_it() throws IOException {
+        corruptFirstRecordOfFirstSegment();
+
+        EmbeddedOrderStore reopened = open(DataSize.ofKilobytes(4), true);
+        assertThat(reopened.findById("0")).isEmpty();
+        assertThat(reopened.findAll()).hasSize(39);
+        assertThat(reopened.findById("1")).contains(order("1", 1, OrderStatus.PENDING));
+        assertThat(registry.get("order.store.embedded.corrupt.records").gauge().value()).isEqualTo(1.0);
+    }
+
+    private void corruptFirstRecordOfFirstSegment() throws IOException {
+        open(DataSize.ofKilobytes(4));
+        for (int i = 0; i < 40; i++) {
+            store.save(order(String.valueOf(i), 1, OrderStatus.PENDING));
+        }
+        assertThat(segments()).hasSizeGreaterThan(2);
+        store.close();
+        store = null;
+
+        // İlk segmentteki ilk kaydın gövdesi bozulur; ardından gelen kayıtlar ve segmentler sağlamdır
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            file.seek(12);
+            file.writeInt(0xDEADBEEF);
+        }
+    }
+
+    @Test
+    void refuses_to_open_when_an_earlier_segment_has_a_broken_record_length() throws IOException {
+        open(DataSize.ofKilobytes(4));
+        for (int i = 0; i < 40; i++) {
+            store.save(order(String.valueOf(i), 1, OrderStatus.PENDING));
+        }
+        store.close();
+        store = null;
+
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            file.seek(0);
+            file.writeInt(-1);
+        }
+
+        assertThatThrownBy(() -> open(DataSize.ofKilobytes(4)))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCauseMessage("Order store segment " + segments().get(0) + " is corrupt at offset 0");
+    }
+
+    @Test
+    void compacts_segments_full_of_overwritten_records_on_open() throws IOException {
+        open(DataSize.ofKilobytes(4));
+        for (int i = 0; i < 200; i++) {
+            store.save(order(String.valueOf(i % 4), i % 4, OrderStatus.values()[i % OrderStatus.values().length]));
+        }
+        assertThat(segments()).hasSizeGreaterThan(2);
+
+        EmbeddedOrderStore reopened = open(DataSize.ofKilobytes(4));
+
+        assertThat(segments()).hasSize(1);
+        assertThat(reopened.findAll()).hasSize(4);
+        assertThat(reopened.findById("3")).contains(
+                order("3", 3, OrderStatus.values()[199 % OrderStatus.values().length]));
+        assertThat(reopened.findByCustomerId(2)).extracting(Order::getId).containsExactly("2");
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static long recordLength(Path segment, long offset) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "r")) {
+            file.seek(offset);
+            return 8 + file.readInt();
+        }
+    }
+
+    private static Order order(String id, int customerId, OrderStatus status) {
+        return Order.builder()
+                .id(id)
+                .customerId(customerId)
+                .address("Moda Cad. No:" + id)
+                .status(status)
+                .totalAmount(Money.toMajor(2450L))
+                .deliveryId(0)
+                .orderDate("2024-01-01T12:00:00")
+                .items(List.of(OrderItem.builder().productId(1).productName("Ürün").quantity(2)
+                        .price(Money.toMajor(1225L)).build()))
+                .build();
+    }
+}
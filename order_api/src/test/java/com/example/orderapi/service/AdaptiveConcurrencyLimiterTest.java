@@ -0,0 +1,69 @@
+package com.example.orderapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long BASE_RTT = 20_000_000L;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(registry, initialLimit, 4, 150, 0.2, 1.5, 600);
+    }
+
+    @Test
+    void rejects_requests_beyond_the_limit_and_counts_them() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(registry.counter("order.concurrency.rejected").count()).isEqualTo(1.0);
+
+        limiter.release(BASE_RTT);
+        assertThat(limiter.getInFlight()).isEqualTo(3);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void limit_grows_while_latency_is_stable_and_saturated() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(BASE_RTT, limiter.getLimit());
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(30);
+    }
+
+    @Test
+    void limit_shrinks_when_latency_rises() {
+        AdaptiveConcurrencyLimiter limiter = limiter(100);
+        for (int i = 0; i < 600; i++) {
+            limiter.onSample(BASE_RTT, 50);
+        }
+        int before = limiter.getLimit();
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(BASE_RTT * 5, limiter.getLimit());
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(before / 2);
+    }
+
+    @Test
+    void limit_does_not_grow_when_underutilized() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(BASE_RTT, 5);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(40);
+    }
+}
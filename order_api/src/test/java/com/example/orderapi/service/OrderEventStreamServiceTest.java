@@ -0,0 +1,115 @@
+package com.example.orderapi.service;
+
+import com.example.orderapi.event.OrderStatusChangedEvent;
+import com.example.orderapi.loadtest.DownstreamStub;
+import com.example.orderapi.loadtest.LoadTestApplication;
+import com.example.orderapi.model.enums.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gerçek bağlantılarla çalışır: okumayı bırakan istemcilerin soketi dolunca yazmaları takılır.
+ */
+class OrderEventStreamServiceTest {
+
+    private static final int STALLED_CLIENTS = 6;
+    private static final int EVENTS = 3000;
+
+    private DownstreamStub stub;
+    private ConfigurableApplicationContext context;
+    private final List<Socket> sockets = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = DownstreamStub.start(new DownstreamStub.Settings(Duration.ZERO, Duration.ZERO, 0, 1));
+        context = LoadTestApplication.start(stub, Map.of());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        context.close();
+        stub.close();
+    }
+
+    @Test
+    void clients_that_stop_reading_do_not_hold_up_a_client_that_keeps_reading() throws Exception {
+        for (int i = 0; i < STALLED_CLIENTS; i++) {
+            subscribe(1024);
+        }
+        Socket reader = subscribe(0);
+        AtomicInteger received = new AtomicInteger();
+        Thread readerThread = new Thread(() -> countEvents(reader, received));
+        readerThread.setDaemon(true);
+        readerThread.start();
+        Thread.sleep(500);
+
+        // Büyük olaylar takılan istemcilerin soket tamponlarını kısa sürede doldurur
+        String padding = "x".repeat(2000);
+        for (int i = 0; i < EVENTS; i++) {
+            context.publishEvent(new OrderStatusChangedEvent("order-" + i + padding, 1, OrderStatus.CONFIRMED,
+                    LocalDateTime.now()));
+            if (i % 5 == 0) {
+                Thread.sleep(5);
+            }
+        }
+        for (int i = 0; i < 100 && received.get() < EVENTS; i++) {
+            Thread.sleep(100);
+        }
+
+        assertThat(received.get()).isEqualTo(EVENTS);
+        assertThat(context.getBean(MeterRegistry.class).counter("order.events.subscribers.dropped").count())
+                .isEqualTo(STALLED_CLIENTS);
+    }
+
+    // receiveBuffer > 0 ise istemci okumaz ve küçük alma tamponu sunucunun yazmasını çabuk bloklar
+    private Socket subscribe(int receiveBuffer) throws IOException {
+        Socket socket = new Socket();
+        sockets.add(socket);
+        if (receiveBuffer > 0) {
+            socket.setReceiveBufferSize(receiveBuffer);
+        }
+        int port = LoadTestApplication.port(context);
+        socket.connect(new InetSocketAddress("localhost", port));
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET /api/orders/events?customerId=1 HTTP/1.1\r\nHost: localhost:" + port
+                + "\r\nAccept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return socket;
+    }
+
+    private static void countEvents(Socket socket, AtomicInteger received) {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("event:order-status")) {
+                    received.incrementAndGet();
+                }
+            }
+        } catch (IOException ignored) {
+            // Test sonunda soket kapatılır
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.orderapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 250_000;
+
+    @Test
+    void ids_are_unique_and_increasing_per_thread_under_contention() throws Exception {
+        OrderIdGenerator generator = new OrderIdGenerator(7, Duration.ofSeconds(2), System::currentTimeMillis);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?>[] workers = new Future<?>[THREADS];
+            long[][] generated = new long[THREADS][IDS_PER_THREAD];
+            for (int t = 0; t < THREADS; t++) {
+                long[] ids = generated[t];
+                workers[t] = executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+
+            long[] all = new long[THREADS * IDS_PER_THREAD];
+            for (int t = 0; t < THREADS; t++) {
+                long[] ids = generated[t];
+                for (int i = 1; i < ids.length; i++) {
+                    assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                }
+                System.arraycopy(ids, 0, all, t * IDS_PER_THREAD, IDS_PER_THREAD);
+            }
+            Arrays.sort(all);
+            for (int i = 1; i < all.length; i++) {
+                assertThat(all[i]).as("duplicate id %d", all[i]).isNotEqualTo(all[i - 1]);
+            }
+            assertThat(OrderIdGenerator.nodeOf(all[0])).isEqualTo(7);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void ids_keep_increasing_when_clock_moves_back_within_tolerance() {
+        AtomicLong clock = new AtomicLong(OrderIdGenerator.EPOCH_MILLIS + 10_000);
+        OrderIdGenerator generator = new OrderIdGenerator(1, Duration.ofSeconds(2), clock::get);
+
+        long beforeSkew = generator.nextId();
+        clock.addAndGet(-1_500);
+        long afterSkew = generator.nextId();
+
+        assertThat(afterSkew).isGreaterThan(beforeSkew);
+        assertThat(OrderIdGenerator.timestampOf(afterSkew)).isEqualTo(OrderIdGenerator.timestampOf(beforeSkew));
+    }
+
+    @Test
+    void generation_is_refused_when_clock_moves_back_beyond_tolerance() {
+        AtomicLong clock = new AtomicLong(OrderIdGenerator.EPOCH_MILLIS + 10_000);
+        OrderIdGenerator generator = new OrderIdGenerator(1, Duration.ofSeconds(2), clock::get);
+
+        generator.nextId();
+        clock.addAndGet(-5_000);
+
+        assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void sequence_overflow_borrows_the_next_millisecond() {
+        AtomicLong clock = new AtomicLong(OrderIdGenerator.EPOCH_MILLIS + 10_000);
+        OrderIdGenerator generator = new OrderIdGenerator(1, Duration.ofSeconds(2), clock::get);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 5_000; i++) {
+            long next = generator.nextId();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+        assertThat(OrderIdGenerator.timestampOf(previous)).isEqualTo(clock.get() + 1);
+    }
+
+    @Test
+    void node_id_out_of_range_is_rejected() {
+        assertThatThrownBy(() -> new OrderIdGenerator(1024, Duration.ofSeconds(2), System::currentTimeMillis))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
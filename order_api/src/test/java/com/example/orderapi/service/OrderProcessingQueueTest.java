@@ -0,0 +1,136 @@
+package com.example.orderapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderProcessingQueueTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // Tek worker, bekleme kuyruğu yok: aynı anda yalnızca bir sipariş slot tutabilir
+    private final OrderProcessingQueue queue = new OrderProcessingQueue(registry, 0, 1);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queue.shutdown();
+    }
+
+    @Test
+    void parked_order_gives_up_its_slot_and_resumes_before_new_orders() throws InterruptedException {
+        assertThat(queue.tryReserve()).isTrue();
+        queue.park();
+        assertThat(inFlight()).isZero();
+
+        // Mutfak beklerken gelen yeni sipariş slotu alır, devam işi slot bekler
+        assertThat(queue.tryReserve()).isTrue();
+        CountDownLatch resumed = new CountDownLatch(1);
+        queue.resume(resumed::countDown);
+        assertThat(waitingResumes()).isEqualTo(1.0);
+        assertThat(resumed.getCount()).isEqualTo(1);
+
+        // Boşalan slot yeni siparişe değil bekleyen devam işine verilir
+        queue.complete(true);
+        assertThat(resumed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(waitingResumes()).isZero();
+        assertThat(inFlight()).isEqualTo(1.0);
+        assertThat(queue.tryReserve()).isFalse();
+
+        queue.complete(true);
+        assertThat(inFlight()).isZero();
+        assertThat(queue.tryReserve()).isTrue();
+    }
+
+    @Test
+    void resumes_immediately_when_a_slot_is_free() throws InterruptedException {
+        assertThat(queue.tryReserve()).isTrue();
+        queue.park();
+
+        CountDownLatch resumed = new CountDownLatch(1);
+        queue.resume(resumed::countDown);
+
+        assertThat(resumed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(waitingResumes()).isZero();
+        assertThat(inFlight()).isEqualTo(1.0);
+    }
+
+    @Test
+    void retry_keeps_the_slot_until_the_order_completes() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        Runnable[] task = new Runnable[1];
+        task[0] = () -> {
+            if (attempts.incrementAndGet() == 1) {
+                queue.retry(task[0], Duration.ofMillis(20));
+                return;
+            }
+            done.countDown();
+        };
+
+        assertThat(queue.tryReserve()).isTrue();
+        queue.submit(task[0]);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(registry.counter("order.async.retries").count()).isEqualTo(1.0);
+        assertThat(inFlight()).isEqualTo(1.0);
+        assertThat(queue.tryReserve()).isFalse();
+
+        queue.complete(true);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void resume_after_shutdown_drops_the_task_and_releases_the_slot() throws InterruptedException {
+        assertThat(queue.tryReserve()).isTrue();
+        queue.park();
+        queue.shutdown();
+
+        AtomicInteger runs = new AtomicInteger();
+        queue.resume(runs::incrementAndGet);
+
+        assertThat(runs.get()).isZero();
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void slot_handed_to_a_waiting_resume_after_shutdown_is_released() throws InterruptedException {
+        assertThat(queue.tryReserve()).isTrue();
+        queue.park();
+        assertThat(queue.tryReserve()).isTrue();
+        AtomicInteger runs = new AtomicInteger();
+        queue.resume(runs::incrementAndGet);
+        queue.shutdown();
+
+        queue.complete(true);
+
+        assertThat(runs.get()).isZero();
+        assertThat(waitingResumes()).isZero();
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void retry_after_shutdown_releases_the_slot() throws InterruptedException {
+        assertThat(queue.tryReserve()).isTrue();
+        queue.shutdown();
+
+        queue.retry(() -> { }, Duration.ofMillis(10));
+
+        assertThat(inFlight()).isZero();
+    }
+
+    private double inFlight() {
+        return registry.get("order.async.in.flight").gauge().value();
+    }
+
+    private double waitingResumes() {
+        return registry.get("order.async.resume.waiting").gauge().value();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.orderapi.service;
+
+import com.example.orderapi.model.enums.OrderStatus;
+import com.example.orderapi.model.order.Order;
+import com.example.orderapi.repository.VersionedOrder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentOrderCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void returns_the_latest_write_and_evicts_the_oldest_write_first() {
+        RecentOrderCache cache = new RecentOrderCache(registry, 2, Duration.ofMinutes(1));
+        cache.put(order("1", OrderStatus.PENDING));
+        cache.put(order("2", OrderStatus.PENDING));
+        // Yeniden yazılan sipariş en yeni olur, bu yüzden kapasite aşılınca "2" atılır
+        cache.put(order("1", OrderStatus.CONFIRMED));
+        cache.put(order("3", OrderStatus.PENDING));
+
+        assertThat(cache.get("1").getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(cache.get("2")).isNull();
+        assertThat(cache.get("3")).isNotNull();
+        assertThat(registry.counter("order.recent-cache.requests", "result", "hit").count()).isEqualTo(2.0);
+        assertThat(registry.counter("order.recent-cache.requests", "result", "miss").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void keeps_the_newer_version_when_writes_arrive_out_of_order() {
+        RecentOrderCache cache = new RecentOrderCache(registry, 10, Duration.ofMinutes(1));
+        cache.put(order("1", OrderStatus.PENDING));
+        cache.put(new VersionedOrder(order("1", OrderStatus.CANCELLED), 3, 1));
+        // Daha önce yazılıp önbelleğe geç eklenen sürüm ve sürümsüz oluşturma yazısı yeni sürümü ezmez
+        cache.put(new VersionedOrder(order("1", OrderStatus.CONFIRMED), 2, 1));
+        cache.put(order("1", OrderStatus.PENDING));
+
+        assertThat(cache.get("1").getStatus()).isEqualTo(OrderStatus.CANCELLED);
+
+        cache.put(new VersionedOrder(order("1", OrderStatus.DELIVERED), 0, 2));
+        assertThat(cache.get("1").getStatus()).isEqualTo(OrderStatus.DELIVERED);
+    }
+
+    @Test
+    void drops_entries_older_than_the_ttl() throws InterruptedException {
+        RecentOrderCache cache = new RecentOrderCache(registry, 10, Duration.ofMillis(20));
+        cache.put(order("1", OrderStatus.PENDING));
+
+        Thread.sleep(50);
+
+        assertThat(cache.get("1")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    private static Order order(String id, OrderStatus status) {
+        return Order.builder().id(id).customerId(1).status(status).build();
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.orderapi.service;
+
+import com.example.orderapi.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StockCheckHedgerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private StockCheckHedger hedger;
+
+    @AfterEach
+    void tearDown() {
+        if (hedger != null) {
+            hedger.shutdown();
+        }
+    }
+
+    private StockCheckHedger hedger(double maxExtraLoad) {
+        return hedger(maxExtraLoad, 4);
+    }
+
+    private StockCheckHedger hedger(double maxExtraLoad, int maxThreads) {
+        hedger = new StockCheckHedger(registry, true, 0.95, Duration.ofMillis(20), maxExtraLoad, 10, maxThreads);
+        // Gecikme dağılımı oluşsun diye hızlı çağrılarla ısıtılır
+        for (int i = 0; i < 64; i++) {
+            hedger.call(() -> true);
+        }
+        return hedger;
+    }
+
+    private static Supplier<Boolean> slowFirstAttempt(AtomicInteger attempts) {
+        return () -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(1_000);
+                return false;
+            }
+            return true;
+        };
+    }
+
+    @Test
+    void sends_a_second_request_when_the_first_is_slow_and_uses_the_first_answer() {
+        StockCheckHedger hedger = hedger(1.0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        long start = System.nanoTime();
+        boolean result = hedger.call(slowFirstAttempt(attempts));
+
+        assertThat(result).isTrue();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(registry.counter("order.stock.hedge.sent").count()).isEqualTo(1.0);
+        assertThat(awaitWins()).isEqualTo(1.0);
+    }
+
+    @Test
+    void does_not_hedge_beyond_the_extra_load_budget() {
+        StockCheckHedger hedger = hedger(0.0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        boolean result = hedger.call(slowFirstAttempt(attempts));
+
+        assertThat(result).isFalse();
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(registry.counter("order.stock.hedge.sent").count()).isZero();
+        assertThat(registry.counter("order.stock.hedge.throttled").count()).isEqualTo(1.0);
+        assertThat(registry.counter("order.stock.hedge.rejected").count()).isZero();
+    }
+
+    @Test
+    void does_not_count_calls_that_answer_before_the_hedge_delay() {
+        StockCheckHedger hedger = hedger(0.0);
+
+        assertThat(hedger.call(() -> true)).isTrue();
+
+        assertThat(registry.counter("order.stock.hedge.throttled").count()).isZero();
+        assertThat(registry.counter("order.stock.hedge.rejected").count()).isZero();
+    }
+
+    @Test
+    void runs_on_the_callers_thread_and_counts_a_rejection_when_the_pool_is_full() throws InterruptedException {
+        StockCheckHedger hedger = hedger(1.0, 1);
+        Thread busy = new Thread(() -> hedger.call(() -> {
+            sleep(500);
+            return true;
+        }));
+        busy.start();
+        sleep(50);
+
+        String caller = Thread.currentThread().getName();
+        assertThat(hedger.call(() -> Thread.currentThread().getName())).isEqualTo(caller);
+
+        busy.join();
+        assertThat(registry.counter("order.stock.hedge.rejected").count()).isGreaterThanOrEqualTo(1.0);
+        assertThat(registry.counter("order.stock.hedge.throttled").count()).isZero();
+    }
+
+    @Test
+    void waits_for_the_hedge_when_the_first_request_fails() {
+        StockCheckHedger hedger = hedger(1.0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        boolean result = hedger.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(100);
+                throw new IllegalStateException("connection reset");
+            }
+            sleep(200);
+            return true;
+        });
+
+        assertThat(result).isTrue();
+        assertThat(awaitWins()).isEqualTo(1.0);
+    }
+
+    @Test
+    void propagates_the_error_when_every_request_fails() {
+        StockCheckHedger hedger = hedger(1.0);
+
+        assertThatThrownBy(() -> hedger.call(() -> {
+            sleep(50);
+            throw new IllegalStateException("restaurant-api down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("restaurant-api down");
+    }
+
+    @Test
+    void stops_waiting_when_the_deadline_expires() {
+        StockCheckHedger hedger = hedger(1.0);
+
+        long start = System.nanoTime();
+        try (Deadline.Scope ignored = Deadline.after(Duration.ofMillis(150)).bind()) {
+            assertThatThrownBy(() -> hedger.call(() -> {
+                sleep(1_000);
+                return true;
+            })).isInstanceOf(DeadlineExceededException.class);
+        }
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+    }
+
+    @Test
+    void propagates_an_error_thrown_by_every_request() {
+        StockCheckHedger hedger = hedger(1.0);
+
+        assertThatThrownBy(() -> hedger.call(() -> {
+            sleep(50);
+            throw new AssertionError("broken client");
+        })).isInstanceOf(AssertionError.class).hasMessage("broken client");
+    }
+
+    // Kazanan istek sayacı cevap teslim edildikten hemen sonra artırılır
+    private double awaitWins() {
+        for (int i = 0; i < 50 && registry.counter("order.stock.hedge.wins").count() == 0; i++) {
+            sleep(10);
+        }
+        return registry.counter("order.stock.hedge.wins").count();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.orderapi.service;
+
+import com.example.orderapi.config.DeadlinePropagationInterceptor;
+import com.example.orderapi.config.RestaurantPartitions;
+import com.example.orderapi.model.request.StockRequest.StockItemDto;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockClientPartitionTest {
+
+    private static final int RANGE_SIZE = 10;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PartitionStub first = new PartitionStub();
+    private final PartitionStub second = new PartitionStub();
+    private StockClient client;
+    private StockCheckHedger hedger;
+
+    @AfterEach
+    void tearDown() {
+        first.close();
+        second.close();
+        if (client != null) {
+            client.shutdown();
+        }
+        if (hedger != null) {
+            hedger.shutdown();
+        }
+    }
+
+    private StockClient client(List<String> partitions) {
+        return client(partitions, 4);
+    }
+
+    private StockClient client(List<String> partitions, int partitionThreads) {
+        hedger = new StockCheckHedger(registry, false, 0.95, Duration.ofMillis(10), 0.05, 10, 4);
+        client = new StockClient(new RestTemplateBuilder(),
+                new DeadlinePropagationInterceptor(registry.counter("before"), registry.counter("during")),
+                hedger, new RestaurantPartitions(partitions.get(0), partitions, RANGE_SIZE), registry, "json", 4096, partitionThreads);
+        return client;
+    }
+
+    private StockClient twoPartitions() {
+        return client(List.of(first.url(), second.url()));
+    }
+
+    @Test
+    void sends_each_item_only_to_the_partition_that_owns_it() {
+        boolean available = twoPartitions().check(List.of(new StockItemDto(1, 1), new StockItemDto(15, 2),
+                new StockItemDto(10, 3)));
+
+        assertThat(available).isTrue();
+        assertThat(first.requests()).containsExactly("POST /api/stock/check");
+        assertThat(first.bodies().get(0)).contains("\"productId\":1,").contains("\"productId\":10,")
+                .doesNotContain("\"productId\":15");
+        assertThat(second.requests()).containsExactly("POST /api/stock/check");
+        assertThat(second.bodies().get(0)).contains("\"productId\":15,").doesNotContain("\"productId\":1,");
+    }
+
+    @Test
+    void check_fails_when_any_partition_lacks_stock() {
+        second.available = false;
+
+        assertThat(twoPartitions().check(List.of(new StockItemDto(1, 1), new StockItemDto(15, 2)))).isFalse();
+    }
+
+    @Test
+    void reduce_within_one_partition_is_a_single_call() {
+        boolean reduced = twoPartitions().reduce(List.of(new StockItemDto(1, 1), new StockItemDto(2, 1)));
+
+        assertThat(reduced).isTrue();
+        assertThat(first.requests()).containsExactly("POST /api/stock/reduce");
+        assertThat(second.requests()).isEmpty();
+    }
+
+    @Test
+    void reduce_across_partitions_reserves_then_confirms_everywhere() {
+        boolean reduced = twoPartitions().reduce(List.of(new StockItemDto(1, 1), new StockItemDto(15, 2)));
+
+        assertThat(reduced).isTrue();
+        String reservationId = first.reservationId();
+        assertThat(second.reservationId()).isEqualTo(reservationId);
+        assertThat(first.requests()).containsExactly("POST /api/stock/reservations",
+                "POST /api/stock/reservations/" + reservationId + "/confirm");
+        assertThat(second.requests()).containsExactly("POST /api/stock/reservations",
+                "POST /api/stock/reservations/" + reservationId + "/confirm");
+    }
+
+    @Test
+    void reduce_cancels_every_reservation_when_one_partition_rejects() {
+        second.available = false;
+
+        boolean reduced = twoPartitions().reduce(List.of(new StockItemDto(1, 1), new StockItemDto(15, 2)));
+
+        assertThat(reduced).isFalse();
+        String reservationId = first.reservationId();
+        assertThat(first.requests()).containsExactly("POST /api/stock/reservations",
+                "DELETE /api/stock/reservations/" + reservationId);
+        assertThat(second.requests()).containsExactly("POST /api/stock/reservations",
+                "DELETE /api/stock/reservations/" + reservationId);
+    }
+
+    @Test
+    void rolls_back_confirmed_partitions_when_another_cannot_confirm() {
+        second.confirmStatus = 404;
+
+        boolean reduced = twoPartitions().reduce(List.of(new StockItemDto(1, 1), new StockItemDto(15, 2)));
+
+        assertThat(reduced).isFalse();
+        assertThat(registry.counter("order.stock.reservation.confirm.failures").count()).isEqualTo(1.0);
+        String reservationId = first.reservationId();
+        assertThat(first.requests()).containsExactly("POST /api/stock/reservations",
+                "POST /api/stock/reservations/" + reservationId + "/confirm", "POST /api/stock/increase");
+        assertThat(first.bodies().get(2)).contains("\"productId\":1,").doesNotContain("\"productId\":15");
+        assertThat(second.requests()).containsExactly("POST /api/stock/reservations",
+                "POST /api/stock/reservations/" + reservationId + "/confirm",
+                "DELETE /api/stock/reservations/" + reservationId);
+    }
+
+    @Test
+    void release_runs_without_the_callers_expired_deadline_when_the_pool_is_full() {
+        StockClient client = client(List.of(first.url(), second.url()), 1);
+
+        boolean released;
+        try (Deadline.Scope ignored = Deadline.after(Duration.ZERO).bind()) {
+            released = client.release(List.of(new StockItemDto(1, 1), new StockItemDto(15, 2)));
+            assertThat(Deadline.current()).isNotNull();
+        }
+
+        assertThat(released).isTrue();
+        assertThat(registry.counter("before").count()).isZero();
+        assertThat(first.requests()).containsExactly("POST /api/stock/increase");
+        assertThat(second.requests()).containsExactly("POST /api/stock/increase");
+    }
+
+    /**
+     * Tek bir restaurant-api partition'ı yerine geçen sunucu; gelen istekleri sırasıyla kaydeder.
+     */
+    private static final class PartitionStub implements AutoCloseable {
+
+        private final HttpServer server;
+        private final List<String> requests = new CopyOnWriteArrayList<>();
+        private final List<String> bodies = new CopyOnWriteArrayList<>();
+        volatile boolean available = true;
+        volatile int confirmStatus = 204;
+
+        PartitionStub() {
+            try {
+                server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            server.createContext("/api/stock", this::handle);
+            server.start();
+        }
+
+        String url() {
+            return "http://localhost:" + server.getAddress().getPort() + "/api";
+        }
+
+        List<String> requests() {
+            return requests;
+        }
+
+        List<String> bodies() {
+            return bodies;
+        }
+
+        String reservationId() {
+            String body = bodies.get(0);
+            int start = body.indexOf("\"reservationId\":\"") + "\"reservationId\":\"".length();
+            return body.substring(start, body.indexOf('"', start));
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            String path = exchange.getRequestURI().getPath();
+            requests.add(exchange.getRequestMethod() + " " + path);
+            bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+            if (exchange.getRequestMethod().equals("DELETE")) {
+                exchange.sendResponseHeaders(204, -1);
+            } else if (path.endsWith("/confirm")) {
+                exchange.sendResponseHeaders(confirmStatus, -1);
+            } else {
+                byte[] response = ("{\"available\":" + available + ",\"message\":\"ok\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+            exchange.close();
+        }
+
+        @Override
+        public void close() {
+            server.stop(0);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.example.restaurantapi
 
 import org.springframework.boot.autoconfigure.SpringBootApplication
 import org.springframework.boot.runApplication
+import org.springframework.scheduling.annotation.EnableScheduling
 
 @SpringBootApplication
+@EnableScheduling
 class RestaurantApiApplication
 
 fun main(args: Array<String>) {
@@ -17,12 +17,13 @@ class DataLoader {
         return CommandLineRunner { args ->
 
             if (productRepository.count() == 0L) {
+                // Fiyatlar kuruş cinsinden
                 val products = listOf(
-                    Product(name = "Hamburger", price = 50.0, stockQuantity = 20),
-                    Product(name = "Pizza", price = 70.0, stockQuantity = 15),
-                    Product(name = "Lahmacun", price = 30.0, stockQuantity = 25),
-                    Product(name = "Cola", price = 10.0, stockQuantity = 50),
-                    Product(name = "Ayran", price = 8.0, stockQuantity = 40)
+                    Product(name = "Hamburger", price = 50_00, stockQuantity = 20, reorderThreshold = 5),
+                    Product(name = "Pizza", price = 70_00, stockQuantity = 15, reorderThreshold = 5),
+                    Product(name = "Lahmacun", price = 30_00, stockQuantity = 25, reorderThreshold = 5),
+                    Product(name = "Cola", price = 10_00, stockQuantity = 50, reorderThreshold = 10),
+                    Product(name = "Ayran", price = 8_00, stockQuantity = 40, reorderThreshold = 10)
                 )
 
                 productRepository.saveAll(products)
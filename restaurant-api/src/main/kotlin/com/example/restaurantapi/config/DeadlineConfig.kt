@@ -0,0 +1,78 @@
+package com.example.restaurantapi.config
+
+import com.example.restaurantapi.exception.DeadlineExceededException
+import jakarta.persistence.EntityManagerFactory
+import jakarta.servlet.http.HttpServletRequest
+import jakarta.servlet.http.HttpServletResponse
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.core.Ordered
+import org.springframework.orm.jpa.JpaTransactionManager
+import org.springframework.transaction.TransactionDefinition
+import org.springframework.web.servlet.HandlerInterceptor
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer
+import kotlin.math.min
+
+@Configuration
+class DeadlineConfig : WebMvcConfigurer {
+
+    override fun addInterceptors(registry: InterceptorRegistry) {
+        registry.addInterceptor(DeadlineInterceptor())
+            .addPathPatterns("/api/**")
+            .order(Ordered.HIGHEST_PRECEDENCE)
+    }
+
+    // Varsayılan JPA transaction manager'ının yerine geçer; transaction zaman aşımı isteğin kalan süresiyle sınırlanır.
+    // Spring bu süreyi JdbcTemplate ve JPA sorgularına JDBC statement timeout olarak da uygular.
+    @Bean
+    fun transactionManager(entityManagerFactory: EntityManagerFactory): JpaTransactionManager =
+        DeadlineAwareTransactionManager(entityManagerFactory)
+}
+
+/**
+ * X-Deadline-Remaining-Ms başlığıyla gelen isteğin bitiş zamanını thread'e bağlar.
+ * Süresi gelmeden dolmuş istekler hiçbir iş yapılmadan reddedilir.
+ */
+class DeadlineInterceptor : HandlerInterceptor {
+
+    override fun preHandle(request: HttpServletRequest, response: HttpServletResponse, handler: Any): Boolean {
+        val header = request.getHeader(RequestDeadline.HEADER) ?: return true
+        val remainingMillis = header.trim().toLongOrNull() ?: return true
+        if (remainingMillis <= 0) {
+            throw DeadlineExceededException("inbound", "İstek süresi ulaşmadan doldu")
+        }
+        RequestDeadline.bind(RequestDeadline.afterMillis(remainingMillis))
+        return true
+    }
+
+    override fun afterCompletion(
+        request: HttpServletRequest,
+        response: HttpServletResponse,
+        handler: Any,
+        ex: Exception?
+    ) {
+        RequestDeadline.clear()
+    }
+}
+
+class DeadlineAwareTransactionManager(
+    entityManagerFactory: EntityManagerFactory
+) : JpaTransactionManager(entityManagerFactory) {
+
+    override fun doBegin(transaction: Any, definition: TransactionDefinition) {
+        if (RequestDeadline.current()?.isExpired() == true) {
+            throw DeadlineExceededException("transaction", "İstek süresi transaction başlamadan doldu")
+        }
+        super.doBegin(transaction, definition)
+    }
+
+    // JDBC zaman aşımları saniye cinsindendir; kalan süre yukarı yuvarlanır
+    override fun determineTimeout(definition: TransactionDefinition): Int {
+        val configured = super.determineTimeout(definition)
+        val remainingMillis = RequestDeadline.current()?.remainingMillis() ?: return configured
+        val remainingSeconds = ((remainingMillis + 999) / 1000).toInt().coerceAtLeast(1)
+        return if (configured == TransactionDefinition.TIMEOUT_DEFAULT) remainingSeconds
+        else min(configured, remainingSeconds)
+    }
+}
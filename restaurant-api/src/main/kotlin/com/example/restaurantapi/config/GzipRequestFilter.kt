@@ -0,0 +1,113 @@
+package com.example.restaurantapi.config
+
+import jakarta.servlet.FilterChain
+import jakarta.servlet.ReadListener
+import jakarta.servlet.ServletInputStream
+import jakarta.servlet.http.HttpServletRequest
+import jakarta.servlet.http.HttpServletRequestWrapper
+import jakarta.servlet.http.HttpServletResponse
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.http.HttpHeaders
+import org.springframework.stereotype.Component
+import org.springframework.util.unit.DataSize
+import org.springframework.web.filter.OncePerRequestFilter
+import java.io.BufferedReader
+import java.io.IOException
+import java.io.InputStreamReader
+import java.nio.charset.Charset
+import java.util.Collections
+import java.util.Enumeration
+import java.util.zip.GZIPInputStream
+
+// Tomcat istek gövdelerini açmadığı için Content-Encoding: gzip ile gelen gövdeler burada açılır.
+// Açılmış boyut sınırlandırılarak sıkıştırma bombalarına karşı korunulur.
+@Component
+class GzipRequestFilter(
+    @Value("\${restaurant.gzip.max-inflated-size:10MB}") private val maxInflatedSize: DataSize
+) : OncePerRequestFilter() {
+
+    override fun doFilterInternal(
+        request: HttpServletRequest,
+        response: HttpServletResponse,
+        filterChain: FilterChain
+    ) {
+        val encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING)
+        if (encoding == null || !encoding.trim().equals("gzip", ignoreCase = true)) {
+            filterChain.doFilter(request, response)
+            return
+        }
+        filterChain.doFilter(GzipRequestWrapper(request, maxInflatedSize.toBytes()), response)
+    }
+
+    private class GzipRequestWrapper(
+        request: HttpServletRequest,
+        maxInflatedBytes: Long
+    ) : HttpServletRequestWrapper(request) {
+
+        private val inflatingStream: ServletInputStream by lazy {
+            InflatingInputStream(GZIPInputStream(request.inputStream), maxInflatedBytes)
+        }
+
+        override fun getInputStream(): ServletInputStream = inflatingStream
+
+        override fun getReader(): BufferedReader {
+            val charset = characterEncoding?.let { Charset.forName(it) } ?: Charsets.UTF_8
+            return BufferedReader(InputStreamReader(inflatingStream, charset))
+        }
+
+        override fun getContentLength(): Int = -1
+
+        override fun getContentLengthLong(): Long = -1
+
+        override fun getHeader(name: String): String? =
+            if (isRewritten(name)) null else super.getHeader(name)
+
+        override fun getHeaders(name: String): Enumeration<String> =
+            if (isRewritten(name)) Collections.emptyEnumeration() else super.getHeaders(name)
+
+        override fun getHeaderNames(): Enumeration<String> =
+            Collections.enumeration(Collections.list(super.getHeaderNames()).filterNot { isRewritten(it) })
+
+        private fun isRewritten(name: String) =
+            name.equals(HttpHeaders.CONTENT_ENCODING, ignoreCase = true) ||
+                name.equals(HttpHeaders.CONTENT_LENGTH, ignoreCase = true)
+    }
+
+    private class InflatingInputStream(
+        private val delegate: GZIPInputStream,
+        private val maxInflatedBytes: Long
+    ) : ServletInputStream() {
+
+        private var inflatedBytes = 0L
+        private var finished = false
+
+        override fun read(): Int {
+            val value = delegate.read()
+            if (value == -1) finished = true else count(1)
+            return value
+        }
+
+        override fun read(b: ByteArray, off: Int, len: Int): Int {
+            val read = delegate.read(b, off, len)
+            if (read == -1) finished = true else count(read)
+            return read
+        }
+
+        override fun isFinished(): Boolean = finished
+
+        override fun isReady(): Boolean = true
+
+        override fun setReadListener(readListener: ReadListener) {
+            throw UnsupportedOperationException("Sıkıştırılmış istek gövdesi asenkron okunamaz")
+        }
+
+        override fun close() = delegate.close()
+
+        private fun count(bytes: Int) {
+            inflatedBytes += bytes
+            if (inflatedBytes > maxInflatedBytes) {
+                throw IOException("Açılmış istek gövdesi $maxInflatedBytes bayt sınırını aşıyor")
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.restaurantapi.config
+
+import org.slf4j.LoggerFactory
+import org.springframework.boot.ApplicationRunner
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.core.Ordered
+import org.springframework.core.annotation.Order
+import org.springframework.jdbc.core.JdbcTemplate
+
+@Configuration
+class PartitionConfig {
+
+    private val logger = LoggerFactory.getLogger(PartitionConfig::class.java)
+
+    // Ürün ID'leri veritabanının identity kolonundan gelir; her partition'ın kendi aralığında ID üretmesi için
+    // sayaç aralığın başına taşınır. Örnek veriler (DataLoader) bundan sonra yüklenir.
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    fun partitionIdentityInitializer(partition: StockPartition, jdbcTemplate: JdbcTemplate): ApplicationRunner =
+        ApplicationRunner {
+            if (partition.index == 0) {
+                return@ApplicationRunner
+            }
+            val maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM products", Int::class.java) ?: 0
+            if (maxId < partition.firstId) {
+                jdbcTemplate.execute("ALTER TABLE products ALTER COLUMN id RESTART WITH ${partition.firstId}")
+                logger.info("Partition {}/{}: ürün ID'leri {} değerinden başlayacak",
+                    partition.index, partition.count, partition.firstId)
+            }
+        }
+}
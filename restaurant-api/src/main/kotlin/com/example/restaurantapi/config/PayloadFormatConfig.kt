@@ -0,0 +1,24 @@
+package com.example.restaurantapi.config
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.dataformat.smile.SmileFactory
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter
+
+const val APPLICATION_SMILE_VALUE = "application/x-jackson-smile"
+
+@Configuration
+class PayloadFormatConfig {
+
+    // Varsayılan Smile converter'ının yerine geçer; Kotlin modülü dahil JSON ile aynı Jackson ayarlarını kullanır.
+    // JSON converter'ından sonra sıralandığı için Accept belirtilmeyen isteklerde JSON döner.
+    @Bean
+    fun smileHttpMessageConverter(builder: Jackson2ObjectMapperBuilder): MappingJackson2SmileHttpMessageConverter {
+        val smileMapper: ObjectMapper = builder.createXmlMapper(false)
+            .factory(SmileFactory())
+            .build()
+        return MappingJackson2SmileHttpMessageConverter(smileMapper)
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.restaurantapi.config
+
+import io.micrometer.core.instrument.MeterRegistry
+import jakarta.servlet.http.HttpServletRequest
+import jakarta.servlet.http.HttpServletResponse
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.context.annotation.Configuration
+import org.springframework.web.servlet.AsyncHandlerInterceptor
+import org.springframework.web.servlet.HandlerMapping
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer
+
+@Configuration
+class QueryMonitoringConfig(
+    private val statementCounter: StatementCounter,
+    private val meterRegistry: MeterRegistry,
+    @Value("\${restaurant.jdbc.max-statements-per-request:10}") private val maxStatementsPerRequest: Int
+) : WebMvcConfigurer {
+
+    override fun addInterceptors(registry: InterceptorRegistry) {
+        registry.addInterceptor(StatementBudgetInterceptor(statementCounter, meterRegistry, maxStatementsPerRequest))
+            .addPathPatterns("/api/**")
+    }
+}
+
+/**
+ * İstek başına çalışan statement sayısını `restaurant.request.statements` olarak kaydeder; sınırı aşan istekler
+ * loglanır ve sayılır. N+1 sorgu hataları bu sayaçla fark edilir.
+ */
+class StatementBudgetInterceptor(
+    private val statementCounter: StatementCounter,
+    private val meterRegistry: MeterRegistry,
+    private val maxStatements: Int
+) : AsyncHandlerInterceptor {
+
+    private val logger = LoggerFactory.getLogger(StatementBudgetInterceptor::class.java)
+
+    override fun preHandle(request: HttpServletRequest, response: HttpServletResponse, handler: Any): Boolean {
+        statementCounter.start()
+        return true
+    }
+
+    // SSE gibi asenkron isteklerde istek thread'i burada bırakılır; sayım kapatılır
+    override fun afterConcurrentHandlingStarted(request: HttpServletRequest, response: HttpServletResponse, handler: Any) {
+        statementCounter.stop()
+    }
+
+    override fun afterCompletion(
+        request: HttpServletRequest,
+        response: HttpServletResponse,
+        handler: Any,
+        ex: Exception?
+    ) {
+        val statements = statementCounter.stop()
+        val uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) as? String ?: "UNKNOWN"
+        meterRegistry.summary("restaurant.request.statements", "uri", uri).record(statements.toDouble())
+        if (statements > maxStatements) {
+            meterRegistry.counter("restaurant.request.statements.exceeded", "uri", uri).increment()
+            logger.warn("İstek statement sınırını aştı: {} {} - {} statement (sınır {})",
+                request.method, uri, statements, maxStatements)
+        }
+    }
+}
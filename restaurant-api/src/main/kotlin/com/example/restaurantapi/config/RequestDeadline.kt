@@ -0,0 +1,39 @@
+package com.example.restaurantapi.config
+
+import com.example.restaurantapi.exception.DeadlineExceededException
+
+/**
+ * Çağıran servisin gönderdiği kalan süreden hesaplanan istek bitiş zamanı.
+ * İstek boyunca thread'e bağlı tutulur; transaction ve sorgu zaman aşımları buradan hesaplanır.
+ */
+class RequestDeadline private constructor(private val expiresAtNanos: Long) {
+
+    fun remainingMillis(): Long = (expiresAtNanos - System.nanoTime()) / 1_000_000
+
+    fun isExpired(): Boolean = expiresAtNanos - System.nanoTime() <= 0
+
+    companion object {
+        const val HEADER = "X-Deadline-Remaining-Ms"
+
+        private val current = ThreadLocal<RequestDeadline>()
+
+        fun afterMillis(millis: Long) = RequestDeadline(System.nanoTime() + millis * 1_000_000)
+
+        fun current(): RequestDeadline? = current.get()
+
+        internal fun bind(deadline: RequestDeadline) = current.set(deadline)
+
+        internal fun clear() = current.remove()
+
+        /**
+         * Süresi dolmuş bir istekte oluşan hata (sorgu/transaction zaman aşımı vb.) istemciye 504 olarak dönmesi için
+         * [DeadlineExceededException]'a çevrilir; süre dolmamışsa hata olduğu gibi bırakılır.
+         */
+        fun rethrowIfExpired(e: Exception) {
+            if (e is DeadlineExceededException) throw e
+            if (current()?.isExpired() == true) {
+                throw DeadlineExceededException("query", "İstek süresi işlem sırasında doldu", e)
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.restaurantapi.config
+
+import io.micrometer.core.instrument.MeterRegistry
+import net.ttddyy.dsproxy.ExecutionInfo
+import net.ttddyy.dsproxy.QueryInfo
+import net.ttddyy.dsproxy.listener.QueryExecutionListener
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+import java.time.Duration
+
+/**
+ * Eşik süresini aşan sorguları bağlama parametreleriyle birlikte loglar ve sayar; diğer sorgular loglanmaz.
+ */
+@Component
+class SlowQueryListener(
+    meterRegistry: MeterRegistry,
+    @Value("\${restaurant.jdbc.slow-query-threshold:200ms}") threshold: Duration
+) : QueryExecutionListener {
+
+    private val logger = LoggerFactory.getLogger(SlowQueryListener::class.java)
+    private val thresholdMillis = threshold.toMillis()
+    private val slowQueries = meterRegistry.counter("restaurant.jdbc.slow.queries")
+    private val entryCreator = DefaultQueryLogEntryCreator()
+
+    override fun beforeQuery(execInfo: ExecutionInfo, queryInfoList: List<QueryInfo>) {
+    }
+
+    override fun afterQuery(execInfo: ExecutionInfo, queryInfoList: List<QueryInfo>) {
+        if (execInfo.elapsedTime < thresholdMillis) {
+            return
+        }
+        slowQueries.increment()
+        logger.warn("Yavaş sorgu ({} ms): {}", execInfo.elapsedTime,
+            entryCreator.getLogEntry(execInfo, queryInfoList, false, false, false))
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.restaurantapi.config
+
+import net.ttddyy.dsproxy.ExecutionInfo
+import net.ttddyy.dsproxy.QueryInfo
+import net.ttddyy.dsproxy.listener.QueryExecutionListener
+import org.springframework.stereotype.Component
+
+/**
+ * Bir istek boyunca çalıştırılan JDBC statement'larını thread bazında sayar. Sayım yalnızca [start] ile açılan
+ * kapsamda yapılır; batch çalıştırması veritabanına tek gidiş olduğu için tek statement sayılır.
+ */
+@Component
+class StatementCounter : QueryExecutionListener {
+
+    private val current = ThreadLocal<IntArray>()
+
+    fun start() = current.set(IntArray(1))
+
+    fun stop(): Int {
+        val count = current.get() ?: return 0
+        current.remove()
+        return count[0]
+    }
+
+    override fun beforeQuery(execInfo: ExecutionInfo, queryInfoList: List<QueryInfo>) {
+    }
+
+    override fun afterQuery(execInfo: ExecutionInfo, queryInfoList: List<QueryInfo>) {
+        current.get()?.let { it[0]++ }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.restaurantapi.config
+
+import com.example.restaurantapi.exception.PartitionMismatchException
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+
+/**
+ * Bu instance'ın stok sahibi olduğu ürün ID aralığı. N partition ile çalışırken her instance kendi veritabanıyla
+ * `(index * rangeSize, (index + 1) * rangeSize]` aralığındaki ürünlere sahiptir; son partition aralığın üstündeki
+ * tüm ID'leri de alır. order_api aynı kuralla istekleri böler. Tek partition'da tüm ürünler bu instance'a aittir.
+ */
+@Component
+class StockPartition(
+    @Value("\${restaurant.partition.index:0}") val index: Int,
+    @Value("\${restaurant.partition.count:1}") val count: Int,
+    @Value("\${restaurant.partition.range-size:1000000}") val rangeSize: Int
+) {
+
+    init {
+        require(count >= 1 && index in 0 until count) { "Geçersiz partition: $index/$count" }
+        require(rangeSize > 0) { "Partition aralığı pozitif olmalıdır" }
+    }
+
+    // Yeni ürünlere verilecek ilk ID
+    val firstId: Int get() = index * rangeSize + 1
+
+    fun owns(productId: Int): Boolean =
+        count == 1 || minOf(maxOf(productId - 1, 0) / rangeSize, count - 1) == index
+
+    fun requireOwned(productIds: Collection<Int>) {
+        val foreign = productIds.filterNot { owns(it) }.distinct()
+        if (foreign.isNotEmpty()) {
+            throw PartitionMismatchException(index, foreign)
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.restaurantapi.config
+
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+
+// Spring Boot 3.1 OTLP exporter'ı endpoint verilmese de localhost:4318'e gönderecek şekilde oluşturuyor; otomatik
+// yapılandırma application.yml'de kapatılıp exporter yalnızca endpoint verildiğinde burada oluşturuluyor.
+// Span'ler Boot'un BatchSpanProcessor'ı ile toplu ve istek thread'ini bekletmeden gönderilir.
+@Configuration
+@ConditionalOnProperty(name = ["management.otlp.tracing.endpoint"])
+class TracingConfig {
+
+    @Bean
+    fun otlpHttpSpanExporter(@Value("\${management.otlp.tracing.endpoint}") endpoint: String): OtlpHttpSpanExporter =
+        OtlpHttpSpanExporter.builder().setEndpoint(endpoint).build()
+}
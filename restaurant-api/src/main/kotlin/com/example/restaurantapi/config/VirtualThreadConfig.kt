@@ -0,0 +1,34 @@
+package com.example.restaurantapi.config
+
+import org.slf4j.LoggerFactory
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+// Spring Boot 3.1 spring.threads.virtual.enabled özelliğini desteklemiyor; Tomcat executor'ı burada değiştiriliyor.
+// Aynı property adı kullanıldığı için Boot 3.2+ sürümüne geçildiğinde bu sınıf kaldırılabilir.
+@Configuration
+@ConditionalOnProperty(name = ["spring.threads.virtual.enabled"], havingValue = "true")
+class VirtualThreadConfig {
+
+    private val logger = LoggerFactory.getLogger(VirtualThreadConfig::class.java)
+
+    @Bean
+    fun virtualThreadProtocolHandlerCustomizer(): TomcatProtocolHandlerCustomizer<*> {
+        val executor = newVirtualThreadPerTaskExecutor()
+        logger.info("Tomcat istekleri virtual thread üzerinde çalışacak")
+        return TomcatProtocolHandlerCustomizer<org.apache.coyote.ProtocolHandler> { it.executor = executor }
+    }
+
+    // JDK 17 ile de derlenebilmesi için reflection ile çağrılıyor
+    private fun newVirtualThreadPerTaskExecutor(): ExecutorService {
+        return try {
+            Executors::class.java.getMethod("newVirtualThreadPerTaskExecutor").invoke(null) as ExecutorService
+        } catch (e: NoSuchMethodException) {
+            throw IllegalStateException("Virtual thread modu JDK 21 veya üzeri gerektirir", e)
+        }
+    }
+}
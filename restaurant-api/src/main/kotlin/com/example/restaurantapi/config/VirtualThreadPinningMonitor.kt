@@ -0,0 +1,49 @@
+package com.example.restaurantapi.config
+
+import jakarta.annotation.PostConstruct
+import jakarta.annotation.PreDestroy
+import jdk.jfr.consumer.RecordedEvent
+import jdk.jfr.consumer.RecordingStream
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.stereotype.Component
+import java.time.Duration
+
+@Component
+@ConditionalOnProperty(name = ["spring.threads.virtual.enabled"], havingValue = "true")
+class VirtualThreadPinningMonitor(
+    @Value("\${restaurant.virtual-threads.pinning-threshold:20ms}") private val pinningThreshold: Duration
+) {
+
+    private val logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor::class.java)
+    private var stream: RecordingStream? = null
+
+    @PostConstruct
+    fun start() {
+        stream = RecordingStream().apply {
+            enable(PINNED_EVENT).withThreshold(pinningThreshold).withStackTrace()
+            onEvent(PINNED_EVENT) { onPinned(it) }
+            startAsync()
+        }
+        logger.info("Virtual thread pinning izleyicisi başlatıldı (eşik: {} ms)", pinningThreshold.toMillis())
+    }
+
+    @PreDestroy
+    fun stop() {
+        stream?.close()
+    }
+
+    private fun onPinned(event: RecordedEvent) {
+        val frames = event.stackTrace?.frames
+            ?.take(MAX_FRAMES)
+            ?.joinToString(" <- ") { "${it.method.type.name}.${it.method.name}:${it.lineNumber}" }
+            ?: "<stack trace yok>"
+        logger.warn("Virtual thread {} ms boyunca pinlendi: {}", event.duration.toMillis(), frames)
+    }
+
+    companion object {
+        private const val PINNED_EVENT = "jdk.VirtualThreadPinned"
+        private const val MAX_FRAMES = 8
+    }
+}
@@ -5,6 +5,7 @@ import com.example.restaurantapi.model.request.ProductCreateRequest
 import com.example.restaurantapi.model.request.ProductUpdateRequest
 import com.example.restaurantapi.model.request.StockUpdateRequest
 import com.example.restaurantapi.model.response.ApiResponse
+import com.example.restaurantapi.model.response.PriceListResponse
 import com.example.restaurantapi.service.ProductService
 import jakarta.validation.Valid
 import org.slf4j.LoggerFactory
@@ -28,6 +29,17 @@ class ProductController(private val productService: ProductService) {
         return ResponseEntity.ok(response)
     }
 
+    // order_api fiyat listesi: since verilmezse tüm ürünler, verilirse yalnızca o sürümden sonra değişenler
+    @GetMapping("/prices")
+    fun getPriceList(@RequestParam(required = false) since: Long?): ResponseEntity<ApiResponse<PriceListResponse>> {
+        logger.debug("Fiyat listesi istendi - since: {}", since)
+
+        val priceList = productService.getPriceList(since)
+        val response = ApiResponse.success(priceList, "Fiyat listesi başarıyla getirildi")
+
+        return ResponseEntity.ok(response)
+    }
+
     @PostMapping
     fun createProduct(@Valid @RequestBody request: ProductCreateRequest): ResponseEntity<ApiResponse<Product>> {
         logger.debug("Yeni ürün oluşturma isteği: {}", request)
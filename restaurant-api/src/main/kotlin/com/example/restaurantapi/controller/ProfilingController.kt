@@ -0,0 +1,49 @@
+package com.example.restaurantapi.controller
+
+import com.example.restaurantapi.model.response.ApiResponse
+import com.example.restaurantapi.model.response.ProfilingStatus
+import com.example.restaurantapi.service.ProfilingService
+import org.slf4j.LoggerFactory
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.core.io.FileSystemResource
+import org.springframework.core.io.Resource
+import org.springframework.http.ContentDisposition
+import org.springframework.http.HttpHeaders
+import org.springframework.http.HttpStatus
+import org.springframework.http.MediaType
+import org.springframework.http.ResponseEntity
+import org.springframework.web.bind.annotation.*
+import java.time.Duration
+
+@RestController
+@RequestMapping("/api/admin/profiling")
+@ConditionalOnProperty(name = ["restaurant.profiling.enabled"], havingValue = "true")
+class ProfilingController(private val profilingService: ProfilingService) {
+
+    private val logger = LoggerFactory.getLogger(ProfilingController::class.java)
+
+    @PostMapping("/start")
+    fun start(@RequestParam(defaultValue = "60") durationSeconds: Long): ResponseEntity<ApiResponse<ProfilingStatus>> {
+        logger.info("JFR kaydı başlatma isteği alındı: {} sn", durationSeconds)
+        val status = profilingService.start(Duration.ofSeconds(durationSeconds))
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(status, "Profil kaydı başlatıldı"))
+    }
+
+    @GetMapping
+    fun status(): ResponseEntity<ApiResponse<ProfilingStatus>> {
+        return ResponseEntity.ok(ApiResponse.success(profilingService.status()))
+    }
+
+    @PostMapping("/stop")
+    fun stop(): ResponseEntity<Resource> {
+        logger.info("JFR kaydı durdurma isteği alındı")
+        val file = profilingService.stop()
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(file.fileName.toString()).build().toString()
+            )
+            .body(FileSystemResource(file))
+    }
+}
@@ -1,10 +1,21 @@
 package com.example.restaurantapi.controller
 
+import com.example.restaurantapi.config.APPLICATION_SMILE_VALUE
+import com.example.restaurantapi.config.RequestDeadline
+import com.example.restaurantapi.config.StockPartition
+import com.example.restaurantapi.model.request.BulkStockUpdateRequest
 import com.example.restaurantapi.model.response.ApiResponse
+import com.example.restaurantapi.model.response.BulkStockUpdateResponse
+import com.example.restaurantapi.service.SseLowStockSink
+import com.example.restaurantapi.service.StockReservationService
 import com.example.restaurantapi.service.StockService
 import org.slf4j.LoggerFactory
+import org.springframework.dao.DataIntegrityViolationException
+import org.springframework.http.MediaType
 import org.springframework.http.ResponseEntity
+import jakarta.validation.Valid
 import org.springframework.web.bind.annotation.*
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter
 
 data class StockRequest(
     val items: List<StockItemDto>
@@ -15,6 +26,12 @@ data class StockItemDto(
     val quantity: Int
 )
 
+// Birden fazla partition'a yayılan stok azaltmasında her partition'a aynı reservationId ile gönderilir
+data class StockReservationRequest(
+    val reservationId: String,
+    val items: List<StockItemDto>
+)
+
 data class StockResponse(
     val available: Boolean,
     val message: String = ""
@@ -22,14 +39,24 @@ data class StockResponse(
 
 @RestController
 @RequestMapping("/api/stock")
-class StockController(private val stockService: StockService) {
+class StockController(
+    private val stockService: StockService,
+    private val reservationService: StockReservationService,
+    private val partition: StockPartition,
+    private val lowStockSink: SseLowStockSink
+) {
 
     private val logger = LoggerFactory.getLogger(StockController::class.java)
 
-    @PostMapping("/check")
+    @PostMapping(
+        "/check",
+        consumes = [MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE],
+        produces = [MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE]
+    )
     fun checkStock(@RequestBody request: StockRequest): ResponseEntity<StockResponse> {
         logger.debug("Stok kontrolü istendi: {}", request)
-        
+        partition.requireOwned(request.items.map { it.productId })
+
         try {
             val isAvailable = stockService.checkStock(request.items)
             
@@ -43,16 +70,23 @@ class StockController(private val stockService: StockService) {
             return ResponseEntity.ok(response)
             
         } catch (e: Exception) {
+            // Süresi dolan istek stok yok sayılmaz, 504 ile döner
+            RequestDeadline.rethrowIfExpired(e)
             logger.error("Stok kontrolü sırasında hata: {}", e.message)
             val response = StockResponse(available = false, message = "Stok kontrolü başarısız: ${e.message}")
             return ResponseEntity.ok(response)
         }
     }
 
-    @PostMapping("/reduce")
+    @PostMapping(
+        "/reduce",
+        consumes = [MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE],
+        produces = [MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE]
+    )
     fun reduceStock(@RequestBody request: StockRequest): ResponseEntity<StockResponse> {
         logger.debug("Stok azaltma istendi: {}", request)
-        
+        partition.requireOwned(request.items.map { it.productId })
+
         try {
             val success = stockService.reduceStock(request.items)
             
@@ -66,9 +100,94 @@ class StockController(private val stockService: StockService) {
             return ResponseEntity.ok(response)
             
         } catch (e: Exception) {
+            // Süresi dolan istek stok yok sayılmaz, 504 ile döner
+            RequestDeadline.rethrowIfExpired(e)
             logger.error("Stok azaltma sırasında hata: {}", e.message)
             val response = StockResponse(available = false, message = "Stok azaltma başarısız: ${e.message}")
             return ResponseEntity.ok(response)
         }
     }
+
+    @PostMapping(
+        "/increase",
+        consumes = [MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE],
+        produces = [MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE]
+    )
+    fun increaseStock(@RequestBody request: StockRequest): ResponseEntity<StockResponse> {
+        logger.debug("Stok artırma istendi: {}", request)
+        partition.requireOwned(request.items.map { it.productId })
+
+        try {
+            stockService.increaseStock(request.items)
+            logger.info("Stok artırma tamamlandı: {} adet ürün", request.items.size)
+            return ResponseEntity.ok(StockResponse(available = true, message = "Stok başarıyla artırıldı"))
+
+        } catch (e: Exception) {
+            RequestDeadline.rethrowIfExpired(e)
+            logger.error("Stok artırma sırasında hata: {}", e.message)
+            val response = StockResponse(available = false, message = "Stok artırma başarısız: ${e.message}")
+            return ResponseEntity.ok(response)
+        }
+    }
+
+    @PostMapping(
+        "/reservations",
+        consumes = [MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE],
+        produces = [MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE]
+    )
+    fun reserveStock(@RequestBody request: StockReservationRequest): ResponseEntity<StockResponse> {
+        logger.debug("Stok rezervasyonu istendi: {}", request)
+        partition.requireOwned(request.items.map { it.productId })
+
+        try {
+            val reserved = reservationService.reserve(request.reservationId, request.items)
+            val response = if (reserved) {
+                StockResponse(available = true, message = "Stok rezerve edildi")
+            } else {
+                StockResponse(available = false, message = "Bazı ürünlerde yetersiz stok")
+            }
+            return ResponseEntity.ok(response)
+
+        } catch (e: DataIntegrityViolationException) {
+            // Aynı rezervasyon eşzamanlı başka bir istekte yapıldı
+            logger.debug("Rezervasyon zaten mevcut: {}", request.reservationId)
+            return ResponseEntity.ok(StockResponse(available = true, message = "Stok rezerve edildi"))
+        } catch (e: Exception) {
+            RequestDeadline.rethrowIfExpired(e)
+            logger.error("Stok rezervasyonu sırasında hata: {}", e.message)
+            val response = StockResponse(available = false, message = "Stok rezervasyonu başarısız: ${e.message}")
+            return ResponseEntity.ok(response)
+        }
+    }
+
+    // Rezervasyon süresi dolup iptal edildiyse 404 döner
+    @PostMapping("/reservations/{reservationId}/confirm")
+    fun confirmReservation(@PathVariable reservationId: String): ResponseEntity<Void> {
+        return if (reservationService.confirm(reservationId)) ResponseEntity.noContent().build()
+        else ResponseEntity.notFound().build()
+    }
+
+    // Tekrar çağrılması güvenlidir; rezervasyon yoksa bir şey yapılmaz
+    @DeleteMapping("/reservations/{reservationId}")
+    fun cancelReservation(@PathVariable reservationId: String): ResponseEntity<Void> {
+        reservationService.release(reservationId)
+        return ResponseEntity.noContent().build()
+    }
+
+    @PatchMapping("/bulk")
+    fun bulkUpdateStock(
+        @Valid @RequestBody request: BulkStockUpdateRequest
+    ): ResponseEntity<ApiResponse<BulkStockUpdateResponse>> {
+        logger.debug("Toplu stok güncelleme istendi: {} adet değişiklik", request.items.size)
+        partition.requireOwned(request.items.map { it.productId })
+
+        val result = stockService.bulkUpdate(request.items)
+        return ResponseEntity.ok(ApiResponse.success(result, "Stoklar başarıyla güncellendi"))
+    }
+
+    @GetMapping("/alerts", produces = [MediaType.TEXT_EVENT_STREAM_VALUE])
+    fun streamLowStockAlerts(): SseEmitter {
+        logger.debug("Düşük stok uyarı akışı istendi")
+        return lowStockSink.subscribe()
+    }
 }
@@ -0,0 +1,32 @@
+package com.example.restaurantapi.domain
+
+import java.math.BigDecimal
+import java.math.RoundingMode
+
+/**
+ * Para tutarları için yardımcılar. Tutarlar kuruş cinsinden (2 ondalık basamak) Long olarak tutulur;
+ * aritmetik taşmada ArithmeticException fırlatır. Ondalık gösterime yalnızca JSON ve veritabanı sınırında çevrilir.
+ */
+object Money {
+
+    const val SCALE = 2
+
+    // 999999.99
+    const val MAX_PRICE = 99_999_999L
+
+    fun ofMajor(amount: BigDecimal): Long {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact()
+    }
+
+    fun toMajor(minor: Long): BigDecimal {
+        return BigDecimal.valueOf(minor, SCALE)
+    }
+
+    fun add(a: Long, b: Long): Long {
+        return Math.addExact(a, b)
+    }
+
+    fun multiply(minor: Long, quantity: Int): Long {
+        return Math.multiplyExact(minor, quantity.toLong())
+    }
+}
@@ -5,8 +5,11 @@ import com.example.restaurantapi.model.Product
 data class ProductDomain(
     val id: Int = 0,
     val name: String,
-    val price: Double,
-    val stockQuantity: Int
+    // Kuruş cinsinden
+    val price: Long,
+    val stockQuantity: Int,
+    val priceVersion: Long = 0,
+    val reorderThreshold: Int = 0
 ) {
     fun canSell(requestedQuantity: Int): Boolean {
         return stockQuantity >= requestedQuantity && requestedQuantity > 0
@@ -15,10 +18,14 @@ data class ProductDomain(
     fun isValidProduct(): Boolean {
         return name.isNotBlank() && 
                name.length in 2..100 &&
-               price > 0.0 && 
-               price <= 999999.99 &&
+               price in 1..Money.MAX_PRICE &&
                stockQuantity >= 0 &&
-               stockQuantity <= 999999
+               stockQuantity <= 999999 &&
+               reorderThreshold in 0..999999
+    }
+
+    fun isBelowReorderThreshold(): Boolean {
+        return stockQuantity < reorderThreshold
     }
 
     fun reduceStock(quantity: Int): ProductDomain {
@@ -39,19 +46,29 @@ data class ProductDomain(
         return copy(stockQuantity = newStock)
     }
 
-    fun updatePrice(newPrice: Double): ProductDomain {
-        if (newPrice <= 0.0 || newPrice > 999999.99) {
+    fun updatePrice(newPrice: Long): ProductDomain {
+        if (newPrice !in 1..Money.MAX_PRICE) {
             throw IllegalArgumentException("Geçersiz fiyat değeri")
         }
         return copy(price = newPrice)
     }
 
+    fun hasSamePricing(other: ProductDomain): Boolean {
+        return name == other.name && price == other.price
+    }
+
+    fun withNewPriceVersion(): ProductDomain {
+        return copy(priceVersion = System.currentTimeMillis())
+    }
+
     fun toEntity(): Product {
         return Product(
             id = id,
             name = name,
             price = price,
-            stockQuantity = stockQuantity
+            stockQuantity = stockQuantity,
+            priceVersion = priceVersion,
+            reorderThreshold = reorderThreshold
         )
     }
 
@@ -61,7 +78,9 @@ data class ProductDomain(
                 id = entity.id,
                 name = entity.name,
                 price = entity.price,
-                stockQuantity = entity.stockQuantity
+                stockQuantity = entity.stockQuantity,
+                priceVersion = entity.priceVersion,
+                reorderThreshold = entity.reorderThreshold
             )
         }
     }
@@ -0,0 +1,18 @@
+package com.example.restaurantapi.event
+
+import java.time.Instant
+
+enum class LowStockState {
+    // Stok yeniden sipariş eşiğinin altına düştü
+    LOW,
+    // Stok yeniden eşiğin üzerine çıktı
+    RESTOCKED
+}
+
+data class LowStockAlert(
+    val productId: Int,
+    val state: LowStockState,
+    val stockQuantity: Int,
+    val reorderThreshold: Int,
+    val occurredAt: Instant = Instant.now()
+)
@@ -0,0 +1,8 @@
+package com.example.restaurantapi.event
+
+/**
+ * Düşük stok uyarılarının iletileceği hedef. Yeni bir hedef eklemek için bu arayüzü uygulayan bir bean tanımlamak yeterlidir.
+ */
+interface LowStockSink {
+    fun publish(alert: LowStockAlert)
+}
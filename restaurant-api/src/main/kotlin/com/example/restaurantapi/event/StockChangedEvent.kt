@@ -0,0 +1,8 @@
+package com.example.restaurantapi.event
+
+import com.example.restaurantapi.model.response.StockLevel
+
+// Bir işlemde değişen ürünlerin son stok miktarları; işlem başına bir kez yayınlanır
+data class StockChangedEvent(
+    val levels: List<StockLevel>
+)
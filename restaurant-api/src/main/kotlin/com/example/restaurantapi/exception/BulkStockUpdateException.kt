@@ -0,0 +1,5 @@
+package com.example.restaurantapi.exception
+
+class BulkStockUpdateException(
+    val rejectedProductIds: List<Int>
+) : RuntimeException("Stok güncellenemedi, ürün bulunamadı veya stok limiti aşıldı: $rejectedProductIds")
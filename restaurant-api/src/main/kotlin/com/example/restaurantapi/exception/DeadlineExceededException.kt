@@ -0,0 +1,8 @@
+package com.example.restaurantapi.exception
+
+// stage: sürenin fark edildiği nokta (inbound, transaction, query); metrik etiketi olarak kullanılır
+class DeadlineExceededException(
+    val stage: String,
+    message: String,
+    cause: Throwable? = null
+) : RuntimeException(message, cause)
@@ -1,15 +1,20 @@
 package com.example.restaurantapi.exception
 
 import com.example.restaurantapi.model.response.ApiResponse
+import io.micrometer.core.instrument.MeterRegistry
 import org.slf4j.LoggerFactory
 import org.springframework.http.HttpStatus
+import org.springframework.http.HttpStatusCode
 import org.springframework.http.ResponseEntity
+import org.springframework.web.bind.MethodArgumentNotValidException
 import org.springframework.web.bind.annotation.ExceptionHandler
 import org.springframework.web.bind.annotation.RestControllerAdvice
 import org.springframework.web.context.request.WebRequest
 
 @RestControllerAdvice
-class GlobalExceptionHandler {
+class GlobalExceptionHandler(
+    private val meterRegistry: MeterRegistry
+) {
 
     private val logger = LoggerFactory.getLogger(GlobalExceptionHandler::class.java)
 
@@ -37,6 +42,69 @@ class GlobalExceptionHandler {
         return ResponseEntity(response, HttpStatus.NOT_FOUND)
     }
 
+    @ExceptionHandler(MethodArgumentNotValidException::class)
+    fun handleValidationException(
+        ex: MethodArgumentNotValidException,
+        request: WebRequest
+    ): ResponseEntity<ApiResponse<Any>> {
+
+        val message = ex.bindingResult.fieldErrors.joinToString(", ") { "${it.field}: ${it.defaultMessage}" }
+        logger.error("Doğrulama hatası: {}", message)
+
+        val response = ApiResponse.error<Any>(message, "VALIDATION_ERROR")
+        return ResponseEntity(response, HttpStatus.BAD_REQUEST)
+    }
+
+    @ExceptionHandler(BulkStockUpdateException::class)
+    fun handleBulkStockUpdateException(
+        ex: BulkStockUpdateException,
+        request: WebRequest
+    ): ResponseEntity<ApiResponse<Any>> {
+
+        logger.error("Toplu stok güncelleme reddedildi: {}", ex.rejectedProductIds)
+
+        val response = ApiResponse.error<Any>(ex.message ?: "Stok güncellenemedi", "STOCK_UPDATE_REJECTED")
+        return ResponseEntity(response, HttpStatus.CONFLICT)
+    }
+
+    // 421: istek bu ürünlerin sahibi olmayan partition'a gönderildi; order_api partition yapılandırması uyumsuz
+    @ExceptionHandler(PartitionMismatchException::class)
+    fun handlePartitionMismatchException(
+        ex: PartitionMismatchException,
+        request: WebRequest
+    ): ResponseEntity<ApiResponse<Any>> {
+
+        logger.error("Başka partition'a ait ürünler için istek alındı: {}", ex.productIds)
+
+        val response = ApiResponse.error<Any>(ex.message ?: "Ürünler bu partition'a ait değil", "WRONG_PARTITION")
+        return ResponseEntity(response, HttpStatusCode.valueOf(421))
+    }
+
+    @ExceptionHandler(ProfilingStateException::class)
+    fun handleProfilingStateException(
+        ex: ProfilingStateException,
+        request: WebRequest
+    ): ResponseEntity<ApiResponse<Any>> {
+
+        logger.warn("Profil kaydı isteği reddedildi: {}", ex.message)
+
+        val response = ApiResponse.error<Any>(ex.message ?: "Profil kaydı uygun durumda değil", "PROFILING_CONFLICT")
+        return ResponseEntity(response, HttpStatus.CONFLICT)
+    }
+
+    @ExceptionHandler(DeadlineExceededException::class)
+    fun handleDeadlineExceededException(
+        ex: DeadlineExceededException,
+        request: WebRequest
+    ): ResponseEntity<ApiResponse<Any>> {
+
+        logger.warn("İstek süresi doldu ({}): {}", ex.stage, ex.message)
+        meterRegistry.counter("restaurant.deadline.expired", "stage", ex.stage).increment()
+
+        val response = ApiResponse.error<Any>("İstek süresi doldu", "DEADLINE_EXCEEDED")
+        return ResponseEntity(response, HttpStatus.GATEWAY_TIMEOUT)
+    }
+
     @ExceptionHandler(Exception::class)
     fun handleGenericException(
         ex: Exception,
@@ -0,0 +1,6 @@
+package com.example.restaurantapi.exception
+
+class PartitionMismatchException(
+    val partitionIndex: Int,
+    val productIds: List<Int>
+) : RuntimeException("Ürünler bu partition'a ($partitionIndex) ait değil: $productIds")
@@ -0,0 +1,3 @@
+package com.example.restaurantapi.exception
+
+class ProfilingStateException(message: String) : RuntimeException(message)
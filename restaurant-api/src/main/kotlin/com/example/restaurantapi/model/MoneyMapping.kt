@@ -0,0 +1,24 @@
+package com.example.restaurantapi.model
+
+import com.example.restaurantapi.domain.Money
+import com.fasterxml.jackson.core.JsonGenerator
+import com.fasterxml.jackson.databind.JsonSerializer
+import com.fasterxml.jackson.databind.SerializerProvider
+import jakarta.persistence.AttributeConverter
+import jakarta.persistence.Converter
+import java.math.BigDecimal
+
+// Kuruş cinsinden tutarı veritabanında numeric kolon olarak saklar
+@Converter
+class MinorUnitsConverter : AttributeConverter<Long, BigDecimal> {
+    override fun convertToDatabaseColumn(attribute: Long?): BigDecimal? = attribute?.let { Money.toMajor(it) }
+
+    override fun convertToEntityAttribute(dbData: BigDecimal?): Long? = dbData?.let { Money.ofMajor(it) }
+}
+
+// Kuruş cinsinden tutarı JSON'da ondalık sayı olarak yazar; istemciler eskisi gibi 50.00 görür
+class MinorUnitsSerializer : JsonSerializer<Long>() {
+    override fun serialize(value: Long, gen: JsonGenerator, serializers: SerializerProvider) {
+        gen.writeNumber(Money.toMajor(value))
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.restaurantapi.model
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize
 import jakarta.persistence.*
 import jakarta.validation.constraints.*
 
@@ -15,13 +16,25 @@ data class Product(
     @field:Size(min = 2, max = 100, message = "Ürün adı 2-100 karakter arasında olmalıdır")
     val name: String,
 
-    @Column(nullable = false)
-    @field:DecimalMin(value = "0.01", message = "Fiyat 0'dan büyük olmalıdır")
-    @field:DecimalMax(value = "999999.99", message = "Fiyat çok yüksek")
-    val price: Double,
+    // Kuruş cinsinden; veritabanında numeric, JSON'da ondalık sayı olarak görünür.
+    // Sınırlar ProductDomain ve istek DTO'larında doğrulanır; @Min/@Max burada kolona yanlış birimle check eklerdi
+    @Column(nullable = false, precision = 8, scale = 2)
+    @Convert(converter = MinorUnitsConverter::class)
+    @get:JsonSerialize(using = MinorUnitsSerializer::class)
+    val price: Long,
 
     @Column(nullable = false)
     @field:Min(value = 0, message = "Stok miktarı negatif olamaz")
     @field:Max(value = 999999, message = "Stok miktarı çok yüksek")
-    var stockQuantity: Int
+    var stockQuantity: Int,
+
+    // Ad veya fiyat her değiştiğinde güncellenir (epoch ms); order_api fiyat listesini bu sürüme göre artımlı çeker
+    @Column(name = "price_version", nullable = false, columnDefinition = "bigint not null default 0")
+    val priceVersion: Long = 0,
+
+    // Stok bu değerin altına düştüğünde düşük stok uyarısı üretilir; 0 uyarıyı kapatır
+    @Column(name = "reorder_threshold", nullable = false, columnDefinition = "integer not null default 0")
+    @field:Min(value = 0, message = "Yeniden sipariş eşiği negatif olamaz")
+    @field:Max(value = 999999, message = "Yeniden sipariş eşiği çok yüksek")
+    val reorderThreshold: Int = 0
 )
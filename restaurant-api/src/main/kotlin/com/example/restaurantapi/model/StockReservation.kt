@@ -0,0 +1,38 @@
+package com.example.restaurantapi.model
+
+import jakarta.persistence.*
+import java.time.Instant
+
+/**
+ * Birden fazla partition'a yayılan stok azaltmasının bu partition'daki kısmı. Stok rezervasyon anında düşülür;
+ * onaylanınca kayıt silinir, iptal edilince veya süresi dolunca miktarlar stoğa geri eklenir.
+ */
+@Entity
+@Table(
+    name = "stock_reservations",
+    // Aynı rezervasyon eşzamanlı iki kez gelirse ikinci ekleme reddedilir ve stok ikinci kez düşülmez
+    uniqueConstraints = [
+        UniqueConstraint(name = "uk_stock_reservations_reservation_product", columnNames = ["reservation_id", "product_id"])
+    ],
+    indexes = [
+        Index(name = "idx_stock_reservations_reservation_id", columnList = "reservation_id"),
+        Index(name = "idx_stock_reservations_expires_at", columnList = "expires_at")
+    ]
+)
+data class StockReservation(
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    val id: Long = 0,
+
+    @Column(name = "reservation_id", nullable = false, length = 64)
+    val reservationId: String,
+
+    @Column(name = "product_id", nullable = false)
+    val productId: Int,
+
+    @Column(nullable = false)
+    val quantity: Int,
+
+    @Column(name = "expires_at", nullable = false)
+    val expiresAt: Instant
+)
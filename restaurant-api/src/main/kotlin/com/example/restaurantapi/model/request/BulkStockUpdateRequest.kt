@@ -0,0 +1,36 @@
+package com.example.restaurantapi.model.request
+
+import jakarta.validation.Valid
+import jakarta.validation.constraints.*
+
+data class BulkStockUpdateRequest(
+    @field:NotEmpty(message = "En az bir stok değişikliği gönderilmelidir")
+    @field:Size(max = 1000, message = "Tek istekte en fazla 1000 stok değişikliği gönderilebilir")
+    @field:Valid
+    val items: List<BulkStockItem>
+)
+
+data class BulkStockItem(
+    @field:Min(value = 1, message = "Geçersiz ürün ID")
+    val productId: Int,
+
+    @field:NotBlank(message = "İşlem tipi belirtilmelidir")
+    @field:Pattern(regexp = "^(ADD|REDUCE|SET)$", message = "İşlem tipi ADD, REDUCE veya SET olmalıdır")
+    val operation: String,
+
+    @field:Min(value = 0, message = "Stok miktarı negatif olamaz")
+    @field:Max(value = 999999, message = "Stok miktarı çok yüksek")
+    val quantity: Int
+) {
+    // Tüm işlemler tek SQL ifadesiyle uygulanır: yeni stok = stok * multiplier + offset
+    fun multiplier(): Int = if (operation == "SET") 0 else 1
+
+    fun offset(): Int = when (operation) {
+        "ADD" -> quantity
+        "REDUCE" -> -quantity
+        "SET" -> quantity
+        else -> throw IllegalArgumentException("Geçersiz işlem tipi: $operation")
+    }
+
+    fun isEffective(): Boolean = operation == "SET" || quantity > 0
+}
@@ -1,7 +1,9 @@
 package com.example.restaurantapi.model.request
 
+import com.example.restaurantapi.domain.Money
 import com.example.restaurantapi.domain.ProductDomain
 import jakarta.validation.constraints.*
+import java.math.BigDecimal
 
 data class ProductUpdateRequest(
     @field:NotBlank(message = "Ürün adı boş olamaz")
@@ -10,18 +12,25 @@ data class ProductUpdateRequest(
 
     @field:DecimalMin(value = "0.01", message = "Fiyat 0'dan büyük olmalıdır")
     @field:DecimalMax(value = "999999.99", message = "Fiyat çok yüksek")
-    val price: Double,
+    @field:Digits(integer = 6, fraction = 2, message = "Fiyat en fazla 2 ondalık basamak içerebilir")
+    val price: BigDecimal,
 
     @field:Min(value = 0, message = "Stok miktarı negatif olamaz")
     @field:Max(value = 999999, message = "Stok miktarı çok yüksek")
-    val stockQuantity: Int
+    val stockQuantity: Int,
+
+    // Gönderilmezse mevcut eşik korunur
+    @field:Min(value = 0, message = "Yeniden sipariş eşiği negatif olamaz")
+    @field:Max(value = 999999, message = "Yeniden sipariş eşiği çok yüksek")
+    val reorderThreshold: Int? = null
 ) {
-    fun toDomain(id: Int): ProductDomain {
+    fun toDomain(id: Int, currentReorderThreshold: Int): ProductDomain {
         return ProductDomain(
             id = id,
             name = name.trim(),
-            price = price,
-            stockQuantity = stockQuantity
+            price = Money.ofMajor(price),
+            stockQuantity = stockQuantity,
+            reorderThreshold = reorderThreshold ?: currentReorderThreshold
         )
     }
 }
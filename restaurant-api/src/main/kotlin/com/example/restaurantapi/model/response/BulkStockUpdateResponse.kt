@@ -0,0 +1,12 @@
+package com.example.restaurantapi.model.response
+
+data class StockLevel(
+    val productId: Int,
+    val stockQuantity: Int,
+    val reorderThreshold: Int = 0
+)
+
+data class BulkStockUpdateResponse(
+    val updated: Int,
+    val items: List<StockLevel>
+)
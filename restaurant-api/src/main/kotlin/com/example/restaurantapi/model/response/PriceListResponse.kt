@@ -0,0 +1,19 @@
+package com.example.restaurantapi.model.response
+
+import com.example.restaurantapi.model.MinorUnitsSerializer
+import com.fasterxml.jackson.databind.annotation.JsonSerialize
+
+data class ProductPrice(
+    val id: Int,
+    val name: String,
+    // Kuruş cinsinden
+    @get:JsonSerialize(using = MinorUnitsSerializer::class)
+    val price: Long,
+    val version: Long
+)
+
+data class PriceListResponse(
+    val version: Long,
+    val full: Boolean,
+    val products: List<ProductPrice>
+)
@@ -0,0 +1,15 @@
+package com.example.restaurantapi.model.response
+
+import com.fasterxml.jackson.annotation.JsonInclude
+import java.time.Instant
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+data class ProfilingStatus(
+    // NONE, RUNNING, STOPPED
+    val state: String,
+    val startedAt: Instant? = null,
+    val durationSeconds: Long? = null,
+    val maxSizeBytes: Long? = null,
+    val file: String? = null,
+    val fileSizeBytes: Long? = null
+)
@@ -0,0 +1,57 @@
+package com.example.restaurantapi.profiling
+
+import jdk.jfr.Category
+import jdk.jfr.Description
+import jdk.jfr.Event
+import jdk.jfr.Label
+import jdk.jfr.Name
+import jdk.jfr.StackTrace
+
+/**
+ * Stok tablosunda yapılan tek bir veritabanı işlemi veya batch'i.
+ * Kayıt kapalıyken [shouldCommit] false döner ve alanlar hiç doldurulmaz.
+ */
+@Name("com.example.restaurantapi.StockDb")
+@Label("Stock DB Operation")
+@Category("Restaurant API", "Stock")
+@Description("Stok veritabanı işlemi")
+@StackTrace(false)
+class StockDbEvent : Event() {
+
+    @field:Label("Operation")
+    @JvmField
+    var operation: String? = null
+
+    @field:Label("Product ID")
+    @field:Description("Tek ürünlük işlemlerde ürün ID'si; batch işlemlerde 0")
+    @JvmField
+    var productId: Int = 0
+
+    @field:Label("Item Count")
+    @JvmField
+    var itemCount: Int = 0
+
+    @field:Label("Affected Rows")
+    @JvmField
+    var affectedRows: Int = 0
+
+    fun finish(operation: String, productId: Int, itemCount: Int, affectedRows: Int) {
+        end()
+        if (shouldCommit()) {
+            this.operation = operation
+            this.productId = productId
+            this.itemCount = itemCount
+            this.affectedRows = affectedRows
+            commit()
+        }
+    }
+
+    companion object {
+        const val CHECK = "check"
+        const val REDUCE = "reduce"
+        const val BATCH_UPDATE = "batch-update"
+        const val LEVELS = "levels"
+
+        fun start(): StockDbEvent = StockDbEvent().also { it.begin() }
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.restaurantapi.repository
 
 import com.example.restaurantapi.model.Product
+import com.example.restaurantapi.model.response.ProductPrice
 import org.springframework.data.jpa.repository.JpaRepository
+import org.springframework.data.jpa.repository.Query
+import org.springframework.data.repository.query.Param
 import org.springframework.stereotype.Repository
 import java.util.Optional
 
@@ -9,4 +12,16 @@ import java.util.Optional
 interface ProductRepository : JpaRepository<Product, Int> {
     fun findByName(name: String): Optional<Product>
     fun existsByName(name: String): Boolean
+
+    @Query("select new com.example.restaurantapi.model.response.ProductPrice(p.id, p.name, p.price, p.priceVersion) from Product p")
+    fun findAllPrices(): List<ProductPrice>
+
+    @Query(
+        "select new com.example.restaurantapi.model.response.ProductPrice(p.id, p.name, p.price, p.priceVersion) " +
+            "from Product p where p.priceVersion > :since"
+    )
+    fun findPricesChangedSince(@Param("since") since: Long): List<ProductPrice>
+
+    @Query("select p.id from Product p where p.stockQuantity < p.reorderThreshold")
+    fun findIdsBelowReorderThreshold(): List<Int>
 }
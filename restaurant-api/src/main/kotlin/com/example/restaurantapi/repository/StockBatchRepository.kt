@@ -0,0 +1,54 @@
+package com.example.restaurantapi.repository
+
+import com.example.restaurantapi.model.request.BulkStockItem
+import com.example.restaurantapi.model.response.StockLevel
+import com.example.restaurantapi.profiling.StockDbEvent
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate
+import org.springframework.stereotype.Repository
+import java.sql.Statement
+
+@Repository
+class StockBatchRepository(private val jdbcTemplate: NamedParameterJdbcTemplate) {
+
+    companion object {
+        const val MAX_STOCK = 999999
+
+        // Sınır kontrolü veritabanında yapılır; sınırı aşan ya da olmayan ürünler için etkilenen satır 0 olur
+        private const val UPDATE_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity * :multiplier + :offset " +
+                "WHERE id = :productId AND stock_quantity * :multiplier + :offset BETWEEN 0 AND $MAX_STOCK"
+
+        private const val SELECT_SQL =
+            "SELECT id, stock_quantity, reorder_threshold FROM products WHERE id IN (:ids) ORDER BY id"
+    }
+
+    /**
+     * Tüm değişiklikleri tek bir JDBC batch olarak gönderir ve uygulanamayan ürün ID'lerini döner.
+     */
+    fun applyAll(items: List<BulkStockItem>): List<Int> {
+        val parameters = items.map {
+            mapOf("productId" to it.productId, "multiplier" to it.multiplier(), "offset" to it.offset())
+        }.toTypedArray()
+
+        val event = StockDbEvent.start()
+        val counts = jdbcTemplate.batchUpdate(UPDATE_SQL, parameters)
+        val rejected = items.filterIndexed { index, _ ->
+            counts[index] == 0 || counts[index] == Statement.EXECUTE_FAILED
+        }.map { it.productId }
+        event.finish(StockDbEvent.BATCH_UPDATE, 0, items.size, items.size - rejected.size)
+        return rejected
+    }
+
+    fun findLevels(productIds: Collection<Int>): List<StockLevel> {
+        val event = StockDbEvent.start()
+        val levels = jdbcTemplate.query(SELECT_SQL, mapOf("ids" to productIds)) { rs, _ ->
+            StockLevel(
+                productId = rs.getInt("id"),
+                stockQuantity = rs.getInt("stock_quantity"),
+                reorderThreshold = rs.getInt("reorder_threshold")
+            )
+        }
+        event.finish(StockDbEvent.LEVELS, 0, productIds.size, levels.size)
+        return levels
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.restaurantapi.repository
+
+import com.example.restaurantapi.model.StockReservation
+import jakarta.persistence.LockModeType
+import org.springframework.data.jpa.repository.JpaRepository
+import org.springframework.data.jpa.repository.Lock
+import org.springframework.data.jpa.repository.Modifying
+import org.springframework.data.jpa.repository.Query
+import org.springframework.data.repository.query.Param
+import org.springframework.stereotype.Repository
+import java.time.Instant
+
+@Repository
+interface StockReservationRepository : JpaRepository<StockReservation, Long> {
+    fun existsByReservationId(reservationId: String): Boolean
+
+    // Onay ve iptal aynı rezervasyon için yarışırsa satırlar yalnızca birinde bulunur
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from StockReservation r where r.reservationId = :reservationId")
+    fun findForUpdate(@Param("reservationId") reservationId: String): List<StockReservation>
+
+    @Modifying
+    @Query("delete from StockReservation r where r.reservationId = :reservationId")
+    fun deleteByReservationId(@Param("reservationId") reservationId: String): Int
+
+    @Query("select distinct r.reservationId from StockReservation r where r.expiresAt < :now")
+    fun findExpiredReservationIds(@Param("now") now: Instant): List<String>
+}
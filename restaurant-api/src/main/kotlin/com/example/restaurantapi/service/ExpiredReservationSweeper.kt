@@ -0,0 +1,29 @@
+package com.example.restaurantapi.service
+
+import org.slf4j.LoggerFactory
+import org.springframework.scheduling.annotation.Scheduled
+import org.springframework.stereotype.Component
+
+/**
+ * Süresi içinde onaylanmayan rezervasyonları iptal eder (order_api onay/iptal göndermeden düştüyse).
+ * Her rezervasyon kendi işleminde iptal edilir; biri başarısız olursa diğerleri etkilenmez.
+ */
+@Component
+class ExpiredReservationSweeper(
+    private val reservationService: StockReservationService
+) {
+
+    private val logger = LoggerFactory.getLogger(ExpiredReservationSweeper::class.java)
+
+    @Scheduled(fixedDelayString = "\${restaurant.reservations.sweep-interval:PT10S}")
+    fun releaseExpired() {
+        reservationService.findExpired().forEach { reservationId ->
+            try {
+                reservationService.release(reservationId)
+                logger.warn("Süresi dolan rezervasyon iptal edildi: {}", reservationId)
+            } catch (e: Exception) {
+                logger.error("Süresi dolan rezervasyon iptal edilemedi: {}: {}", reservationId, e.message)
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.restaurantapi.service
+
+import com.example.restaurantapi.event.LowStockAlert
+import com.example.restaurantapi.event.LowStockSink
+import com.example.restaurantapi.event.LowStockState
+import org.slf4j.LoggerFactory
+import org.springframework.stereotype.Component
+
+@Component
+class LoggingLowStockSink : LowStockSink {
+
+    private val logger = LoggerFactory.getLogger(LoggingLowStockSink::class.java)
+
+    override fun publish(alert: LowStockAlert) {
+        if (alert.state == LowStockState.LOW) {
+            logger.warn("Düşük stok - productId: {}, stok: {}, eşik: {}",
+                alert.productId, alert.stockQuantity, alert.reorderThreshold)
+        } else {
+            logger.info("Stok eşiğin üzerine çıktı - productId: {}, stok: {}, eşik: {}",
+                alert.productId, alert.stockQuantity, alert.reorderThreshold)
+        }
+    }
+}
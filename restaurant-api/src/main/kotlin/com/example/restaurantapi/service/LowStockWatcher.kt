@@ -0,0 +1,124 @@
+package com.example.restaurantapi.service
+
+import com.example.restaurantapi.event.LowStockAlert
+import com.example.restaurantapi.event.LowStockSink
+import com.example.restaurantapi.event.LowStockState
+import com.example.restaurantapi.event.StockChangedEvent
+import com.example.restaurantapi.model.response.StockLevel
+import com.example.restaurantapi.repository.ProductRepository
+import com.example.restaurantapi.repository.StockBatchRepository
+import jakarta.annotation.PreDestroy
+import org.slf4j.LoggerFactory
+import org.springframework.boot.context.event.ApplicationReadyEvent
+import org.springframework.context.event.EventListener
+import org.springframework.stereotype.Service
+import org.springframework.transaction.event.TransactionPhase
+import org.springframework.transaction.event.TransactionalEventListener
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Stok değişikliği olaylarını izler ve yalnızca eşik geçildiğinde uyarı üretir.
+ * Olaylar zaten son stok ve eşik bilgisini taşıdığı için stok azaltma yoluna ek sorgu eklemez.
+ *
+ * Commit sonrası olaylar commit sırasından farklı sırada gelebilir; eski bir olay yeni bir durumu ezmesin diye
+ * olay bir geçişe işaret ettiğinde güncel stok okunur ve geçiş ona göre yapılır. Bu okuma istek thread'inde değil
+ * tek bir arka plan thread'inde yapılır: geçiş bekleyen ürünler birikir ve tek sorguda doğrulanır, geçişler de
+ * böylece sırayla değerlendirilir. Bedeli, uyarının commit'ten kısa süre sonra üretilmesidir. Durumu
+ * değiştirmeyen olaylar sorgu yapmaz.
+ */
+@Service
+class LowStockWatcher(
+    private val productRepository: ProductRepository,
+    private val stockBatchRepository: StockBatchRepository,
+    private val sinks: List<LowStockSink>
+) {
+
+    private val logger = LoggerFactory.getLogger(LowStockWatcher::class.java)
+
+    // Şu an eşiğin altında olan ürünler; uyarılar bu kümeye giriş ve çıkışta üretilir
+    private val lowProducts: MutableSet<Int> = ConcurrentHashMap.newKeySet()
+
+    // Doğrulanmayı bekleyen ürünler; aynı ürünün art arda gelen olayları tek okumada birleşir
+    private val pending: MutableSet<Int> = ConcurrentHashMap.newKeySet()
+    private val scheduled = AtomicBoolean()
+
+    private val worker = Executors.newSingleThreadExecutor { runnable ->
+        Thread(runnable, "low-stock-watcher").apply { isDaemon = true }
+    }
+
+    @EventListener(ApplicationReadyEvent::class)
+    fun loadInitialState() {
+        lowProducts.addAll(productRepository.findIdsBelowReorderThreshold())
+        logger.info("Düşük stok izleyici başlatıldı, eşik altındaki ürün sayısı: {}", lowProducts.size)
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    fun onStockChanged(event: StockChangedEvent) {
+        event.levels
+            .filter { isLow(it) != lowProducts.contains(it.productId) }
+            .forEach { pending.add(it.productId) }
+        if (pending.isNotEmpty() && scheduled.compareAndSet(false, true)) {
+            worker.execute(::confirmTransitions)
+        }
+    }
+
+    /**
+     * Şimdiye kadar kuyruğa alınmış doğrulamalar bitene kadar bekler.
+     */
+    internal fun awaitPending(timeout: Duration) {
+        worker.submit {}.get(timeout.toMillis(), TimeUnit.MILLISECONDS)
+    }
+
+    @PreDestroy
+    fun shutdown() {
+        worker.shutdownNow()
+    }
+
+    private fun confirmTransitions() {
+        // Bayrak okumadan önce bırakılır; bu sırada eklenen ürün yeni bir doğrulama planlar
+        scheduled.set(false)
+        val productIds = pending.toList()
+        pending.removeAll(productIds.toSet())
+        if (productIds.isEmpty()) {
+            return
+        }
+
+        try {
+            stockBatchRepository.findLevels(productIds).forEach { transition(it) }
+        } catch (e: Exception) {
+            logger.error("Düşük stok geçişleri doğrulanamadı - ürünler: {}, hata: {}", productIds, e.message)
+        }
+    }
+
+    private fun transition(current: StockLevel) {
+        val state = when {
+            isLow(current) && lowProducts.add(current.productId) -> LowStockState.LOW
+            !isLow(current) && lowProducts.remove(current.productId) -> LowStockState.RESTOCKED
+            else -> {
+                logger.debug("Eski stok olayı yok sayıldı - ürün: {}, güncel stok: {}",
+                    current.productId, current.stockQuantity)
+                return
+            }
+        }
+
+        val alert = LowStockAlert(
+            productId = current.productId,
+            state = state,
+            stockQuantity = current.stockQuantity,
+            reorderThreshold = current.reorderThreshold
+        )
+        sinks.forEach { sink ->
+            try {
+                sink.publish(alert)
+            } catch (e: Exception) {
+                logger.error("Düşük stok uyarısı iletilemedi - sink: {}, hata: {}", sink.javaClass.simpleName, e.message)
+            }
+        }
+    }
+
+    private fun isLow(level: StockLevel) = level.stockQuantity < level.reorderThreshold
+}
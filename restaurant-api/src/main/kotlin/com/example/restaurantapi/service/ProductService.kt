@@ -1,16 +1,23 @@
 package com.example.restaurantapi.service
 
 import com.example.restaurantapi.domain.ProductDomain
+import com.example.restaurantapi.event.StockChangedEvent
 import com.example.restaurantapi.model.Product
 import com.example.restaurantapi.model.request.ProductCreateRequest
 import com.example.restaurantapi.model.request.ProductUpdateRequest
 import com.example.restaurantapi.model.request.StockUpdateRequest
+import com.example.restaurantapi.model.response.PriceListResponse
+import com.example.restaurantapi.model.response.StockLevel
 import com.example.restaurantapi.repository.ProductRepository
 import org.slf4j.LoggerFactory
+import org.springframework.context.ApplicationEventPublisher
 import org.springframework.stereotype.Service
 
 @Service
-class ProductService(private val productRepository: ProductRepository) {
+class ProductService(
+    private val productRepository: ProductRepository,
+    private val eventPublisher: ApplicationEventPublisher
+) {
 
     private val logger = LoggerFactory.getLogger(ProductService::class.java)
 
@@ -30,7 +37,8 @@ class ProductService(private val productRepository: ProductRepository) {
             throw IllegalArgumentException("Geçersiz ürün bilgileri")
         }
 
-        val savedProduct = productRepository.save(productDomain.toEntity())
+        val savedProduct = productRepository.save(productDomain.withNewPriceVersion().toEntity())
+        publishStockChange(savedProduct)
         logger.info("Ürün başarıyla oluşturuldu: {}", savedProduct.id)
         return savedProduct
     }
@@ -41,13 +49,21 @@ class ProductService(private val productRepository: ProductRepository) {
         val existingProduct = productRepository.findById(id)
             .orElseThrow { NoSuchElementException("Ürün bulunamadı: $id") }
 
-        val productDomain = request.toDomain(id)
+        val existingDomain = ProductDomain.fromEntity(existingProduct)
+        val requestedDomain = request.toDomain(id, existingProduct.reorderThreshold)
 
-        if (!productDomain.isValidProduct()) {
+        if (!requestedDomain.isValidProduct()) {
             throw IllegalArgumentException("Geçersiz ürün bilgileri")
         }
 
+        val productDomain = if (requestedDomain.hasSamePricing(existingDomain)) {
+            requestedDomain.copy(priceVersion = existingDomain.priceVersion)
+        } else {
+            requestedDomain.withNewPriceVersion()
+        }
+
         val updatedProduct = productRepository.save(productDomain.toEntity())
+        publishStockChange(updatedProduct)
         logger.info("Ürün başarıyla güncellendi: {}", updatedProduct.id)
         return updatedProduct
     }
@@ -62,6 +78,7 @@ class ProductService(private val productRepository: ProductRepository) {
         val updatedDomain = request.applyToDomain(productDomain)
 
         val updatedProduct = productRepository.save(updatedDomain.toEntity())
+        publishStockChange(updatedProduct)
         logger.info("Stok başarıyla güncellendi: {}", updatedProduct.id)
         return updatedProduct
     }
@@ -77,10 +94,27 @@ class ProductService(private val productRepository: ProductRepository) {
         logger.info("Ürün başarıyla silindi: {}", id)
     }
 
+    fun getPriceList(since: Long?): PriceListResponse {
+        val prices = if (since == null) {
+            productRepository.findAllPrices()
+        } else {
+            productRepository.findPricesChangedSince(since)
+        }
+        val version = prices.maxOfOrNull { it.version } ?: (since ?: 0L)
+        logger.debug("Fiyat listesi getirildi - since: {}, değişen ürün: {}, sürüm: {}", since, prices.size, version)
+        return PriceListResponse(version = version, full = since == null, products = prices)
+    }
+
     fun getProductById(id: Int): Product {
         logger.debug("Ürün getiriliyor - ID: {}", id)
 
         return productRepository.findById(id)
             .orElseThrow { NoSuchElementException("Ürün bulunamadı: $id") }
     }
-}
\ No newline at end of file
+
+    private fun publishStockChange(product: Product) {
+        eventPublisher.publishEvent(
+            StockChangedEvent(listOf(StockLevel(product.id, product.stockQuantity, product.reorderThreshold)))
+        )
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.restaurantapi.service
+
+import com.example.restaurantapi.exception.ProfilingStateException
+import com.example.restaurantapi.model.response.ProfilingStatus
+import com.example.restaurantapi.profiling.StockDbEvent
+import jakarta.annotation.PreDestroy
+import jdk.jfr.Configuration
+import jdk.jfr.Recording
+import jdk.jfr.RecordingState
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.stereotype.Service
+import org.springframework.util.unit.DataSize
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneOffset
+import java.time.format.DateTimeFormatter
+
+/**
+ * İsteğe bağlı Java Flight Recorder kaydı. Aynı anda tek kayıt açılabilir; süre ve boyut üst sınırlarla
+ * kısıtlanır, süre dolunca kayıt kendiliğinden durup dosyaya yazılır. Yeni kayıtta önceki dosya silinir.
+ */
+@Service
+@ConditionalOnProperty(name = ["restaurant.profiling.enabled"], havingValue = "true")
+class ProfilingService(
+    @Value("\${restaurant.profiling.directory:./profiling}") directory: String,
+    @Value("\${restaurant.profiling.settings:profile}") private val settings: String,
+    @Value("\${restaurant.profiling.max-duration:10m}") private val maxDuration: Duration,
+    @Value("\${restaurant.profiling.max-size:100MB}") private val sizeLimit: DataSize
+) {
+
+    private val logger = LoggerFactory.getLogger(ProfilingService::class.java)
+    private val directory: Path = Paths.get(directory)
+
+    private var recording: Recording? = null
+    private var file: Path? = null
+    private var startedAt: Instant? = null
+
+    @Synchronized
+    fun start(duration: Duration): ProfilingStatus {
+        if (recording?.state == RecordingState.RUNNING) {
+            throw ProfilingStateException("Devam eden bir profil kaydı var")
+        }
+        val bounded = if (duration.isNegative || duration.isZero || duration > maxDuration) maxDuration else duration
+
+        discard()
+        val now = Instant.now()
+        val target = directory.resolve("restaurant-api-${FILE_TIMESTAMP.format(now)}.jfr")
+        Files.createDirectories(directory)
+        val started = Recording(Configuration.getConfiguration(settings)).apply {
+            name = "restaurant-api-on-demand"
+            setDuration(bounded)
+            setMaxSize(sizeLimit.toBytes())
+            isToDisk = true
+            setDestination(target)
+            enable(StockDbEvent::class.java)
+            start()
+        }
+
+        recording = started
+        file = target
+        startedAt = now
+        logger.info("JFR kaydı başlatıldı: {} sn, en fazla {} bayt, {}", bounded.seconds, sizeLimit.toBytes(), target)
+        return status()
+    }
+
+    /**
+     * Kayıt sürüyorsa durdurur ve dosyayı döner; süresi dolarak kendiliğinden durmuş kayıtta da dosya döner.
+     */
+    @Synchronized
+    fun stop(): Path {
+        val current = recording ?: throw ProfilingStateException("Başlatılmış bir profil kaydı yok")
+        if (current.state == RecordingState.RUNNING) {
+            current.stop()
+            logger.info("JFR kaydı durduruldu: {}", file)
+        }
+        val target = file!!
+        if (!Files.exists(target)) {
+            throw ProfilingStateException("Profil kaydı henüz dosyaya yazılmadı")
+        }
+        return target
+    }
+
+    @Synchronized
+    fun status(): ProfilingStatus {
+        val current = recording ?: return ProfilingStatus(state = "NONE")
+        val target = file!!
+        return ProfilingStatus(
+            state = if (current.state == RecordingState.RUNNING) "RUNNING" else "STOPPED",
+            startedAt = startedAt,
+            durationSeconds = current.duration?.seconds,
+            maxSizeBytes = current.maxSize,
+            file = target.fileName.toString(),
+            fileSizeBytes = if (Files.exists(target)) Files.size(target) else null
+        )
+    }
+
+    @PreDestroy
+    @Synchronized
+    fun shutdown() {
+        recording?.close()
+    }
+
+    private fun discard() {
+        val previous = recording ?: return
+        previous.close()
+        file?.let { Files.deleteIfExists(it) }
+        recording = null
+    }
+
+    companion object {
+        private val FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC)
+    }
+}
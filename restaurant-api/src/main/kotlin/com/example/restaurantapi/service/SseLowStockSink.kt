@@ -0,0 +1,144 @@
+package com.example.restaurantapi.service
+
+import com.example.restaurantapi.event.LowStockAlert
+import com.example.restaurantapi.event.LowStockSink
+import io.micrometer.core.instrument.MeterRegistry
+import jakarta.annotation.PreDestroy
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.core.task.SimpleAsyncTaskExecutor
+import org.springframework.http.MediaType
+import org.springframework.stereotype.Component
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter
+import java.io.IOException
+import java.time.Duration
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Düşük stok uyarılarını `/api/stock/alerts` aboneliklerine iletir.
+ * Her abonenin kendi sınırlı tamponu vardır ve tampon o aboneye ait bir thread'de boşaltılır; yazamayan bir istemci
+ * yalnızca kendi thread'ini bekletir. Tamponu dolan abonenin bağlantısı kapatılır, istemci yeniden bağlanabilir.
+ */
+@Component
+class SseLowStockSink(
+    @Value("\${restaurant.stock-alerts.emitter-timeout:30m}") private val emitterTimeout: Duration,
+    @Value("\${restaurant.stock-alerts.subscriber-buffer-size:64}") private val subscriberBufferSize: Int,
+    meterRegistry: MeterRegistry
+) : LowStockSink {
+
+    private val logger = LoggerFactory.getLogger(SseLowStockSink::class.java)
+
+    private val subscribers = CopyOnWriteArrayList<Subscriber>()
+
+    // Her boşaltma kendi thread'inde çalışır; aynı anda en fazla abone sayısı kadar thread olur
+    private val sender = SimpleAsyncTaskExecutor("stock-alert-sender-").apply { isDaemon = true }
+
+    private val droppedSubscribers = meterRegistry.counter("restaurant.stock.alerts.subscribers.dropped")
+
+    fun subscribe(): SseEmitter = register(SseEmitter(emitterTimeout.toMillis()))
+
+    internal fun register(emitter: SseEmitter): SseEmitter {
+        val subscriber = Subscriber(emitter)
+        emitter.onCompletion { subscribers.remove(subscriber) }
+        emitter.onTimeout { subscribers.remove(subscriber) }
+        emitter.onError { subscribers.remove(subscriber) }
+        subscribers.add(subscriber)
+
+        logger.debug("Düşük stok akışına yeni abone, toplam: {}", subscribers.size)
+        return emitter
+    }
+
+    override fun publish(alert: LowStockAlert) {
+        subscribers.forEach { subscriber ->
+            if (!subscriber.offer(alert)) {
+                logger.warn("Düşük stok aboneliği uyarıları yetiştiremediği için kapatılıyor")
+                droppedSubscribers.increment()
+                subscribers.remove(subscriber)
+                subscriber.drop()
+            }
+        }
+    }
+
+    @PreDestroy
+    fun shutdown() {
+        subscribers.forEach { it.drop() }
+        subscribers.clear()
+    }
+
+    /**
+     * Bir SSE bağlantısı ve gönderilmeyi bekleyen uyarıları. Tamponu aynı anda yalnızca bir thread boşaltır,
+     * bu yüzden uyarılar abone başına sırasıyla yazılır.
+     */
+    private inner class Subscriber(private val emitter: SseEmitter) {
+
+        private val pending = ConcurrentLinkedQueue<LowStockAlert>()
+        private val buffered = AtomicInteger()
+        private val draining = AtomicBoolean()
+        private val closed = AtomicBoolean()
+
+        @Volatile
+        private var dropped = false
+
+        fun offer(alert: LowStockAlert): Boolean {
+            if (buffered.get() >= subscriberBufferSize) {
+                return false
+            }
+            pending.add(alert)
+            buffered.incrementAndGet()
+            schedule()
+            return true
+        }
+
+        // Gönderim takılı kalmış olabileceği için bağlantı, tamponu boşaltan thread tarafından kapatılır
+        fun drop() {
+            dropped = true
+            schedule()
+        }
+
+        private fun schedule() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(::drain)
+            }
+        }
+
+        private fun drain() {
+            try {
+                while (!dropped) {
+                    val alert = pending.poll() ?: break
+                    buffered.decrementAndGet()
+                    emitter.send(
+                        SseEmitter.event()
+                            .name(alert.state.name)
+                            .data(alert, MediaType.APPLICATION_JSON)
+                    )
+                }
+                if (dropped && closed.compareAndSet(false, true)) {
+                    pending.clear()
+                    emitter.complete()
+                }
+            } catch (e: IOException) {
+                close(e)
+            } catch (e: IllegalStateException) {
+                close(e)
+            } finally {
+                draining.set(false)
+                // Boşaltma biterken eklenen uyarı veya düşürme kaçırılmasın
+                if (if (dropped) !closed.get() else pending.isNotEmpty()) {
+                    schedule()
+                }
+            }
+        }
+
+        private fun close(e: Exception) {
+            logger.debug("Düşük stok aboneliği kapatıldı: {}", e.message)
+            dropped = true
+            closed.set(true)
+            pending.clear()
+            subscribers.remove(this)
+            emitter.completeWithError(e)
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.restaurantapi.service
+
+import com.example.restaurantapi.controller.StockItemDto
+import com.example.restaurantapi.event.StockChangedEvent
+import com.example.restaurantapi.model.StockReservation
+import com.example.restaurantapi.model.request.BulkStockItem
+import com.example.restaurantapi.repository.StockBatchRepository
+import com.example.restaurantapi.repository.StockReservationRepository
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.context.ApplicationEventPublisher
+import org.springframework.stereotype.Service
+import org.springframework.transaction.annotation.Transactional
+import org.springframework.transaction.interceptor.TransactionAspectSupport
+import java.time.Duration
+import java.time.Instant
+
+/**
+ * Birden fazla partition'a yayılan stok azaltmaları için rezervasyonlar. order_api her partition'da aynı ID ile
+ * rezervasyon yapar, hepsi başarılıysa onaylar, biri başarısızsa tümünü iptal eder. Onaylanmayan rezervasyonlar
+ * `restaurant.reservations.ttl` sonunda iptal edilmiş sayılır ve stok geri eklenir.
+ */
+@Service
+class StockReservationService(
+    private val reservationRepository: StockReservationRepository,
+    private val stockBatchRepository: StockBatchRepository,
+    private val eventPublisher: ApplicationEventPublisher,
+    @Value("\${restaurant.reservations.ttl:30s}") private val ttl: Duration
+) {
+
+    private val logger = LoggerFactory.getLogger(StockReservationService::class.java)
+
+    /**
+     * Stok yeterliyse düşer ve rezervasyonu kaydeder. Aynı ID ile tekrar gelen istek stoğu ikinci kez düşmez:
+     * rezervasyon satırları stoktan önce eklenir, eşzamanlı ikinci istek benzersizlik kısıtına takılıp
+     * `DataIntegrityViolationException` ile geri alınır. Stok, iptaldeki gibi sınırı veritabanında kontrol eden
+     * koşullu UPDATE ile düşülür; aynı ürünü rezerve eden eşzamanlı istekler birbirinin düşümünü ezemez.
+     */
+    @Transactional
+    fun reserve(reservationId: String, items: List<StockItemDto>): Boolean {
+        if (reservationRepository.existsByReservationId(reservationId)) {
+            logger.debug("Rezervasyon zaten mevcut: {}", reservationId)
+            return true
+        }
+        val expiresAt = Instant.now().plus(ttl)
+        val quantities = items.groupBy { it.productId }.mapValues { (_, rows) -> rows.sumOf { it.quantity } }
+        reservationRepository.saveAllAndFlush(quantities.map { (productId, quantity) ->
+            StockReservation(reservationId = reservationId, productId = productId, quantity = quantity,
+                expiresAt = expiresAt)
+        })
+        val rejected = stockBatchRepository.applyAll(quantities.map { (productId, quantity) ->
+            BulkStockItem(productId, "REDUCE", quantity)
+        })
+        if (rejected.isNotEmpty()) {
+            logger.debug("Rezervasyon {} için stok yetersiz: {}", reservationId, rejected)
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly()
+            return false
+        }
+
+        eventPublisher.publishEvent(StockChangedEvent(stockBatchRepository.findLevels(quantities.keys)))
+        logger.info("Stok rezerve edildi: {}, {} kalem", reservationId, items.size)
+        return true
+    }
+
+    /**
+     * @return rezervasyon bulunup onaylandıysa true; süresi dolup iptal edilmiş veya hiç yapılmamışsa false
+     */
+    @Transactional
+    fun confirm(reservationId: String): Boolean {
+        val confirmed = reservationRepository.deleteByReservationId(reservationId) > 0
+        if (confirmed) {
+            logger.info("Rezervasyon onaylandı: {}", reservationId)
+        } else {
+            logger.warn("Onaylanacak rezervasyon bulunamadı: {}", reservationId)
+        }
+        return confirmed
+    }
+
+    /**
+     * Rezerve edilen miktarları stoğa geri ekler. Rezervasyon yoksa (hiç yapılmamış, onaylanmış veya zaten iptal
+     * edilmiş) bir şey yapılmaz, bu yüzden tekrar çağrılması güvenlidir. Satırlar kilitlenerek okunur ve stoğa
+     * eklenmeden önce silinir; eşzamanlı onay veya ikinci bir iptal aynı satırları bulamaz.
+     */
+    @Transactional
+    fun release(reservationId: String): Boolean {
+        val reservations = reservationRepository.findForUpdate(reservationId)
+        if (reservations.isEmpty() || reservationRepository.deleteByReservationId(reservationId) == 0) {
+            return false
+        }
+        val items = reservations.groupBy { it.productId }
+            .map { (productId, rows) -> BulkStockItem(productId, "ADD", rows.sumOf { it.quantity }) }
+        val rejected = stockBatchRepository.applyAll(items)
+        if (rejected.isNotEmpty()) {
+            logger.error("Rezervasyon {} iptalinde stok geri eklenemeyen ürünler: {}", reservationId, rejected)
+        }
+
+        eventPublisher.publishEvent(StockChangedEvent(stockBatchRepository.findLevels(items.map { it.productId })))
+        logger.info("Rezervasyon iptal edildi, stok geri eklendi: {}", reservationId)
+        return true
+    }
+
+    fun findExpired(): List<String> = reservationRepository.findExpiredReservationIds(Instant.now())
+}
@@ -1,21 +1,36 @@
 package com.example.restaurantapi.service
 
 import com.example.restaurantapi.controller.StockItemDto
+import com.example.restaurantapi.event.StockChangedEvent
+import com.example.restaurantapi.exception.BulkStockUpdateException
+import com.example.restaurantapi.model.request.BulkStockItem
+import com.example.restaurantapi.model.response.BulkStockUpdateResponse
+import com.example.restaurantapi.model.response.StockLevel
+import com.example.restaurantapi.profiling.StockDbEvent
 import com.example.restaurantapi.repository.ProductRepository
+import com.example.restaurantapi.repository.StockBatchRepository
 import org.slf4j.LoggerFactory
+import org.springframework.context.ApplicationEventPublisher
 import org.springframework.stereotype.Service
 import org.springframework.transaction.annotation.Transactional
 
 @Service
-class StockService(private val productRepository: ProductRepository) {
+class StockService(
+    private val productRepository: ProductRepository,
+    private val stockBatchRepository: StockBatchRepository,
+    private val eventPublisher: ApplicationEventPublisher
+) {
 
     private val logger = LoggerFactory.getLogger(StockService::class.java)
 
     fun checkStock(items: List<StockItemDto>): Boolean {
         logger.debug("Stok kontrolü başlatıldı: {} adet ürün", items.size)
 
-        return items.all { item ->
-            val product = productRepository.findById(item.productId).orElse(null)
+        val event = StockDbEvent.start()
+        // Ürünler tek sorguda yüklenir; ürün başına findById kalem sayısı kadar sorgu üretiyordu
+        val products = productRepository.findAllById(items.map { it.productId }.distinct()).associateBy { it.id }
+        val allAvailable = items.all { item ->
+            val product = products[item.productId]
             if (product == null) {
                 logger.warn("Ürün bulunamadı: productId={}", item.productId)
                 false
@@ -26,6 +41,8 @@ class StockService(private val productRepository: ProductRepository) {
                 available
             }
         }
+        event.finish(StockDbEvent.CHECK, 0, items.size, 0)
+        return allAvailable
     }
 
     @Transactional
@@ -38,18 +55,22 @@ class StockService(private val productRepository: ProductRepository) {
                 return false
             }
 
-            items.forEach { item ->
+            val levels = items.map { item ->
+                val event = StockDbEvent.start()
                 val product = productRepository.findById(item.productId).orElseThrow {
                     RuntimeException("Ürün bulunamadı: ${item.productId}")
                 }
 
                 product.stockQuantity -= item.quantity
                 productRepository.save(product)
+                event.finish(StockDbEvent.REDUCE, item.productId, 1, 1)
 
                 logger.debug("Stok azaltıldı - productId: {}, azaltılan: {}, kalan: {}",
                     item.productId, item.quantity, product.stockQuantity)
+                StockLevel(product.id, product.stockQuantity, product.reorderThreshold)
             }
 
+            eventPublisher.publishEvent(StockChangedEvent(levels))
             logger.info("Stok azaltma işlemi başarıyla tamamlandı")
             return true
 
@@ -58,4 +79,38 @@ class StockService(private val productRepository: ProductRepository) {
             throw e
         }
     }
+
+    /**
+     * İptal edilen siparişin düştüğü stoğu geri ekler; toplu güncellemeyle aynı yoldan tek işlemde uygulanır.
+     */
+    @Transactional
+    fun increaseStock(items: List<StockItemDto>): BulkStockUpdateResponse {
+        logger.debug("Stok artırma işlemi başlatıldı: {} adet ürün", items.size)
+        return bulkUpdate(items.map { BulkStockItem(it.productId, "ADD", it.quantity) })
+    }
+
+    /**
+     * Tüm stok değişikliklerini tek işlemde uygular; biri bile uygulanamazsa hepsi geri alınır.
+     */
+    @Transactional
+    fun bulkUpdate(items: List<BulkStockItem>): BulkStockUpdateResponse {
+        logger.debug("Toplu stok güncelleme başlatıldı: {} adet değişiklik", items.size)
+
+        val invalid = items.filterNot { it.isEffective() }.map { it.productId }
+        if (invalid.isNotEmpty()) {
+            throw IllegalArgumentException("ADD ve REDUCE işlemlerinde miktar pozitif olmalıdır: $invalid")
+        }
+
+        val rejected = stockBatchRepository.applyAll(items)
+        if (rejected.isNotEmpty()) {
+            logger.warn("Toplu stok güncelleme geri alınıyor, uygulanamayan ürünler: {}", rejected)
+            throw BulkStockUpdateException(rejected.distinct())
+        }
+
+        val levels = stockBatchRepository.findLevels(items.map { it.productId }.distinct())
+        eventPublisher.publishEvent(StockChangedEvent(levels))
+
+        logger.info("Toplu stok güncelleme tamamlandı: {} değişiklik, {} ürün", items.size, levels.size)
+        return BulkStockUpdateResponse(updated = items.size, items = levels)
+    }
 }
@@ -0,0 +1,108 @@
+package com.example.restaurantapi.service
+
+import com.example.restaurantapi.event.LowStockAlert
+import com.example.restaurantapi.event.LowStockSink
+import com.example.restaurantapi.event.LowStockState
+import com.example.restaurantapi.event.StockChangedEvent
+import com.example.restaurantapi.model.Product
+import com.example.restaurantapi.model.response.StockLevel
+import com.example.restaurantapi.repository.ProductRepository
+import com.example.restaurantapi.repository.StockBatchRepository
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest
+import org.springframework.boot.test.context.TestConfiguration
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Import
+import org.springframework.transaction.annotation.Propagation
+import org.springframework.transaction.annotation.Transactional
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+import kotlin.test.assertEquals
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import(LowStockWatcher::class, StockBatchRepository::class, LowStockWatcherTest.RecordingSinkConfiguration::class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LowStockWatcherTest {
+
+    @Autowired
+    private lateinit var watcher: LowStockWatcher
+
+    @Autowired
+    private lateinit var productRepository: ProductRepository
+
+    @Autowired
+    private lateinit var alerts: MutableList<LowStockAlert>
+
+    @Autowired
+    private lateinit var alertThreads: MutableList<String>
+
+    private lateinit var product: Product
+
+    @BeforeEach
+    fun setUp() {
+        productRepository.deleteAll()
+        alerts.clear()
+        alertThreads.clear()
+        product = productRepository.save(Product(name = "Pizza", price = 70_00, stockQuantity = 3, reorderThreshold = 5))
+        watcher.loadInitialState()
+    }
+
+    @Test
+    fun `geç gelen eski olay yeniden doldurulmuş ürünü düşük stoğa çevirmez`() {
+        productRepository.save(product.copy(stockQuantity = 20))
+
+        // Önce stoğu 20'ye çıkaran işlemin, ardından daha önce commit edilmiş 4'e düşüren işlemin olayı gelir
+        watcher.onStockChanged(StockChangedEvent(listOf(StockLevel(product.id, 20, 5))))
+        watcher.onStockChanged(StockChangedEvent(listOf(StockLevel(product.id, 4, 5))))
+        watcher.awaitPending(Duration.ofSeconds(5))
+
+        assertEquals(listOf(LowStockState.RESTOCKED), alerts.map { it.state })
+        assertEquals(20, alerts.single().stockQuantity)
+    }
+
+    @Test
+    fun `geçiş olaydaki değil güncel stokla raporlanır`() {
+        productRepository.save(product.copy(stockQuantity = 2))
+
+        // Eşik üstünü bildiren eski olay gelse de ürün hâlâ eşiğin altındadır
+        watcher.onStockChanged(StockChangedEvent(listOf(StockLevel(product.id, 8, 5))))
+        watcher.onStockChanged(StockChangedEvent(listOf(StockLevel(product.id, 2, 5))))
+        watcher.awaitPending(Duration.ofSeconds(5))
+
+        assertEquals(emptyList(), alerts)
+    }
+
+    @Test
+    fun `geçiş istek thread'inde değil izleyici thread'inde doğrulanır`() {
+        productRepository.save(product.copy(stockQuantity = 20))
+
+        watcher.onStockChanged(StockChangedEvent(listOf(StockLevel(product.id, 20, 5))))
+        watcher.awaitPending(Duration.ofSeconds(5))
+
+        assertEquals(listOf(LowStockState.RESTOCKED), alerts.map { it.state })
+        assertEquals(listOf("low-stock-watcher"), alertThreads)
+    }
+
+    @TestConfiguration
+    class RecordingSinkConfiguration {
+
+        @Bean
+        fun alerts(): MutableList<LowStockAlert> = CopyOnWriteArrayList()
+
+        @Bean
+        fun alertThreads(): MutableList<String> = CopyOnWriteArrayList()
+
+        @Bean
+        fun recordingSink(alerts: MutableList<LowStockAlert>, alertThreads: MutableList<String>): LowStockSink =
+            object : LowStockSink {
+                override fun publish(alert: LowStockAlert) {
+                    alerts.add(alert)
+                    alertThreads.add(Thread.currentThread().name)
+                }
+            }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.restaurantapi.service
+
+import com.example.restaurantapi.event.LowStockAlert
+import com.example.restaurantapi.event.LowStockState
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class SseLowStockSinkTest {
+
+    private val registry = SimpleMeterRegistry()
+    private val sink = SseLowStockSink(Duration.ofMinutes(1), 4, registry)
+    private val release = CountDownLatch(1)
+
+    @AfterEach
+    fun tearDown() {
+        release.countDown()
+        sink.shutdown()
+    }
+
+    @Test
+    fun `okumayan abone düşürülür, diğer abone uyarıları almaya devam eder`() {
+        val stalledSends = AtomicInteger()
+        val received = CountDownLatch(20)
+        sink.register(object : SseEmitter() {
+            override fun send(builder: SseEventBuilder) {
+                // Yazamayan istemci: gönderim soket tamponu boşalana kadar bloklanır
+                stalledSends.incrementAndGet()
+                release.await()
+            }
+        })
+        sink.register(object : SseEmitter() {
+            override fun send(builder: SseEventBuilder) {
+                received.countDown()
+            }
+        })
+
+        repeat(20) {
+            sink.publish(LowStockAlert(productId = it, state = LowStockState.LOW, stockQuantity = 1, reorderThreshold = 5))
+            Thread.sleep(5)
+        }
+
+        assertTrue(received.await(5, TimeUnit.SECONDS), "okuyan abone tüm uyarıları almalı")
+        assertEquals(1, stalledSends.get())
+        assertEquals(1.0, registry.counter("restaurant.stock.alerts.subscribers.dropped").count())
+    }
+}
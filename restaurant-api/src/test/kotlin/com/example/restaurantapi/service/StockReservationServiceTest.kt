@@ -0,0 +1,145 @@
+package com.example.restaurantapi.service
+
+import com.example.restaurantapi.controller.StockItemDto
+import com.example.restaurantapi.model.Product
+import com.example.restaurantapi.repository.ProductRepository
+import com.example.restaurantapi.repository.StockBatchRepository
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest
+import org.springframework.context.annotation.Import
+import org.springframework.dao.DataIntegrityViolationException
+import org.springframework.transaction.annotation.Propagation
+import org.springframework.transaction.annotation.Transactional
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+/**
+ * Süre dolumunu beklemeden test edebilmek için rezervasyonlar oluşturuldukları anda süresi dolmuş sayılır.
+ */
+@DataJpaTest(properties = ["restaurant.reservations.ttl=0s"])
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import(StockBatchRepository::class, StockReservationService::class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservationServiceTest {
+
+    @Autowired
+    private lateinit var reservationService: StockReservationService
+
+    @Autowired
+    private lateinit var productRepository: ProductRepository
+
+    private var productId = 0
+
+    @BeforeEach
+    fun setUp() {
+        productRepository.deleteAll()
+        productId = productRepository.save(Product(name = "Pizza", price = 70_00, stockQuantity = 10)).id
+    }
+
+    private fun stock(): Int = productRepository.findById(productId).orElseThrow().stockQuantity
+
+    @Test
+    fun `rezervasyon stoğu düşer, iptal geri ekler`() {
+        assertTrue(reservationService.reserve("r-1", listOf(StockItemDto(productId, 3))))
+        assertEquals(7, stock())
+
+        assertTrue(reservationService.release("r-1"))
+        assertFalse(reservationService.release("r-1"))
+        assertEquals(10, stock())
+    }
+
+    @Test
+    fun `aynı rezervasyon tekrar gelirse stok ikinci kez düşülmez`() {
+        assertTrue(reservationService.reserve("r-2", listOf(StockItemDto(productId, 3))))
+        assertTrue(reservationService.reserve("r-2", listOf(StockItemDto(productId, 3))))
+        assertEquals(7, stock())
+        reservationService.release("r-2")
+    }
+
+    @Test
+    fun `yetersiz stokta rezervasyon yapılmaz`() {
+        assertFalse(reservationService.reserve("r-3", listOf(StockItemDto(productId, 11))))
+        assertEquals(10, stock())
+        assertFalse(reservationService.confirm("r-3"))
+    }
+
+    @Test
+    fun `onaylanan rezervasyon süresi dolsa da geri alınmaz`() {
+        assertTrue(reservationService.reserve("r-4", listOf(StockItemDto(productId, 4))))
+        assertTrue(reservationService.confirm("r-4"))
+
+        assertTrue(reservationService.findExpired().isEmpty())
+        assertFalse(reservationService.release("r-4"))
+        assertEquals(6, stock())
+    }
+
+    @Test
+    fun `eşzamanlı iki iptal stoğu bir kez geri ekler`() {
+        assertTrue(reservationService.reserve("r-6", listOf(StockItemDto(productId, 3))))
+
+        val released = concurrently { reservationService.release("r-6") }
+
+        assertEquals(listOf(false, true), released.map { it.getOrThrow() }.sorted())
+        assertEquals(10, stock())
+    }
+
+    @Test
+    fun `eşzamanlı iki rezervasyon stoğu bir kez düşer`() {
+        val reserved = concurrently { reservationService.reserve("r-7", listOf(StockItemDto(productId, 3))) }
+
+        // Kısıta takılan istek hata alır; controller bunu mevcut rezervasyon olarak cevaplar
+        assertTrue(reserved.any { it.getOrNull() == true })
+        reserved.mapNotNull { it.exceptionOrNull() }
+            .forEach { assertTrue(it is DataIntegrityViolationException, it.toString()) }
+        assertEquals(7, stock())
+        reservationService.release("r-7")
+    }
+
+    @Test
+    fun `aynı ürüne eşzamanlı iki rezervasyon stoğu aşmaz`() {
+        val reserved = concurrently {
+            val id = "r-8-${Thread.currentThread().id}"
+            id to reservationService.reserve(id, listOf(StockItemDto(productId, 6)))
+        }.map { it.getOrThrow() }
+
+        assertEquals(listOf(false, true), reserved.map { it.second }.sorted())
+        assertEquals(4, stock())
+        reserved.filter { it.second }.forEach { reservationService.release(it.first) }
+    }
+
+    @Test
+    fun `bilinmeyen ürün içeren rezervasyon hiçbir stoğu düşmez`() {
+        assertFalse(reservationService.reserve("r-9", listOf(StockItemDto(productId, 2), StockItemDto(productId + 1000, 1))))
+        assertEquals(10, stock())
+        assertFalse(reservationService.release("r-9"))
+    }
+
+    private fun <T> concurrently(action: () -> T): List<Result<T>> {
+        val start = CountDownLatch(1)
+        val executor = Executors.newFixedThreadPool(2)
+        try {
+            val futures = (1..2).map { executor.submit<Result<T>> { start.await(); runCatching(action) } }
+            start.countDown()
+            return futures.map { it.get(10, TimeUnit.SECONDS) }
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    @Test
+    fun `onaylanmayan rezervasyon süresi dolunca iptal edilir`() {
+        assertTrue(reservationService.reserve("r-5", listOf(StockItemDto(productId, 5))))
+        Thread.sleep(5)
+
+        assertEquals(listOf("r-5"), reservationService.findExpired())
+        reservationService.release("r-5")
+        assertEquals(10, stock())
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.restaurantapi.service
+
+import com.example.restaurantapi.config.StatementCounter
+import com.example.restaurantapi.controller.StockItemDto
+import com.example.restaurantapi.model.Product
+import com.example.restaurantapi.repository.ProductRepository
+import com.example.restaurantapi.repository.StockBatchRepository
+import net.ttddyy.observation.boot.autoconfigure.DataSourceObservationAutoConfiguration
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.actuate.autoconfigure.observation.ObservationAutoConfiguration
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest
+import org.springframework.context.annotation.Import
+import org.springframework.transaction.annotation.Propagation
+import org.springframework.transaction.annotation.Transactional
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+/**
+ * Stok işlemlerinin ürettiği statement sayısının kalem sayısından bağımsız kaldığını doğrular (N+1 koruması).
+ * Servis transaction'larının commit edilip UPDATE'lerin de sayılması için test transaction'ı kapatılır.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ImportAutoConfiguration(ObservationAutoConfiguration::class, DataSourceObservationAutoConfiguration::class)
+@Import(StockService::class, StockBatchRepository::class, StatementCounter::class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockServiceQueryCountTest {
+
+    @Autowired
+    private lateinit var stockService: StockService
+
+    @Autowired
+    private lateinit var productRepository: ProductRepository
+
+    @Autowired
+    private lateinit var statementCounter: StatementCounter
+
+    private lateinit var items: List<StockItemDto>
+
+    @BeforeEach
+    fun setUp() {
+        productRepository.deleteAll()
+        items = productRepository.saveAll((1..10).map {
+            Product(name = "Ürün $it", price = 10_00, stockQuantity = 100)
+        }).map { StockItemDto(it.id, 1) }
+    }
+
+    @Test
+    fun `stok kontrolü kalem sayısından bağımsız tek sorgu çalıştırır`() {
+        statementCounter.start()
+        val available = stockService.checkStock(items)
+        val statements = statementCounter.stop()
+
+        assertTrue(available)
+        assertEquals(1, statements)
+    }
+
+    @Test
+    fun `stok azaltma tek okuma ve tek UPDATE batch'i çalıştırır`() {
+        statementCounter.start()
+        val reduced = stockService.reduceStock(items)
+        val statements = statementCounter.stop()
+
+        assertTrue(reduced)
+        assertEquals(2, statements)
+        assertTrue(productRepository.findAll().all { it.stockQuantity == 99 })
+    }
+}
@@ -0,0 +1,126 @@
+#!/bin/bash
+
+# Açılış süresi ölçümü: düz JVM, Spring AOT, AppCDS ve AOT+CDS modlarında
+# uygulamanın ilk başarılı isteğe cevap verene kadar geçen süresini raporlar.
+#
+# Kullanım: scripts/startup-benchmark.sh <order_api|restaurant-api> [tekrar] [modlar]
+#   örnek:  scripts/startup-benchmark.sh order_api 5 "jar aot cds aot+cds"
+#
+# Ortam değişkenleri:
+#   PORT         servis portu (varsayılan: order_api 8080, restaurant-api 8081)
+#   PROBE_PATH   başarılı sayılacak istek (varsayılan /actuator/health/liveness)
+#   TIMEOUT_SEC  tek açılış için üst sınır (varsayılan 120)
+#   JAVA_OPTS    tüm modlara eklenecek JVM parametreleri
+#   SKIP_BUILD   1 ise mvn -Paot package atlanır
+
+set -euo pipefail
+
+SERVICE="${1:?servis dizini gerekli: order_api veya restaurant-api}"
+RUNS="${2:-3}"
+MODES="${3:-jar aot cds aot+cds}"
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+SERVICE_DIR="$ROOT/$SERVICE"
+case "$SERVICE" in
+  order_api) DEFAULT_PORT=8080 ;;
+  restaurant-api) DEFAULT_PORT=8081 ;;
+  *) echo "Bilinmeyen servis: $SERVICE" >&2; exit 1 ;;
+esac
+PORT="${PORT:-$DEFAULT_PORT}"
+PROBE_PATH="${PROBE_PATH:-/actuator/health/liveness}"
+TIMEOUT_SEC="${TIMEOUT_SEC:-120}"
+JAVA_OPTS="${JAVA_OPTS:-}"
+
+WORK_DIR="$SERVICE_DIR/target/startup-benchmark"
+APP_DIR="$WORK_DIR/app"
+LOG_DIR="$WORK_DIR/logs"
+
+if [ "${SKIP_BUILD:-0}" != "1" ]; then
+  echo "AOT profiliyle paketleniyor..."
+  (cd "$SERVICE_DIR" && mvn -B -q -Paot package -DskipTests -Djacoco.skip=true)
+fi
+
+JAR="$(ls "$SERVICE_DIR"/target/*.jar | grep -v -- '-plain.jar' | head -n 1)"
+
+# AppCDS iç içe jar'larla ve classpath'teki dizinlerle çalışmaz; fat jar açılır,
+# uygulama sınıfları ayrı bir jar'a paketlenir ve düz classpath ile başlatılır
+rm -rf "$WORK_DIR"
+mkdir -p "$APP_DIR" "$LOG_DIR"
+(cd "$APP_DIR" && jar -xf "$JAR")
+jar -cf "$WORK_DIR/application.jar" -C "$APP_DIR/BOOT-INF/classes" .
+START_CLASS="$(grep '^Start-Class:' "$APP_DIR/META-INF/MANIFEST.MF" | cut -d' ' -f2 | tr -d '\r')"
+CLASSPATH="$WORK_DIR/application.jar:$APP_DIR/BOOT-INF/lib/*"
+CDS_ARCHIVE="$WORK_DIR/app.jsa"
+CDS_AOT_ARCHIVE="$WORK_DIR/app-aot.jsa"
+
+now_ms() {
+  date +%s%3N
+}
+
+# Uygulamayı başlatır, ilk 2xx cevabı bekler, SIGTERM ile kapatır ve geçen süreyi (ms) yazar
+run_once() {
+  local log="$1"; shift
+  local start pid elapsed
+  start="$(now_ms)"
+  java $JAVA_OPTS "$@" -Dserver.port="$PORT" -cp "$CLASSPATH" "$START_CLASS" >"$log" 2>&1 &
+  pid=$!
+  while true; do
+    if curl -fs -o /dev/null "http://localhost:$PORT$PROBE_PATH"; then
+      elapsed=$(( $(now_ms) - start ))
+      break
+    fi
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "Uygulama açılamadı, log: $log" >&2
+      return 1
+    fi
+    if [ $(( $(now_ms) - start )) -gt $(( TIMEOUT_SEC * 1000 )) ]; then
+      kill "$pid" 2>/dev/null || true
+      echo "Zaman aşımı, log: $log" >&2
+      return 1
+    fi
+    sleep 0.05
+  done
+  kill -TERM "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$elapsed"
+}
+
+mode_args() {
+  case "$1" in
+    jar) echo "" ;;
+    aot) echo "-Dspring.aot.enabled=true" ;;
+    cds) echo "-XX:SharedArchiveFile=$CDS_ARCHIVE -Xlog:cds=off -Xlog:cds+dynamic=off" ;;
+    aot+cds) echo "-Dspring.aot.enabled=true -XX:SharedArchiveFile=$CDS_AOT_ARCHIVE -Xlog:cds=off -Xlog:cds+dynamic=off" ;;
+    *) echo "Bilinmeyen mod: $1" >&2; return 1 ;;
+  esac
+}
+
+# CDS arşivi bir eğitim çalıştırmasıyla üretilir: JVM kapanırken yüklenen sınıfları arşive yazar
+train() {
+  local archive="$1"; shift
+  if [ ! -f "$archive" ]; then
+    echo "CDS arşivi oluşturuluyor: $(basename "$archive")"
+    run_once "$LOG_DIR/train-$(basename "$archive").log" -XX:ArchiveClassesAtExit="$archive" "$@" >/dev/null
+    if [ ! -f "$archive" ]; then
+      echo "CDS arşivi oluşturulamadı, log: $LOG_DIR/train-$(basename "$archive").log" >&2
+      exit 1
+    fi
+  fi
+}
+
+printf '%-10s %-8s %-8s %-8s %-8s\n' "mod" "min" "ort" "max" "tekrar"
+for mode in $MODES; do
+  case "$mode" in
+    cds) train "$CDS_ARCHIVE" ;;
+    aot+cds) train "$CDS_AOT_ARCHIVE" -Dspring.aot.enabled=true ;;
+  esac
+  read -r -a args <<< "$(mode_args "$mode")"
+  results=()
+  for i in $(seq 1 "$RUNS"); do
+    results+=("$(run_once "$LOG_DIR/$mode-$i.log" ${args[@]+"${args[@]}"})")
+  done
+  printf '%s\n' "${results[@]}" | sort -n | awk -v mode="$mode" '
+    { v[NR] = $1; sum += $1 }
+    END { printf "%-10s %-8d %-8d %-8d %-8d\n", mode, v[1], sum / NR, v[NR], NR }'
+done
+echo "Süreler ms cinsinden, ilk başarılı ${PROBE_PATH} cevabına kadar ölçülmüştür."